@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time to the first successful GET /api/items/health and resident set size
+# at that moment, for every startup mode that has been built.
+#
+#   ./mvnw -Paot,cds -DskipTests package      # jar with AOT classes + AppCDS archive
+#   ./mvnw -Pnative -DskipTests native:compile # optional, needs GraalVM
+#   scripts/startup-benchmark.sh [runs]
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAR=$(ls target/dsv-*.jar 2>/dev/null | grep -v original | head -n 1 || true)
+EXTRACTED=$(ls target/application/dsv-*.jar 2>/dev/null | head -n 1 || true)
+NATIVE=target/dsv
+
+if [ -z "$JAR" ]; then
+    echo "No jar in target/, build with ./mvnw -DskipTests package first" >&2
+    exit 1
+fi
+
+has_aot() {
+    unzip -l "$1" 2>/dev/null | grep '__ApplicationContextInitializer' >/dev/null
+}
+
+# run <label> <command...>: prints label, average startup millis and average RSS in MiB
+run() {
+    local label=$1
+    shift
+    local total_ms=0 total_kb=0
+    for ((i = 0; i < RUNS; i++)); do
+        local start end pid rss
+        start=$(date +%s%N)
+        "$@" --server.port="$PORT" >/dev/null 2>&1 &
+        pid=$!
+        until curl -sf "http://127.0.0.1:$PORT/api/items/health" >/dev/null; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$label: process exited before becoming healthy" >&2
+                return 1
+            fi
+            sleep 0.01
+        done
+        end=$(date +%s%N)
+        rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status" 2>/dev/null || ps -o rss= -p "$pid")
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        total_ms=$((total_ms + (end - start) / 1000000))
+        total_kb=$((total_kb + rss))
+    done
+    printf '%-22s %8d ms %8d MiB\n' "$label" $((total_ms / RUNS)) $((total_kb / RUNS / 1024))
+}
+
+printf '%-22s %11s %12s\n' "mode" "first 200" "RSS"
+run "jvm" java -jar "$JAR"
+run "jvm + lazy" java -jar "$JAR" --spring.profiles.active=fast
+if has_aot "$JAR"; then
+    run "aot + lazy" java -Dspring.aot.enabled=true -jar "$JAR" --spring.profiles.active=fast
+fi
+if [ -n "$EXTRACTED" ] && [ -f target/application/application.jsa ]; then
+    LABEL="cds + lazy" AOT=false
+    if has_aot "$EXTRACTED"; then
+        LABEL="cds + aot + lazy" AOT=true
+    fi
+    run "$LABEL" java -XX:SharedArchiveFile=target/application/application.jsa -Dspring.aot.enabled="$AOT" \
+        -jar "$EXTRACTED" --spring.profiles.active=fast
+fi
+if [ -x "$NATIVE" ]; then
+    run "native + lazy" "$NATIVE" --spring.profiles.active=fast
+fi
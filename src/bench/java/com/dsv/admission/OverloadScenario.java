@@ -0,0 +1,226 @@
+package com.dsv.admission;
+
+import com.dsv.DsvApplication;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Overload scenario for admission control: many clients loop on an expensive sheddable call
+ * (GET /api/items/category/{c}) while a few clients poll a critical point read (GET /api/items/{id}).
+ * The same load runs against the app with admission control off and on, each in a fresh
+ * application context with its own warm-up, and the latency of the critical reads is compared.
+ *
+ * Clients behave like well-mannered HTTP clients: a rejected call waits for its Retry-After
+ * before trying again.
+ *
+ * <pre>
+ * ./mvnw -Pbench test-compile exec:exec -Dbench.main=com.dsv.admission.OverloadScenario \
+ *     -Dbench.args="items=50000 sheddable=64 critical=2 warmup=10 seconds=30"
+ * </pre>
+ */
+public class OverloadScenario {
+
+    private static final String[] CATEGORIES = {"Electronics", "Furniture", "Kitchen", "Garden"};
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = new HashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                appArgs.add(arg); // Passed on to the application, e.g. --dsv.admission.min-limit=16
+                continue;
+            }
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        int items = Integer.parseInt(options.getOrDefault("items", "50000"));
+        int sheddable = Integer.parseInt(options.getOrDefault("sheddable", "64"));
+        int critical = Integer.parseInt(options.getOrDefault("critical", "2"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        String modes = options.getOrDefault("admission", "off,on");
+
+        System.out.printf("%d items, %d sheddable clients, %d critical clients, %d s warm-up, %d s measured%n",
+                items, sheddable, critical, warmup, seconds);
+        for (String mode : modes.split(",")) {
+            run("on".equals(mode), appArgs, items, sheddable, critical, warmup, seconds);
+        }
+    }
+
+    private static void run(boolean admission, List<String> appArgs, int items, int sheddable, int critical, int warmup, int seconds)
+            throws Exception {
+        // Arguments, not default properties: application.properties would override those
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0",
+                "--dsv.admission.enabled=" + admission,
+                "--dsv.audit.enabled=false",
+                "--dsv.repository.sample-data=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web=ERROR"));
+        arguments.addAll(appArgs);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DsvApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(arguments.toArray(String[]::new));
+        try {
+            List<Item> catalog = new ArrayList<>(items);
+            for (int i = 0; i < items; i++) {
+                catalog.add(new Item("Item " + i, "Description of item " + i, 10.0 + i % 100, i % 50,
+                        CATEGORIES[i % CATEGORIES.length]));
+            }
+            List<Item> saved = context.getBean(ItemRepository.class).saveAll(catalog);
+            long firstId = saved.get(0).getId();
+            String base = "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                    + "/api/items/";
+            AdaptiveConcurrencyLimiter limiter = admission ? context.getBean(AdaptiveConcurrencyLimiter.class) : null;
+
+            Load load = new Load();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < sheddable; i++) {
+                String url = base + "category/" + CATEGORIES[i % CATEGORIES.length];
+                threads.add(start(() -> load.loop(() -> url, load.sheddable)));
+            }
+            for (int i = 0; i < critical; i++) {
+                threads.add(start(() -> load.loop(
+                        () -> base + (firstId + ThreadLocalRandom.current().nextInt(items)), load.critical)));
+            }
+
+            Thread.sleep(warmup * 1000L);
+            load.reset();
+            int minLimit = Integer.MAX_VALUE;
+            int maxLimit = 0;
+            for (int s = 0; s < seconds * 10; s++) {
+                Thread.sleep(100);
+                if (limiter != null) {
+                    minLimit = Math.min(minLimit, limiter.getLimit());
+                    maxLimit = Math.max(maxLimit, limiter.getLimit());
+                }
+            }
+            Stats criticalStats = load.critical.snapshot();
+            Stats sheddableStats = load.sheddable.snapshot();
+            load.stop();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            System.out.printf("%nadmission %s%n", admission ? "on" : "off");
+            System.out.printf("  GET /{id}          %s%n", criticalStats);
+            System.out.printf("  GET /category/{c}  %s%n", sheddableStats);
+            if (limiter != null) {
+                System.out.printf("  limit              %d..%d%n", minLimit, maxLimit);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Thread start(Runnable client) {
+        Thread thread = new Thread(client);
+        thread.start();
+        return thread;
+    }
+
+    private static final class Load {
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Recorder critical = new Recorder();
+        final Recorder sheddable = new Recorder();
+
+        void loop(Supplier<String> url, Recorder recorder) {
+            byte[] buffer = new byte[64 * 1024];
+            while (running.get()) {
+                long start = System.nanoTime();
+                try {
+                    HttpURLConnection connection = (HttpURLConnection) URI.create(url.get()).toURL().openConnection();
+                    int status = connection.getResponseCode();
+                    try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                        while (body != null && body.read(buffer) >= 0) {
+                            // Read the whole response, as a client would
+                        }
+                    }
+                    long latency = System.nanoTime() - start;
+                    if (status == 200) {
+                        recorder.served(latency);
+                    } else {
+                        recorder.rejected();
+                        String retryAfter = connection.getHeaderField("Retry-After");
+                        Thread.sleep(retryAfter != null ? Long.parseLong(retryAfter) * 1000 : 1000);
+                    }
+                } catch (IOException ex) {
+                    recorder.rejected();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }
+
+        void reset() {
+            critical.reset();
+            sheddable.reset();
+        }
+
+        void stop() {
+            running.set(false);
+        }
+    }
+
+    private static final class Recorder {
+
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        private final LongAdder rejected = new LongAdder();
+
+        synchronized void served(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        void rejected() {
+            rejected.increment();
+        }
+
+        synchronized void reset() {
+            count = 0;
+            rejected.reset();
+        }
+
+        synchronized Stats snapshot() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Stats(sorted, rejected.sum());
+        }
+    }
+
+    private record Stats(long[] sorted, long rejected) {
+
+        long percentile(double p) {
+            return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("served %6d  rejected %6d  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms",
+                    sorted.length, rejected, percentile(0.50) / 1e6, percentile(0.99) / 1e6,
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+    }
+}
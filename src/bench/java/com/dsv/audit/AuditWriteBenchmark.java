@@ -0,0 +1,101 @@
+package com.dsv.audit;
+
+import com.dsv.audit.AuditRingBuffer.FullPolicy;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Write-path cost of the audit trail: a stock update through {@link AuditTrail#audited}, with the
+ * trail disabled and enabled. Updates go round-robin over {@value #ITEMS} items. Enabled, the time
+ * includes the background writer's encoding and file writes whenever it shares the core with the
+ * benchmark thread:
+ *
+ * <pre>
+ * ./mvnw -Pbench test-compile exec:exec -Dbench.args="AuditWriteBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditWriteBenchmark {
+
+    static final int ITEMS = 10_000;
+
+    private static final UnaryOperator<Item> RESTOCK = item -> {
+        item.setStock(item.getStock() + 1);
+        return item;
+    };
+
+    @State(Scope.Benchmark)
+    public static class Writes {
+
+        @Param({"false", "true"})
+        boolean audit;
+
+        Path directory;
+        ItemRepository repository;
+        AuditTrail trail;
+        Long[] itemIds;
+        int next;
+
+        @Setup
+        public void start() throws IOException {
+            directory = Files.createTempDirectory("dsv-audit");
+            // Reclaimed often, so that the versions of a few hundred thousand writes per second don't
+            // survive into the old generation and turn the benchmark into one of the collector
+            repository = new ItemRepository(false, 60_000, 10);
+            repository.startReclaimer();
+            trail = new AuditTrail(new SimpleMeterRegistry(), audit, directory, 8_192, FullPolicy.BLOCK,
+                    10, 512, 64L << 20, 20, false);
+            repository.addListener(trail);
+            List<Item> items = new ArrayList<>(ITEMS);
+            for (int i = 0; i < ITEMS; i++) {
+                items.add(new Item("Desk Lamp " + i, "LED desk lamp", 24.99, 0, "Home"));
+            }
+            itemIds = repository.saveAll(items).stream().map(Item::getId).toArray(Long[]::new);
+        }
+
+        @TearDown
+        public void stop() throws Exception {
+            trail.shutdown();
+            repository.stopReclaimer();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<Item> updateStock(Writes state) {
+        Long itemId = state.itemIds[state.next++ % ITEMS];
+        return state.trail.audited(() -> state.repository.update(itemId, RESTOCK));
+    }
+}
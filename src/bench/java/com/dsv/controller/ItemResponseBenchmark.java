@@ -0,0 +1,105 @@
+package com.dsv.controller;
+
+import com.dsv.DsvApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Allocation and time per GET /api/items/{id}, for a hit and a miss. Run with -prof gc and read
+ * gc.alloc.rate.norm (bytes per request):
+ *
+ * <pre>
+ * ./mvnw -Pbench test-compile exec:exec -Dbench.args="ItemResponseBenchmark -prof gc"
+ * </pre>
+ *
+ * The mvc benchmarks go through the DispatcherServlet with MockMvc, so they include the mock
+ * request and response. The envelope benchmarks call the controller and serialize its body with
+ * the application's ObjectMapper: the part of a request this application controls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemResponseBenchmark {
+
+    private static final Long HIT = 1L;
+    private static final Long MISS = 999_999L;
+
+    /** Discards the body. Jackson closes the stream after each value, which is a no-op here, so it is reused. */
+    private static final OutputStream SINK = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private ItemController controller;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void start() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(DsvApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--server.port=0", "--dsv.audit.enabled=false", "--dsv.admission.enabled=false",
+                        "--logging.level.root=WARN");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        controller = context.getBean(ItemController.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult mvcHit() throws Exception {
+        return mockMvc.perform(get("/api/items/{id}", HIT)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult mvcMiss() throws Exception {
+        return mockMvc.perform(get("/api/items/{id}", MISS)).andReturn();
+    }
+
+    @Benchmark
+    public void envelopeHit() throws IOException {
+        objectMapper.writeValue(SINK, controller.getItemById(HIT).getBody());
+    }
+
+    @Benchmark
+    public void envelopeMiss() throws IOException {
+        objectMapper.writeValue(SINK, controller.getItemById(MISS).getBody());
+    }
+}
@@ -0,0 +1,157 @@
+package com.dsv.controller;
+
+import com.dsv.DsvApplication;
+import com.dsv.dto.ItemPatch;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cost of changing one field of an item over HTTP: a client that reads the item and writes it back
+ * whole (GET + PUT) against one that sends only the change (PATCH with a merge patch). Each update
+ * sets a new stock on an item with a large description. Reports the bytes sent and received per
+ * update and the server CPU per update.
+ *
+ * <pre>
+ * ./mvnw -Pbench test-compile exec:exec -Dbench.main=com.dsv.controller.PartialUpdateScenario \
+ *     -Dbench.args="description-bytes=1024 updates=15000 warmup=3 rounds=3"
+ * </pre>
+ *
+ * Client and server share the JVM, so server CPU is the process CPU time minus the CPU time of the
+ * client's threads. It includes the garbage collector and the compiler, as a server process would, but
+ * also the client's share of both, so it is an upper bound.
+ */
+public class PartialUpdateScenario {
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        int descriptionBytes = Integer.parseInt(options.getOrDefault("description-bytes", "1024"));
+        int updates = Integer.parseInt(options.getOrDefault("updates", "15000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "3"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DsvApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--server.port=0",
+                        "--dsv.admission.enabled=false",
+                        "--dsv.audit.enabled=false",
+                        "--dsv.repository.sample-data=false",
+                        "--logging.level.root=WARN");
+        try {
+            Item item = context.getBean(ItemRepository.class).save(new Item("Standing Desk",
+                    "x".repeat(descriptionBytes), 499.0, 10, "Furniture"));
+            String url = "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                    + "/api/items/" + item.getId();
+            Client client = new Client(url);
+
+            System.out.printf("item with a %,d byte description, %,d updates per round%n", descriptionBytes, updates);
+            for (int round = 0; round < warmup; round++) {
+                client.run(false, updates);
+                client.run(true, updates);
+            }
+            for (int round = 1; round <= rounds; round++) {
+                System.out.printf("round %d%n  GET + PUT  %s%n  PATCH      %s%n", round,
+                        client.run(false, updates), client.run(true, updates));
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static final class Client {
+
+        // A direct executor keeps the client's work on its own selector thread, so it can be told apart
+        private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(Runnable::run).build();
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        private final String url;
+        private long sent;
+        private long received;
+
+        Client(String url) {
+            this.url = url;
+        }
+
+        Result run(boolean patch, int updates) throws IOException, InterruptedException {
+            sent = 0;
+            received = 0;
+            long processCpu = os.getProcessCpuTime();
+            long clientCpu = clientCpu();
+            for (int i = 0; i < updates; i++) {
+                int stock = i % 1_000;
+                if (patch) {
+                    call("PATCH", ItemPatch.MEDIA_TYPE, "{\"stock\":" + stock + "}");
+                } else {
+                    // What a client without PATCH does: read the whole item, change one field, write it all back
+                    ObjectNode current = (ObjectNode) objectMapper.readTree(call("GET", null, null)).get("data");
+                    current.put("stock", stock);
+                    call("PUT", "application/json", objectMapper.writeValueAsString(current));
+                }
+            }
+            long serverCpu = (os.getProcessCpuTime() - processCpu) - (clientCpu() - clientCpu);
+            return new Result(sent / (double) updates, received / (double) updates, serverCpu / 1e3 / updates);
+        }
+
+        /** CPU time of the calling thread and of the HTTP client's own threads. */
+        private long clientCpu() {
+            long cpu = threads.getCurrentThreadCpuTime();
+            for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+                if (info != null && info.getThreadName().startsWith("HttpClient")) {
+                    cpu += Math.max(0, threads.getThreadCpuTime(info.getThreadId()));
+                }
+            }
+            return cpu;
+        }
+
+        private byte[] call(String method, String contentType, String body) throws IOException, InterruptedException {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url));
+            if (body == null) {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                request.method(method, HttpRequest.BodyPublishers.ofByteArray(bytes)).header("Content-Type", contentType);
+                sent += bytes.length;
+            }
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IOException(method + " " + url + " returned " + response.statusCode());
+            }
+            received += response.body().length;
+            return response.body();
+        }
+    }
+
+    private record Result(double bytesSent, double bytesReceived, double serverMicros) {
+
+        @Override
+        public String toString() {
+            return String.format("sent %,6.0f B  received %,6.0f B  server CPU %4.0f us per update",
+                    bytesSent, bytesReceived, serverMicros);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.dsv.importer;
+
+import com.dsv.DsvApplication;
+import com.dsv.dto.ImportResult;
+import com.dsv.repository.ItemRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import throughput: writes a catalog file of generated rows, then imports it into a fresh
+ * application context per round, with the indexes and the audit trail the application registers.
+ * Prints rows per second for every round.
+ *
+ * <pre>
+ * ./mvnw -Pbench test-compile exec:exec -Dbench.main=com.dsv.importer.ImportScenario \
+ *     -Dbench.args="rows=1000000 format=csv rounds=3"
+ * </pre>
+ *
+ * Arguments starting with {@code --} are passed to the application, e.g. {@code --dsv.audit.enabled=false}.
+ */
+public class ImportScenario {
+
+    private static final String[] CATEGORIES = {"Electronics", "Furniture", "Kitchen", "Garden", "Toys", "Books"};
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = new HashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                appArgs.add(arg);
+                continue;
+            }
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        int rows = Integer.parseInt(options.getOrDefault("rows", "1000000"));
+        ImportFormat format = ImportFormat.valueOf(options.getOrDefault("format", "csv").toUpperCase(Locale.ROOT));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+
+        Path directory = Files.createTempDirectory("dsv-import");
+        Path file = directory.resolve(format == ImportFormat.CSV ? "catalog.csv" : "catalog.ndjson");
+        write(file, format, rows);
+        System.out.printf("%d rows, %s, %.1f MB%n", rows, format, Files.size(file) / 1e6);
+
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0",
+                "--dsv.repository.sample-data=false",
+                "--dsv.admission.enabled=false",
+                "--dsv.audit.directory=" + directory.resolve("audit"),
+                "--logging.level.root=WARN",
+                "--logging.level.com.dsv.importer=INFO"));
+        arguments.addAll(appArgs);
+        for (int round = 1; round <= rounds; round++) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(DsvApplication.class)
+                    .bannerMode(Banner.Mode.OFF)
+                    .run(arguments.toArray(String[]::new));
+            try {
+                BulkItemImporter importer = context.getBean(BulkItemImporter.class);
+                ImportResult result = importer.importFile(file, format);
+                System.out.printf("round %d: %d imported, %d failed in %d ms, %,.0f rows/s (%d items stored)%n",
+                        round, result.getImportedRows(), result.getFailedRows(), result.getElapsedMillis(),
+                        (double) result.getRowsPerSecond(),
+                        context.getBean(ItemRepository.class).count());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static void write(Path file, ImportFormat format, int rows) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == ImportFormat.CSV) {
+                out.write("name,description,price,stock,category\n");
+            }
+            for (int i = 0; i < rows; i++) {
+                String category = CATEGORIES[i % CATEGORIES.length];
+                double price = 1 + (i % 50_000) / 100.0;
+                int stock = i % 500;
+                if (format == ImportFormat.CSV) {
+                    out.write("Item " + i + ",\"Generated item " + i + ", for import\"," + price + "," + stock + ","
+                            + category + "\n");
+                } else {
+                    out.write("{\"name\":\"Item " + i + "\",\"description\":\"Generated item " + i
+                            + ", for import\",\"price\":" + price + ",\"stock\":" + stock + ",\"category\":\""
+                            + category + "\"}\n");
+                }
+            }
+        }
+    }
+}
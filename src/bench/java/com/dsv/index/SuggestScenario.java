@@ -0,0 +1,102 @@
+package com.dsv.index;
+
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Autocomplete cost with a large catalog: builds a {@link NameIndex} over generated 2-4 word names,
+ * then reports the build time per name, the heap the index takes per name (the names themselves
+ * are held by the repository and not counted) and suggest latency by prefix length.
+ *
+ * <pre>
+ * ./mvnw -Pbench test-compile exec:exec -Dbench.main=com.dsv.index.SuggestScenario \
+ *     -Dbench.args="names=1000000 lookups=1000000"
+ * </pre>
+ *
+ * Heap is measured as used heap after a full collection, so run it with no other load in the JVM.
+ */
+public class SuggestScenario {
+
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ra", "te", "su", "no", "pe", "vi", "da",
+            "lux", "tor", "bel", "mar", "zen", "qua", "fi", "go", "ha", "jo"};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        int names = Integer.parseInt(options.getOrDefault("names", "1000000"));
+        int lookups = Integer.parseInt(options.getOrDefault("lookups", "1000000"));
+        int maxResults = Integer.parseInt(options.getOrDefault("max-results", "10"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        String[] words = new String[5_000];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(3); syllables > 0; syllables--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = i % 3 == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word.toString();
+        }
+        ItemRepository repository = new ItemRepository(false, 60_000, 1_000);
+        List<Item> catalog = new ArrayList<>(names);
+        for (int i = 0; i < names; i++) {
+            StringBuilder name = new StringBuilder(words[random.nextInt(words.length)]);
+            for (int extra = 1 + random.nextInt(3); extra > 0; extra--) {
+                name.append(' ').append(words[random.nextInt(words.length)]);
+            }
+            catalog.add(new Item(name.toString(), null, 1.0, 1, "Bench"));
+        }
+        List<Item> stored = repository.saveAll(catalog);
+        catalog = null;
+
+        long before = usedHeap();
+        long start = System.nanoTime();
+        NameIndex index = new NameIndex(repository, maxResults); // Replays every stored item
+        long built = System.nanoTime() - start;
+        long after = usedHeap();
+        System.out.printf("%,d names: build %.2f us per name, index heap %.0f bytes per name%n",
+                names, built / 1e3 / names, (after - before) / (double) names);
+
+        for (int length = 1; length <= 8; length++) {
+            String[] prefixes = new String[4_096];
+            for (int i = 0; i < prefixes.length; i++) {
+                String name = stored.get(random.nextInt(stored.size())).getName();
+                prefixes[i] = name.substring(0, Math.min(length, name.length()));
+            }
+            for (int i = 0; i < lookups / 10; i++) {
+                index.suggest(prefixes[i & (prefixes.length - 1)], maxResults); // Warm-up
+            }
+            long[] latencies = new long[lookups / 8];
+            for (int i = 0; i < latencies.length; i++) {
+                long began = System.nanoTime();
+                index.suggest(prefixes[i & (prefixes.length - 1)], maxResults);
+                latencies[i] = System.nanoTime() - began;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("prefix length %d: p50 %.2f us  p99 %.2f us  p99.9 %.2f us%n", length,
+                    latencies[latencies.length / 2] / 1e3, latencies[(int) (latencies.length * 0.99)] / 1e3,
+                    latencies[(int) (latencies.length * 0.999)] / 1e3);
+        }
+        System.out.println(index.count("") + " names indexed");
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
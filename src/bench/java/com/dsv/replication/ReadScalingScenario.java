@@ -0,0 +1,221 @@
+package com.dsv.replication;
+
+import com.dsv.DsvApplication;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read scaling with replicas: starts a leader and 0, 1 or 3 followers (1, 2 and 4 nodes) in this JVM,
+ * spreads GET /api/items/{id} clients evenly over all nodes while one writer updates stock on the
+ * leader, and reports the total read rate, read latency and the highest replication lag a
+ * follower reported.
+ *
+ * <pre>
+ * ./mvnw -Pbench test-compile exec:exec -Dbench.main=com.dsv.replication.ReadScalingScenario \
+ *     -Dbench.args="nodes=1,2,4 items=10000 clients=16 writes-per-second=200 warmup=15 seconds=20"
+ * </pre>
+ *
+ * All nodes share the machine, so reads only scale with nodes while cores are idle; on a real
+ * deployment each node has its own.
+ */
+public class ReadScalingScenario {
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        int items = Integer.parseInt(options.getOrDefault("items", "10000"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "16"));
+        int writesPerSecond = Integer.parseInt(options.getOrDefault("writes-per-second", "200"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+
+        System.out.printf("%d items, %d clients, %d writes/s on the leader, %d s warm-up, %d s measured%n",
+                items, clients, writesPerSecond, warmup, seconds);
+        for (String nodes : options.getOrDefault("nodes", "1,2,4").split(",")) {
+            run(Integer.parseInt(nodes), items, clients, writesPerSecond, warmup, seconds);
+        }
+    }
+
+    private static void run(int nodes, int items, int clients, int writesPerSecond, int warmup, int seconds)
+            throws Exception {
+        List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+        try {
+            ConfigurableApplicationContext leader = start("--dsv.replication.role=leader",
+                    "--dsv.replication.port=0");
+            contexts.add(leader);
+            List<Item> catalog = new ArrayList<>(items);
+            for (int i = 0; i < items; i++) {
+                catalog.add(new Item("Item " + i, "Description of item " + i, 10.0 + i % 100, 100, "Bench"));
+            }
+            ItemRepository leaderRepository = leader.getBean(ItemRepository.class);
+            long firstId = leaderRepository.saveAll(catalog).get(0).getId();
+            int replicationPort = leader.getBean(ReplicationLeader.class).getPort();
+            for (int i = 1; i < nodes; i++) {
+                contexts.add(start("--dsv.replication.role=follower",
+                        "--dsv.replication.leader-port=" + replicationPort));
+            }
+            for (int i = 1; i < nodes; i++) {
+                ReplicationFollower follower = contexts.get(i).getBean(ReplicationFollower.class);
+                while (!follower.isReadable()) {
+                    Thread.sleep(50);
+                }
+            }
+
+            List<String> bases = new ArrayList<>();
+            for (ConfigurableApplicationContext context : contexts) {
+                bases.add("http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                        + "/api/items/");
+            }
+            Load load = new Load(items);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                String base = bases.get(i % bases.size());
+                threads.add(start(() -> load.read(base, firstId)));
+            }
+            threads.add(start(() -> load.write(leaderRepository, firstId, writesPerSecond)));
+
+            Thread.sleep(warmup * 1000L);
+            load.reset();
+            Thread.sleep(seconds * 1000L);
+            long[] latencies = load.latencies();
+            long errors = load.errors.get();
+            long maxLag = load.maxLag.get();
+            load.running.set(false);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            Arrays.sort(latencies);
+            System.out.printf("%d node(s): %,8.0f reads/s  p50 %6.2f ms  p99 %6.2f ms  errors %d  max lag %d ms%n",
+                    nodes, latencies.length / (double) seconds, percentile(latencies, 0.50) / 1e6,
+                    percentile(latencies, 0.99) / 1e6, errors, maxLag);
+        } finally {
+            for (int i = contexts.size() - 1; i >= 0; i--) {
+                contexts.get(i).close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String... roleArgs) {
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0",
+                "--dsv.repository.sample-data=false",
+                "--dsv.admission.enabled=false",
+                "--dsv.audit.enabled=false",
+                "--logging.level.root=WARN"));
+        arguments.addAll(List.of(roleArgs));
+        return new SpringApplicationBuilder(DsvApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(arguments.toArray(String[]::new));
+    }
+
+    private static Thread start(Runnable task) {
+        Thread thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static final class Load {
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong maxLag = new AtomicLong();
+        private final int items;
+        private long[] latencies = new long[1 << 16];
+        private int count;
+
+        Load(int items) {
+            this.items = items;
+        }
+
+        void read(String base, long firstId) {
+            byte[] buffer = new byte[8 * 1024];
+            while (running.get()) {
+                long start = System.nanoTime();
+                try {
+                    HttpURLConnection connection = (HttpURLConnection) URI.create(
+                            base + (firstId + ThreadLocalRandom.current().nextInt(items))).toURL().openConnection();
+                    int status = connection.getResponseCode();
+                    try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                        while (body != null && body.read(buffer) >= 0) {
+                            // Read the whole response, as a client would
+                        }
+                    }
+                    if (status != 200) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    String lag = connection.getHeaderField(FollowerReadInterceptor.LAG_HEADER);
+                    if (lag != null) {
+                        maxLag.accumulateAndGet(Long.parseLong(lag), Math::max);
+                    }
+                    record(System.nanoTime() - start);
+                } catch (IOException ex) {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+
+        void write(ItemRepository leader, long firstId, int perSecond) {
+            long intervalNanos = perSecond > 0 ? 1_000_000_000L / perSecond : Long.MAX_VALUE;
+            long next = System.nanoTime();
+            while (running.get()) {
+                long id = firstId + ThreadLocalRandom.current().nextInt(items);
+                leader.update(id, item -> {
+                    item.setStock(ThreadLocalRandom.current().nextInt(100));
+                    return item;
+                });
+                next += intervalNanos;
+                long sleep = next - System.nanoTime();
+                if (sleep > 0) {
+                    try {
+                        Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        synchronized void record(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        synchronized void reset() {
+            count = 0;
+            errors.set(0);
+            maxLag.set(0);
+        }
+
+        synchronized long[] latencies() {
+            return Arrays.copyOf(latencies, count);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.dsv.reservation;
+
+import com.dsv.entity.Item;
+import com.dsv.entity.Reservation;
+import com.dsv.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the hold path (reserve, then cancel or confirm) with a given number of other holds open,
+ * and the time to expire a batch of holds once their deadline has passed:
+ *
+ * <pre>
+ * ./mvnw -Pbench test-compile exec:exec -Dbench.args="ReservationBenchmark -prof gc"
+ * </pre>
+ *
+ * expireHolds reserves {@value #EXPIRING} holds with a one-second TTL and waits until the wheel has
+ * released them all; the time above one second is the expiry work plus up to one tick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationBenchmark {
+
+    static final int EXPIRING = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class Holds {
+
+        @Param({"0", "100000"})
+        int openHolds;
+
+        ItemRepository repository;
+        ReservationManager reservations;
+        Long itemId;
+
+        @Setup
+        public void start() {
+            repository = new ItemRepository(false, 60_000, 1_000);
+            repository.startReclaimer();
+            reservations = new ReservationManager(repository, new SimpleMeterRegistry(), 100, 512);
+            itemId = repository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, Integer.MAX_VALUE, "Home")).getId();
+            Long other = repository.save(new Item("Chair", "Office chair", 99.0, Integer.MAX_VALUE, "Home")).getId();
+            for (int i = 0; i < openHolds; i++) {
+                reservations.reserve(other, 1, 3_600);
+            }
+        }
+
+        @TearDown
+        public void stop() {
+            reservations.stop();
+            repository.stopReclaimer();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Expiry {
+
+        ItemRepository repository;
+        ReservationManager reservations;
+        Long itemId;
+
+        @Setup(Level.Trial)
+        public void start() {
+            repository = new ItemRepository(false, 60_000, 1_000);
+            reservations = new ReservationManager(repository, new SimpleMeterRegistry(), 100, 512);
+            itemId = repository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, EXPIRING, "Home")).getId();
+        }
+
+        @Setup(Level.Invocation)
+        public void reserve() {
+            for (int i = 0; i < EXPIRING; i++) {
+                reservations.reserve(itemId, 1, 1);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            reservations.stop();
+        }
+    }
+
+    @Benchmark
+    public Reservation reserveAndCancel(Holds state) {
+        Reservation hold = state.reservations.reserve(state.itemId, 1, 300).orElseThrow();
+        return state.reservations.cancel(state.itemId, hold.getId());
+    }
+
+    @Benchmark
+    public Reservation reserveAndConfirm(Holds state) {
+        Reservation hold = state.reservations.reserve(state.itemId, 1, 300).orElseThrow();
+        return state.reservations.confirm(state.itemId, hold.getId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int expireHolds(Expiry state) throws InterruptedException {
+        while (state.reservations.availability(state.itemId).orElseThrow().getHeld() > 0) {
+            Thread.sleep(1);
+        }
+        return EXPIRING;
+    }
+}
@@ -0,0 +1,175 @@
+package com.dsv.storage;
+
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tiered storage under skewed reads: fills a repository with a catalog several times the heap
+ * budget, then looks items up by ID with Zipfian popularity (item popularity is shuffled, so it is
+ * unrelated to ID order). Reports the heap hit ratio next to the best ratio the budget allows,
+ * live heap and RSS after a full collection, and lookup latency.
+ *
+ * <pre>
+ * ./mvnw -Pbench test-compile exec:exec -Dbench.main=com.dsv.storage.TieredAccessScenario \
+ *     -Dbench.args="tiering=true items=200000 item-bytes=500 budget-mb=20 s=0.99 lookups=5000000"
+ * </pre>
+ *
+ * Run tiering=true and tiering=false as separate invocations, with the same {@code -Xmx}: the heap
+ * a JVM once committed is not returned, so RSS is only comparable between fresh JVMs with the same cap.
+ */
+public class TieredAccessScenario {
+
+    private static final int LOAD_BATCH = 10_000;
+
+    /** Every this many lookups, one latency is kept for the percentiles. */
+    private static final int LATENCY_SAMPLING = 5;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        boolean tiering = Boolean.parseBoolean(options.getOrDefault("tiering", "true"));
+        int items = Integer.parseInt(options.getOrDefault("items", "200000"));
+        int itemBytes = Integer.parseInt(options.getOrDefault("item-bytes", "500"));
+        long budgetMb = Long.parseLong(options.getOrDefault("budget-mb", "20"));
+        double s = Double.parseDouble(options.getOrDefault("s", "0.99"));
+        int lookups = Integer.parseInt(options.getOrDefault("lookups", "5000000"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        Path directory = Files.createTempDirectory("dsv-tiers");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TieredStorage tiers = new TieredStorage(registry, tiering, budgetMb, 100, items, directory);
+        ItemRepository repository = new ItemRepository(false, 60_000, 1_000, tiers);
+        repository.startReclaimer();
+
+        // Pad the description so that each item's estimated footprint is about item-bytes
+        long unpadded = TieredStorage.estimateBytes(item(0, ""));
+        String filler = "x".repeat((int) Math.max(0, itemBytes - unpadded));
+        long[] ids = new long[items];
+        for (int from = 0; from < items; from += LOAD_BATCH) {
+            // Loaded in batches, like an import, so that the heap never holds the whole catalog twice
+            List<Item> batch = new ArrayList<>(LOAD_BATCH);
+            for (int i = from; i < Math.min(items, from + LOAD_BATCH); i++) {
+                batch.add(item(i, filler));
+            }
+            List<Item> stored = repository.saveAll(batch);
+            for (int i = 0; i < stored.size(); i++) {
+                ids[from + i] = stored.get(i).getId();
+            }
+        }
+        long itemEstimate = TieredStorage.estimateBytes(item(0, filler));
+
+        // Popularity rank -> ID, shuffled so that popular items are spread over the ID range
+        for (int i = items - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        double[] cdf = zipfCdf(items, s);
+        int fitting = (int) Math.min(items, (budgetMb << 20) / itemEstimate);
+        System.out.printf("%,d items of about %d bytes (catalog %.0f MB, budget %d MB), Zipf s=%.2f, tiering %s%n",
+                items, itemEstimate, items * itemEstimate / 1e6, budgetMb, s, tiering ? "on" : "off");
+        System.out.printf("best possible heap hit ratio: %.1f%% (the %,d most popular items in memory)%n",
+                100 * cdf[fitting - 1], fitting);
+
+        // Warm-up: lets the sketch learn the popularity and the passes settle
+        for (int i = 0; i < lookups; i++) {
+            repository.findById(ids[rank(cdf, random.nextDouble())]);
+        }
+        Thread.sleep(1_000);
+
+        double heapBefore = reads(registry, "heap");
+        double diskBefore = reads(registry, "disk");
+        long[] latencies = new long[lookups / LATENCY_SAMPLING];
+        for (int i = 0; i < lookups; i++) {
+            long id = ids[rank(cdf, random.nextDouble())];
+            long start = System.nanoTime();
+            repository.findById(id);
+            long latency = System.nanoTime() - start;
+            if (i % LATENCY_SAMPLING == 0 && i / LATENCY_SAMPLING < latencies.length) {
+                latencies[i / LATENCY_SAMPLING] = latency;
+            }
+        }
+        double heapReads = reads(registry, "heap") - heapBefore;
+        double diskReads = reads(registry, "disk") - diskBefore;
+
+        Arrays.sort(latencies);
+        if (tiering) {
+            System.out.printf("heap hit ratio: %.1f%%, %,d cold items, %.0f MB on disk%n",
+                    100 * heapReads / (heapReads + diskReads), tiers.coldItems(), tiers.diskBytes() / 1e6);
+        }
+        System.out.printf("lookup p50 %.2f us  p99 %.2f us  p99.9 %.2f us%n",
+                latencies[latencies.length / 2] / 1e3, latencies[(int) (latencies.length * 0.99)] / 1e3,
+                latencies[(int) (latencies.length * 0.999)] / 1e3);
+        latencies = null;
+        System.out.printf("live heap after GC %.0f MB, RSS %s%n", usedHeap() / 1e6, rss());
+
+        repository.stopReclaimer();
+        tiers.close();
+    }
+
+    private static Item item(int i, String filler) {
+        return new Item("Item " + i, "Description " + i + " " + filler, 1.0 + i % 1000, i % 100, "Category " + i % 20);
+    }
+
+    private static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, s);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int rank(double[] cdf, double u) {
+        int at = Arrays.binarySearch(cdf, u);
+        return Math.min(cdf.length - 1, at >= 0 ? at : -at - 1);
+    }
+
+    private static double reads(SimpleMeterRegistry registry, String tier) {
+        var counter = registry.find("dsv.storage.reads").tag("tier", tier).functionCounter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    private static String rss() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return line.substring("VmRSS:".length()).trim();
+            }
+        }
+        return "n/a";
+    }
+}
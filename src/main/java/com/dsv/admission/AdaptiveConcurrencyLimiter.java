@@ -0,0 +1,192 @@
+package com.dsv.admission;
+
+import com.dsv.admission.RequestPriority.Priority;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Concurrency limiter whose limit adapts to measured request latency (gradient).
+ *
+ * Every endpoint keeps its own baseline of the latency seen without queueing: the lowest
+ * latency of the current and the previous baseline window. A fast health check therefore never
+ * sets the bar for a list or import call, and a baseline can rise again within two windows when
+ * an endpoint genuinely becomes slower.
+ *
+ * Each sample yields a gradient: {@code latencyTolerance} times its endpoint's baseline divided
+ * by the sample, between 0.5 and 1. The limit moves a {@code smoothing} fraction of the way
+ * towards {@code limit * gradient + queueSize}. Latency within the tolerance therefore raises a
+ * limit that is being used, and queueing lowers it, but the queue allowance keeps it from
+ * collapsing: under sustained overload it settles around {@code 2 * queueSize} plus the
+ * concurrency the machine serves without queueing, instead of dropping to the minimum.
+ *
+ * Each {@link Priority} may only use its share of the limit, so sheddable calls are turned
+ * away long before point reads are.
+ *
+ * All state is updated with compare-and-set; no lock is taken on the request path.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /** Lowest gradient: however slow a sample, the target stays above half the limit. */
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double queueSize;
+    private final double smoothing;
+    private final long baselineWindowNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Map<Priority, LongAdder> rejected = new EnumMap<>(Priority.class);
+    private final Map<Object, Baseline> baselines = new ConcurrentHashMap<>();
+
+    // Double bits of the current limit
+    private final AtomicLong limit;
+
+    /**
+     * @param queueSize requests allowed to queue on top of what the latency gradient admits
+     * @param smoothing fraction of the way the limit moves towards its target on each sample
+     * @param baselineWindowMillis how long a minimum latency counts as an endpoint's baseline; the
+     *        baseline covers the current and the previous window
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double latencyTolerance, double queueSize, double smoothing,
+                                      long baselineWindowMillis) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds: " + minLimit + ".." + maxLimit);
+        }
+        if (latencyTolerance < 1.0 || queueSize < 0.0 || smoothing <= 0.0 || smoothing > 1.0) {
+            throw new IllegalArgumentException(
+                    "Latency tolerance must be >= 1, queue size >= 0 and smoothing in (0, 1]");
+        }
+        if (baselineWindowMillis < 1) {
+            throw new IllegalArgumentException("Baseline window must be positive");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.queueSize = queueSize;
+        this.smoothing = smoothing;
+        this.baselineWindowNanos = TimeUnit.MILLISECONDS.toNanos(baselineWindowMillis);
+        this.limit = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Try to admit a request of the given priority.
+     *
+     * @param priority the request priority
+     * @return true if admitted; the caller must then call {@link #release(Object, long)}
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit() * priority.share()));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a previously admitted request and feed its latency into the limit.
+     *
+     * @param endpoint identifies the endpoint whose baseline the latency is compared with
+     * @param latencyNanos time the request spent being served
+     */
+    public void release(Object endpoint, long latencyNanos) {
+        int inflightBefore = inflight.getAndDecrement();
+        if (latencyNanos > 0) {
+            onSample(baselines.computeIfAbsent(endpoint, key -> new Baseline()), latencyNanos, inflightBefore);
+        }
+    }
+
+    private void onSample(Baseline baseline, long latencyNanos, int inflightBefore) {
+        long baselineNanos = baseline.update(latencyNanos, System.nanoTime(), baselineWindowNanos);
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, latencyTolerance * baselineNanos / latencyNanos));
+        if (gradient == 1.0 && inflightBefore * 2 < limit()) {
+            return; // No queueing, but the limit is not being used either: no reason to raise it
+        }
+        updateLimit(current -> {
+            double target = current * gradient + queueSize;
+            return Math.max(minLimit, Math.min(maxLimit, current + smoothing * (target - current)));
+        });
+    }
+
+    private void updateLimit(DoubleUnaryOperator change) {
+        while (true) {
+            long bits = limit.get();
+            long updated = Double.doubleToLongBits(change.applyAsDouble(Double.longBitsToDouble(bits)));
+            if (bits == updated || limit.compareAndSet(bits, updated)) {
+                return;
+            }
+        }
+    }
+
+    private double limit() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    public int getLimit() {
+        return (int) limit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * @return the latency baseline of an endpoint, or 0 if it has not been sampled yet
+     */
+    public long getBaselineLatencyNanos(Object endpoint) {
+        Baseline baseline = baselines.get(endpoint);
+        return baseline != null ? baseline.get() : 0;
+    }
+
+    public long getRejectedCount(Priority priority) {
+        return rejected.get(priority).sum();
+    }
+
+    /**
+     * Minimum latency of one endpoint over the current and the previous window.
+     */
+    private static final class Baseline {
+
+        private final AtomicLong current = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong previous = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+        /**
+         * @return the baseline including the sample
+         */
+        long update(long latencyNanos, long now, long windowNanos) {
+            long start = windowStart.get();
+            if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+                previous.set(current.getAndSet(Long.MAX_VALUE));
+            }
+            long min = current.get();
+            while (latencyNanos < min && !current.compareAndSet(min, latencyNanos)) {
+                min = current.get();
+            }
+            return get();
+        }
+
+        long get() {
+            long baseline = Math.min(current.get(), previous.get());
+            return baseline == Long.MAX_VALUE ? 0 : baseline;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.dsv.admission;
+
+import com.dsv.admission.RequestPriority.Priority;
+import com.dsv.exception.ServiceOverloadedException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits or rejects API requests through the {@link AdaptiveConcurrencyLimiter}.
+ * Rejected sheddable requests get 429 TOO MANY REQUESTS, everything else 503 SERVICE UNAVAILABLE,
+ * both with a Retry-After header (see GlobalExceptionHandler).
+ * Asynchronous requests (such as event streams) hold their slot only until the handler returns.
+ * Latency is fed back per handler method, so each endpoint is compared with its own baseline.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final int retryAfterSeconds;
+
+    public AdmissionControlInterceptor(AdaptiveConcurrencyLimiter limiter, int retryAfterSeconds) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true; // Admitted on the initial dispatch
+        }
+        Priority priority = priorityOf(handler);
+
+        if (!limiter.tryAcquire(priority)) {
+            HttpStatus status = priority == Priority.SHEDDABLE
+                    ? HttpStatus.TOO_MANY_REQUESTS
+                    : HttpStatus.SERVICE_UNAVAILABLE;
+            throw new ServiceOverloadedException(status, retryAfterSeconds);
+        }
+
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request, handler);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        release(request, handler);
+    }
+
+    private void release(HttpServletRequest request, Object handler) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            limiter.release(endpointOf(handler), System.nanoTime() - (Long) start);
+        }
+    }
+
+    /**
+     * @return the key of the latency baseline a request's handler is measured against
+     */
+    static Object endpointOf(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod ? handlerMethod.getMethod() : handler.getClass();
+    }
+
+    private static Priority priorityOf(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            RequestPriority annotation = handlerMethod.getMethodAnnotation(RequestPriority.class);
+            if (annotation == null) {
+                annotation = handlerMethod.getBeanType().getAnnotation(RequestPriority.class);
+            }
+            if (annotation != null) {
+                return annotation.value();
+            }
+        }
+        return Priority.STANDARD;
+    }
+}
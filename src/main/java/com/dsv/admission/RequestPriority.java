@@ -0,0 +1,43 @@
+package com.dsv.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the admission priority of a controller endpoint.
+ * Endpoints without this annotation are treated as {@link Priority#STANDARD}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestPriority {
+
+    Priority value();
+
+    /**
+     * Priority classes, each allowed to use a share of the current concurrency limit.
+     * Lower classes are rejected first as the limit fills up.
+     */
+    enum Priority {
+
+        /** Cheap point reads and health checks; may use the whole limit. */
+        CRITICAL(1.0),
+
+        /** Ordinary writes. */
+        STANDARD(0.9),
+
+        /** Expensive list, export and batch calls; shed first under load. */
+        SHEDDABLE(0.5);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+
+        public double share() {
+            return share;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.dsv.audit;
+
+/**
+ * Kinds of item mutation recorded in the audit trail.
+ */
+public enum AuditEventType {
+    CREATE,
+    UPDATE,
+    DELETE,
+    STOCK_CHANGE
+}
@@ -0,0 +1,95 @@
+package com.dsv.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit files that roll over at a size limit.
+ *
+ * Files are named {@code audit-<UTC creation time>-<first position>.ndjson}, so they sort
+ * chronologically; after a rollover only the newest {@code maxFiles} are kept.
+ * Used by the audit writer thread only.
+ */
+class AuditFileWriter implements AutoCloseable {
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss.SSS").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final boolean fsync;
+
+    private FileChannel channel;
+    private long size;
+
+    AuditFileWriter(Path directory, long maxFileBytes, int maxFiles, boolean fsync) throws IOException {
+        if (maxFileBytes < 1 || maxFiles < 1) {
+            throw new IllegalArgumentException("Audit file size and count limits must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Append one batch of complete lines; a batch is never split across files.
+     *
+     * @param firstPosition audit position of the first event in the batch, used to name a new file
+     */
+    void write(ByteBuffer batch, long firstPosition) throws IOException {
+        if (channel == null || size > 0 && size + batch.remaining() > maxFileBytes) {
+            roll(firstPosition);
+        }
+        while (batch.hasRemaining()) {
+            size += channel.write(batch);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void roll(long firstPosition) throws IOException {
+        close();
+        Path file = directory.resolve(String.format("audit-%s-%012d.ndjson",
+                FILE_TIME.format(Instant.now()), firstPosition));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith("audit-") && name.endsWith(".ndjson");
+            }).forEach(files::add);
+        }
+        files.sort(Comparator.comparing(path -> path.getFileName().toString()));
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.dsv.audit;
+
+import com.dsv.entity.Item;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring of preallocated audit events with serialized producers and a single consumer.
+ *
+ * Recording an event takes two steps. {@link #claim()} hands out the next position; producers
+ * call it one at a time, e.g. under the lock that orders the writes they record, and it never waits.
+ * {@link #publish} later fills the slot in place, once the consumer has handed it back, and may be
+ * called outside that lock and by several producers at once. Every slot carries a sequence number
+ * that says whose turn it is: the slot of position p is free for its producer once its sequence
+ * equals p, is published by setting it to p + 1, and is handed back by the consumer, which reads
+ * slots in position order, by advancing it a full lap. Neither step takes a lock or allocates.
+ *
+ * What a claim does when the ring is full is set by the {@link FullPolicy}.
+ */
+public class AuditRingBuffer {
+
+    /**
+     * What to do with an event when the ring is full.
+     */
+    public enum FullPolicy {
+        /** Keep the event; its publish waits until the consumer frees its slot. */
+        BLOCK,
+        /** Drop the event. */
+        DROP,
+        /** Keep one event in every sample-one-in, like BLOCK, and drop the others. */
+        SAMPLE
+    }
+
+    private static final long WAIT_NANOS = 10_000;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final FullPolicy policy;
+    private final int sampleOneIn;
+
+    private final LongAdder dropped = new LongAdder();
+    // Written by the one producer claiming at a time
+    private volatile long tail;
+    private long fullEvents;
+    private volatile long head;
+    private volatile boolean closed;
+
+    /**
+     * @param capacity number of slots; rounded up to a power of two
+     * @param policy what to do when the ring is full
+     * @param sampleOneIn for {@link FullPolicy#SAMPLE}, keep one in this many events while full
+     */
+    public AuditRingBuffer(int capacity, FullPolicy policy, int sampleOneIn) {
+        if (capacity < 2 || sampleOneIn < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 2 and sample rate positive");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.mask = size - 1;
+        this.policy = policy;
+        this.sampleOneIn = sampleOneIn;
+    }
+
+    /**
+     * Take the next position for an event. Callers must not claim concurrently.
+     *
+     * @return the position to publish the event at, or -1 if the ring is full and the event is dropped
+     */
+    public long claim() {
+        long position = tail;
+        if (position - head >= slots.length) {
+            boolean keep = !closed && (policy == FullPolicy.BLOCK
+                    || policy == FullPolicy.SAMPLE && fullEvents++ % sampleOneIn == 0);
+            if (!keep) {
+                dropped.increment();
+                return -1;
+            }
+        }
+        tail = position + 1;
+        return position;
+    }
+
+    /**
+     * Fill the slot of a claimed position and hand it to the consumer, waiting until the slot is free.
+     * Every claimed position must be published, or the consumer stops at it.
+     *
+     * @param position a position returned by {@link #claim()}
+     * @param timestamp time of the mutation in epoch millis
+     * @param type the kind of mutation
+     * @param itemId the ID of the item
+     * @param item the item after the mutation, or null if there is none
+     * @param stockDelta change of the stock, or null
+     * @return false if the ring was closed while waiting and the event was dropped
+     */
+    public boolean publish(long position, long timestamp, AuditEventType type, Long itemId, Item item,
+                           Integer stockDelta) {
+        Slot slot = slots[(int) position & mask];
+        while (slot.sequence != position) {
+            if (closed) {
+                dropped.increment();
+                return false;
+            }
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        slot.fill(timestamp, type, itemId, item, stockDelta);
+        slot.sequence = position + 1;
+        return true;
+    }
+
+    /**
+     * Hand up to max published events to the consumer, in order. Single consumer thread only.
+     * A slot must not be used after the callback returns.
+     *
+     * @return the number of events consumed
+     */
+    public int drain(Consumer<Slot> consumer, int max) {
+        long position = head;
+        int count = 0;
+        while (count < max) {
+            Slot slot = slots[(int) position & mask];
+            if (slot.sequence != position + 1) {
+                break;
+            }
+            slot.position = position;
+            consumer.accept(slot);
+            slot.sequence = position + slots.length;
+            position++;
+            count++;
+        }
+        head = position;
+        return count;
+    }
+
+    /**
+     * Stop producers from waiting for space; events that find the ring full are dropped.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * @return number of claimed events not yet consumed
+     */
+    public long depth() {
+        return Math.max(0, tail - head);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * One preallocated event. Fields are written by the producer that claimed the position and read
+     * by the consumer after the sequence handoff, which orders them.
+     */
+    public static final class Slot {
+
+        private volatile long sequence;
+        private long position;
+        private long timestamp;
+        private AuditEventType type;
+        private Long itemId;
+        private String name;
+        private Double price;
+        private Integer stock;
+        private String category;
+        private Integer stockDelta;
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+
+        private void fill(long timestamp, AuditEventType type, Long itemId, Item item, Integer stockDelta) {
+            this.timestamp = timestamp;
+            this.type = type;
+            this.itemId = itemId;
+            this.name = item != null ? item.getName() : null;
+            this.price = item != null ? item.getPrice() : null;
+            this.stock = item != null ? item.getStock() : null;
+            this.category = item != null ? item.getCategory() : null;
+            this.stockDelta = stockDelta;
+        }
+
+        /**
+         * @return position of the event in the audit sequence; increases by one per recorded event
+         */
+        public long getPosition() {
+            return position;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public AuditEventType getType() {
+            return type;
+        }
+
+        public Long getItemId() {
+            return itemId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Double getPrice() {
+            return price;
+        }
+
+        public Integer getStock() {
+            return stock;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public Integer getStockDelta() {
+            return stockDelta;
+        }
+    }
+}
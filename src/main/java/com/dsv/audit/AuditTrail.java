@@ -0,0 +1,393 @@
+package com.dsv.audit;
+
+import com.dsv.audit.AuditRingBuffer.FullPolicy;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemChangeListener;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous audit trail of item mutations.
+ *
+ * The trail listens to the repository and records the changes of writes run through
+ * {@link #audited(Supplier)}. Listeners run on the writing thread under the repository write lock,
+ * so the listener claims each event's position in an {@link AuditRingBuffer} there, in commit
+ * order; claiming never waits. The events are copied into their slots once the write has returned
+ * and the lock is released, so a full buffer can hold up the writing thread but never other writers.
+ * A background thread drains the buffer in batches, encodes each event as one JSON line and appends
+ * the batch to rotating files in {@code dsv.audit.directory}. A file write therefore never delays a
+ * request, and a burst of writes costs one file write per batch instead of one per event.
+ *
+ * Every recorded event carries its audit position, which increases by one per event. Events
+ * dropped by a full buffer never get a position and are only counted ({@code dsv.audit.dropped});
+ * a gap in the positions means an event could not be encoded or its file write failed
+ * ({@code dsv.audit.failed}).
+ */
+@Component
+public class AuditTrail implements ItemChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditTrail.class);
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final boolean enabled;
+    private final AuditRingBuffer buffer;
+    private final AuditFileWriter files;
+    private final int batchSize;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Thread writer;
+    private final ThreadLocal<PendingEvents> pendingEvents = ThreadLocal.withInitial(PendingEvents::new);
+
+    private volatile boolean running = true;
+
+    // Writer thread only
+    private final BatchBuffer encoded = new BatchBuffer();
+    private JsonGenerator json;
+    private int batchEvents;
+    private int batchEncoded;
+    private long batchPosition;
+    private long cachedMillis = -1;
+    private String cachedTime;
+
+    public AuditTrail(MeterRegistry meterRegistry,
+                      @Value("${dsv.audit.enabled:true}") boolean enabled,
+                      @Value("${dsv.audit.directory:audit}") Path directory,
+                      @Value("${dsv.audit.buffer-size:8192}") int bufferSize,
+                      @Value("${dsv.audit.full-policy:BLOCK}") FullPolicy fullPolicy,
+                      @Value("${dsv.audit.sample-one-in:10}") int sampleOneIn,
+                      @Value("${dsv.audit.batch-size:512}") int batchSize,
+                      @Value("${dsv.audit.max-file-bytes:67108864}") long maxFileBytes,
+                      @Value("${dsv.audit.max-files:20}") int maxFiles,
+                      @Value("${dsv.audit.fsync:false}") boolean fsync) throws IOException {
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer(bufferSize, fullPolicy, sampleOneIn);
+        this.batchSize = batchSize;
+        if (!enabled) {
+            this.files = null;
+            this.json = null;
+            this.writer = null;
+            return;
+        }
+        this.files = new AuditFileWriter(directory, maxFileBytes, maxFiles, fsync);
+        this.json = newGenerator();
+
+        Gauge.builder("dsv.audit.buffer.depth", buffer, AuditRingBuffer::depth)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        FunctionCounter.builder("dsv.audit.dropped", buffer, AuditRingBuffer::dropped)
+                .description("Audit events dropped because the buffer was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("dsv.audit.written", written, LongAdder::sum)
+                .description("Audit events written to file")
+                .register(meterRegistry);
+        FunctionCounter.builder("dsv.audit.failed", failed, LongAdder::sum)
+                .description("Audit events lost because their file write failed")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::run, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Run a write and record the repository changes it makes on this thread.
+     * Changes made outside such a write, e.g. by replication or bulk import, are not audited.
+     *
+     * @param write the write to run
+     * @return the result of the write
+     */
+    public <T> T audited(Supplier<T> write) {
+        PendingEvents pending = pendingEvents.get();
+        if (!enabled || pending.active) {
+            return write.get();
+        }
+        pending.active = true;
+        try {
+            return write.get();
+        } finally {
+            // Also after a failed write: a claimed position that is never published stops the writer
+            pending.active = false;
+            publish(pending);
+        }
+    }
+
+    @Override
+    public void onChange(Item previous, Item current) {
+        PendingEvents pending = pendingEvents.get();
+        if (pending.active) {
+            stage(pending, previous, current);
+        }
+    }
+
+    @Override
+    public void onCreated(List<Item> created) {
+        PendingEvents pending = pendingEvents.get();
+        if (pending.active) {
+            for (Item item : created) {
+                stage(pending, null, item);
+            }
+        }
+    }
+
+    /**
+     * Record a change right away, outside an audited write. Callers must not record concurrently,
+     * since that would make the order of the positions arbitrary.
+     *
+     * @param previous the item before the change, or null if it was created
+     * @param current the item after the change, or null if it was deleted
+     */
+    void record(Item previous, Item current) {
+        if (enabled) {
+            PendingEvents pending = new PendingEvents();
+            stage(pending, previous, current);
+            publish(pending);
+        }
+    }
+
+    /**
+     * Claim the position of a change and keep it until {@link #publish(PendingEvents)}: a CREATE or
+     * DELETE, a STOCK_CHANGE if nothing but the stock changed, else an UPDATE. Every event for a
+     * change of the stock carries the stock delta.
+     */
+    private void stage(PendingEvents pending, Item previous, Item current) {
+        long position = buffer.claim();
+        if (position < 0) {
+            return; // Dropped; counted by the buffer
+        }
+        PendingEvent event = pending.add(position, System.currentTimeMillis());
+        if (previous == null) {
+            event.set(AuditEventType.CREATE, current.getId(), current, null);
+        } else if (current == null) {
+            event.set(AuditEventType.DELETE, previous.getId(), null, null);
+        } else {
+            int delta = stockOf(current) - stockOf(previous);
+            boolean onlyStock = Objects.equals(previous.getName(), current.getName())
+                    && Objects.equals(previous.getDescription(), current.getDescription())
+                    && Objects.equals(previous.getPrice(), current.getPrice())
+                    && Objects.equals(previous.getCategory(), current.getCategory());
+            if (onlyStock) {
+                event.set(AuditEventType.STOCK_CHANGE, current.getId(), current, delta);
+            } else {
+                event.set(AuditEventType.UPDATE, current.getId(), current, delta != 0 ? delta : null);
+            }
+        }
+    }
+
+    private void publish(PendingEvents pending) {
+        for (int i = 0; i < pending.size; i++) {
+            PendingEvent event = pending.events[i];
+            buffer.publish(event.position, event.timestamp, event.type, event.itemId, event.item, event.stockDelta);
+            event.item = null;
+        }
+        pending.size = 0;
+    }
+
+    private static int stockOf(Item item) {
+        return item.getStock() != null ? item.getStock() : 0;
+    }
+
+    /**
+     * Stop accepting events, write everything still buffered and close the current file.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        buffer.close();
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void run() {
+        while (true) {
+            int count;
+            try {
+                count = writeBatch();
+            } catch (RuntimeException ex) {
+                // The writer must keep draining, or producers waiting for space would wait forever
+                log.error("Audit writer failed", ex);
+                continue;
+            }
+            if (count == 0) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+        try {
+            files.close();
+        } catch (IOException ex) {
+            log.error("Failed to close audit file", ex);
+        }
+    }
+
+    /**
+     * Drain and write one batch.
+     *
+     * @return the number of events drained
+     */
+    private int writeBatch() {
+        encoded.reset();
+        batchEvents = 0;
+        batchEncoded = 0;
+        int count = buffer.drain(this::encode, batchSize);
+        if (batchEncoded == 0) {
+            return count;
+        }
+        try {
+            json.flush();
+            files.write(ByteBuffer.wrap(encoded.toByteArray()), batchPosition);
+            written.add(batchEncoded);
+        } catch (IOException | RuntimeException ex) {
+            failed.add(batchEncoded);
+            log.error("Failed to write {} audit events", batchEncoded, ex);
+        }
+        return count;
+    }
+
+    private JsonGenerator newGenerator() throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(encoded, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    /**
+     * ISO-8601 time; events come in bursts, so most share the millisecond of the previous one.
+     */
+    private String formatTime(long millis) {
+        if (millis != cachedMillis) {
+            cachedMillis = millis;
+            cachedTime = Instant.ofEpochMilli(millis).toString();
+        }
+        return cachedTime;
+    }
+
+    /**
+     * Append one event to the batch. An event that cannot be encoded is cut from the batch and
+     * counted as failed; it must not stop the drain, which would otherwise offer it again forever.
+     */
+    private void encode(AuditRingBuffer.Slot slot) {
+        if (batchEvents++ == 0) {
+            batchPosition = slot.getPosition();
+        }
+        int mark = encoded.size();
+        try {
+            writeEvent(slot);
+            json.flush();
+            batchEncoded++;
+        } catch (IOException | RuntimeException ex) {
+            failed.increment();
+            log.error("Failed to encode audit event {}: {}", slot.getPosition(), ex.toString());
+            log.debug("Audit event {} could not be encoded", slot.getPosition(), ex);
+            encoded.truncate(mark);
+            try {
+                json = newGenerator(); // The old one may be stuck inside the broken event
+            } catch (IOException impossible) {
+                throw new UncheckedIOException(impossible);
+            }
+        }
+    }
+
+    private void writeEvent(AuditRingBuffer.Slot slot) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("position", slot.getPosition());
+        json.writeStringField("time", formatTime(slot.getTimestamp()));
+        json.writeStringField("type", slot.getType().name());
+        json.writeNumberField("itemId", slot.getItemId());
+        if (slot.getName() != null) {
+            json.writeStringField("name", slot.getName());
+        }
+        if (slot.getPrice() != null) {
+            json.writeNumberField("price", slot.getPrice());
+        }
+        if (slot.getStock() != null) {
+            json.writeNumberField("stock", slot.getStock());
+        }
+        if (slot.getCategory() != null) {
+            json.writeStringField("category", slot.getCategory());
+        }
+        if (slot.getStockDelta() != null) {
+            json.writeNumberField("stockDelta", slot.getStockDelta());
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    /**
+     * Events claimed by the audited write running on one thread, waiting to be published.
+     * Entries are reused, so staging an event does not allocate once the thread has recorded a few.
+     */
+    private static final class PendingEvents {
+
+        boolean active;
+        PendingEvent[] events = new PendingEvent[0];
+        int size;
+
+        PendingEvent add(long position, long timestamp) {
+            if (size == events.length) {
+                events = Arrays.copyOf(events, Math.max(4, size * 2));
+            }
+            if (events[size] == null) {
+                events[size] = new PendingEvent();
+            }
+            PendingEvent event = events[size++];
+            event.position = position;
+            event.timestamp = timestamp;
+            return event;
+        }
+    }
+
+    private static final class PendingEvent {
+
+        long position;
+        long timestamp;
+        AuditEventType type;
+        Long itemId;
+        Item item;
+        Integer stockDelta;
+
+        void set(AuditEventType type, Long itemId, Item item, Integer stockDelta) {
+            this.type = type;
+            this.itemId = itemId;
+            this.item = item;
+            this.stockDelta = stockDelta;
+        }
+    }
+
+    /**
+     * Batch of encoded events that can be cut back to the end of the last complete event.
+     */
+    private static final class BatchBuffer extends ByteArrayOutputStream {
+
+        void truncate(int size) {
+            count = size;
+        }
+    }
+}
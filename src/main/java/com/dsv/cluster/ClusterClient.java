@@ -0,0 +1,275 @@
+package com.dsv.cluster;
+
+import com.dsv.dto.ApiResponse;
+import com.dsv.dto.ItemPatch;
+import com.dsv.dto.ItemQuery;
+import com.dsv.dto.ItemSuggestion;
+import com.dsv.dto.QueryResult;
+import com.dsv.dto.ReservationRequest;
+import com.dsv.dto.StockAvailability;
+import com.dsv.entity.Item;
+import com.dsv.entity.Reservation;
+import com.dsv.exception.NodeUnavailableException;
+import com.dsv.exception.RemoteRequestException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * HTTP client for the Item API of the other cluster nodes.
+ * Every request is marked as forwarded with the cluster secret and this node's topology
+ * fingerprint, so the receiving node serves it from its own partition.
+ */
+public class ClusterClient {
+
+    /** Marks a request sent by another node; it must be answered locally. Carries the cluster secret. */
+    public static final String FORWARDED_HEADER = "X-Dsv-Cluster-Forwarded";
+
+    /** Carries the {@link ConsistentHashRing#fingerprint() topology fingerprint} of the sending node. */
+    public static final String TOPOLOGY_HEADER = "X-Dsv-Cluster-Topology";
+
+    /** Carries the ID allocated by the node that received a create request. */
+    public static final String ITEM_ID_HEADER = "X-Dsv-Cluster-Item-Id";
+
+    private static final ParameterizedTypeReference<ApiResponse<Item>> ITEM =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<List<Item>>> ITEM_LIST =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<Boolean>> BOOLEAN =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<Long>> LONG =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<List<ItemSuggestion>>> SUGGESTION_LIST =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<QueryResult>> QUERY_RESULT =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<Reservation>> RESERVATION =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<StockAvailability>> AVAILABILITY =
+            new ParameterizedTypeReference<>() {};
+
+    private final List<String> nodes;
+    private final List<RestClient> clients = new ArrayList<>();
+
+    public ClusterClient(List<String> nodes, RestClient.Builder builder, Duration timeout,
+                         String secret, String topology) {
+        this.nodes = nodes;
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeout);
+        for (String node : nodes) {
+            clients.add(builder.clone()
+                    .baseUrl(node)
+                    .requestFactory(requestFactory)
+                    .defaultHeader(FORWARDED_HEADER, secret)
+                    .defaultHeader(TOPOLOGY_HEADER, topology)
+                    .build());
+        }
+    }
+
+    public Optional<Item> getItem(int node, long id) {
+        return call(node, client -> notFoundAsEmpty(() -> client.get()
+                .uri("/api/items/{id}", id)
+                .retrieve()
+                .body(ITEM)));
+    }
+
+    public Item createItem(int node, Item item) {
+        return call(node, client -> client.post()
+                .uri("/api/items")
+                .header(ITEM_ID_HEADER, String.valueOf(item.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(item)
+                .retrieve()
+                .body(ITEM)
+                .getData());
+    }
+
+    public long insertImported(int node, List<Item> items) {
+        return call(node, client -> client.post()
+                .uri("/api/cluster/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(items)
+                .retrieve()
+                .body(LONG)
+                .getData());
+    }
+
+    public Optional<Item> updateItem(int node, long id, Item item) {
+        return call(node, client -> notFoundAsEmpty(() -> client.put()
+                .uri("/api/items/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(item)
+                .retrieve()
+                .body(ITEM)));
+    }
+
+    public Optional<Item> patchItem(int node, long id, ItemPatch patch) {
+        return call(node, client -> notFoundAsEmpty(() -> client.patch()
+                .uri("/api/items/{id}", id)
+                .contentType(MediaType.valueOf(ItemPatch.MEDIA_TYPE))
+                .body(patch)
+                .retrieve()
+                .body(ITEM)));
+    }
+
+    public boolean deleteItem(int node, long id) {
+        return call(node, client -> {
+            try {
+                client.delete().uri("/api/items/{id}", id).retrieve().toBodilessEntity();
+                return true;
+            } catch (HttpClientErrorException.NotFound ex) {
+                return false;
+            }
+        });
+    }
+
+    public boolean isInStock(int node, long id) {
+        return call(node, client -> {
+            try {
+                return Boolean.TRUE.equals(client.get()
+                        .uri("/api/items/{id}/in-stock", id)
+                        .retrieve()
+                        .body(BOOLEAN)
+                        .getData());
+            } catch (HttpClientErrorException.NotFound ex) {
+                return false;
+            }
+        });
+    }
+
+    public Optional<Item> updateStock(int node, long id, int quantity) {
+        return call(node, client -> notFoundAsEmpty(() -> client.patch()
+                .uri("/api/items/{id}/stock", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(quantity)
+                .retrieve()
+                .body(ITEM)));
+    }
+
+    public List<Item> getAllItems(int node) {
+        return call(node, client -> client.get()
+                .uri("/api/items")
+                .retrieve()
+                .body(ITEM_LIST)
+                .getData());
+    }
+
+    public List<Item> getItemsByCategory(int node, String category) {
+        return call(node, client -> client.get()
+                .uri("/api/items/category/{category}", category)
+                .retrieve()
+                .body(ITEM_LIST)
+                .getData());
+    }
+
+    public List<Item> getLowStockItems(int node, int threshold, int limit) {
+        return call(node, client -> client.get()
+                .uri("/api/items/low-stock?threshold={threshold}&limit={limit}", threshold, limit)
+                .retrieve()
+                .body(ITEM_LIST)
+                .getData());
+    }
+
+    public List<ItemSuggestion> suggestItems(int node, String prefix, int limit) {
+        return call(node, client -> client.get()
+                .uri("/api/items/suggest?prefix={prefix}&limit={limit}", prefix, limit)
+                .retrieve()
+                .body(SUGGESTION_LIST)
+                .getData());
+    }
+
+    public QueryResult queryItems(int node, ItemQuery query) {
+        return call(node, client -> client.get()
+                .uri(uri -> uri.path("/api/items/query")
+                        .queryParamIfPresent("category", Optional.ofNullable(query.getCategory()))
+                        .queryParamIfPresent("minPrice", Optional.ofNullable(query.getMinPrice()))
+                        .queryParamIfPresent("maxPrice", Optional.ofNullable(query.getMaxPrice()))
+                        .queryParamIfPresent("minStock", Optional.ofNullable(query.getMinStock()))
+                        .queryParamIfPresent("maxStock", Optional.ofNullable(query.getMaxStock()))
+                        .queryParamIfPresent("name", Optional.ofNullable(query.getName()))
+                        .queryParam("sort", query.getSort())
+                        .queryParam("limit", query.getLimit())
+                        .queryParam("explain", query.isExplain())
+                        .build())
+                .retrieve()
+                .body(QUERY_RESULT)
+                .getData());
+    }
+
+    public long count(int node) {
+        return call(node, client -> client.get()
+                .uri("/api/items/count")
+                .retrieve()
+                .body(LONG)
+                .getData());
+    }
+
+    public Optional<Reservation> reserveStock(int node, long id, ReservationRequest request) {
+        return call(node, client -> notFoundAsEmpty(() -> client.post()
+                .uri("/api/items/{id}/reservations", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(RESERVATION)));
+    }
+
+    public Reservation confirmReservation(int node, long id, long reservationId) {
+        return call(node, client -> client.post()
+                .uri("/api/items/{id}/reservations/{reservationId}/confirm", id, reservationId)
+                .retrieve()
+                .body(RESERVATION)
+                .getData());
+    }
+
+    public Reservation cancelReservation(int node, long id, long reservationId) {
+        return call(node, client -> client.delete()
+                .uri("/api/items/{id}/reservations/{reservationId}", id, reservationId)
+                .retrieve()
+                .body(RESERVATION)
+                .getData());
+    }
+
+    public Optional<StockAvailability> getStockAvailability(int node, long id) {
+        return call(node, client -> notFoundAsEmpty(() -> client.get()
+                .uri("/api/items/{id}/availability", id)
+                .retrieve()
+                .body(AVAILABILITY)));
+    }
+
+    /**
+     * Run a request against a node. Client errors the node answered with (other than those the
+     * request handles itself) are passed on with their status; anything else means the node is
+     * unavailable.
+     */
+    private <T> T call(int node, Function<RestClient, T> request) {
+        try {
+            return request.apply(clients.get(node));
+        } catch (HttpClientErrorException ex) {
+            ApiResponse<?> body = ex.getResponseBodyAs(ApiResponse.class);
+            throw new RemoteRequestException(ex.getStatusCode(),
+                    body != null && body.getMessage() != null ? body.getMessage() : ex.getStatusText());
+        } catch (RestClientException ex) {
+            throw new NodeUnavailableException(nodes.get(node), ex);
+        }
+    }
+
+    private static <T> Optional<T> notFoundAsEmpty(Supplier<ApiResponse<T>> request) {
+        try {
+            return Optional.ofNullable(request.get().getData());
+        } catch (HttpClientErrorException.NotFound ex) {
+            return Optional.empty();
+        }
+    }
+}
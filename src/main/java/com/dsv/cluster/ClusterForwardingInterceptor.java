@@ -0,0 +1,54 @@
+package com.dsv.cluster;
+
+import com.dsv.exception.ForwardingRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Authenticates requests forwarded by other cluster nodes.
+ *
+ * A forwarded request carries the cluster secret in {@link ClusterClient#FORWARDED_HEADER} and the
+ * sender's topology fingerprint in {@link ClusterClient#TOPOLOGY_HEADER}. Only a request with the
+ * right secret and the same topology is marked as forwarded and served from the local partition;
+ * a request that carries the header with anything else is rejected, so clients cannot bypass
+ * routing or choose item IDs.
+ */
+public class ClusterForwardingInterceptor implements HandlerInterceptor {
+
+    static final String FORWARDED_ATTRIBUTE = ClusterForwardingInterceptor.class.getName() + ".forwarded";
+
+    private final byte[] secret;
+    private final String topology;
+
+    public ClusterForwardingInterceptor(String secret, String topology) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.topology = topology;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String presented = request.getHeader(ClusterClient.FORWARDED_HEADER);
+        if (presented == null) {
+            return true;
+        }
+        if (!MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new ForwardingRejectedException("Forwarded request with an invalid cluster secret");
+        }
+        if (!topology.equals(request.getHeader(ClusterClient.TOPOLOGY_HEADER))) {
+            throw new ForwardingRejectedException("Forwarded request from a node with a different cluster topology");
+        }
+        request.setAttribute(FORWARDED_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * @return true if the request was authenticated as forwarded by another node
+     */
+    static boolean isForwarded(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(FORWARDED_ATTRIBUTE));
+    }
+}
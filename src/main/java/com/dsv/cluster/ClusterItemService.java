@@ -0,0 +1,398 @@
+package com.dsv.cluster;
+
+import com.dsv.dto.ItemPage;
+import com.dsv.dto.ItemPatch;
+import com.dsv.dto.ItemQuery;
+import com.dsv.dto.ItemSuggestion;
+import com.dsv.dto.QueryResult;
+import com.dsv.dto.ReservationRequest;
+import com.dsv.dto.StockAvailability;
+import com.dsv.entity.Item;
+import com.dsv.entity.Reservation;
+import com.dsv.exception.ForwardingRejectedException;
+import com.dsv.exception.InvalidRequestException;
+import com.dsv.repository.ItemRepository;
+import com.dsv.service.ItemService;
+import com.dsv.service.impl.ItemServiceImpl;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Cluster-aware ItemService: partitions items across nodes by consistent hashing of their ID.
+ *
+ * Requests for a single item are served locally when this node owns the ID and forwarded to the
+ * owner otherwise. List, category and count queries fan out to every node and merge the results.
+ * Each node generates IDs from its own interleaved range (offset = node index + 1,
+ * stride = node count), so IDs never collide; a new item is stored on the owner of its ID.
+ * Requests forwarded by another node are authenticated by {@link ClusterForwardingInterceptor}
+ * and always answered from the local partition. Bulk imports are split the same way: each row
+ * gets an ID from the importing node's range and is stored on the owner of that ID.
+ *
+ * The cluster size is fixed: items are not migrated when the node list changes, and the ID stride
+ * depends on the node count. Nodes refuse forwarded requests from nodes with a different
+ * {@link ConsistentHashRing#fingerprint() topology}; changing the node list means starting every
+ * node with the new list and empty data.
+ */
+@Service
+@Lazy(false)
+@Primary
+@ConditionalOnProperty(name = "dsv.cluster.enabled", havingValue = "true")
+public class ClusterItemService implements ItemService {
+
+    private static final int IMPORT_BATCH_SIZE = 10_000;
+
+    private final ItemServiceImpl local;
+    private final ItemRepository itemRepository;
+    private final ConsistentHashRing ring;
+    private final ClusterClient client;
+    private final int self;
+    private final ExecutorService fanOutExecutor;
+
+    public ClusterItemService(ItemServiceImpl local,
+                              ItemRepository itemRepository,
+                              RestClient.Builder restClientBuilder,
+                              @Value("${dsv.cluster.nodes}") List<String> nodes,
+                              @Value("${dsv.cluster.self-index}") int self,
+                              @Value("${dsv.cluster.virtual-nodes:128}") int virtualNodes,
+                              @Value("${dsv.cluster.timeout-millis:2000}") long timeoutMillis,
+                              @Value("${dsv.cluster.secret}") String secret) {
+        if (self < 0 || self >= nodes.size()) {
+            throw new IllegalArgumentException("dsv.cluster.self-index must point into dsv.cluster.nodes");
+        }
+        if (secret.isBlank()) {
+            throw new IllegalArgumentException("dsv.cluster.secret must be set in cluster mode");
+        }
+        this.local = local;
+        this.itemRepository = itemRepository;
+        this.ring = new ConsistentHashRing(nodes, virtualNodes);
+        this.client = new ClusterClient(nodes, restClientBuilder, Duration.ofMillis(timeoutMillis),
+                secret, ring.fingerprint());
+        this.self = self;
+        this.fanOutExecutor = Executors.newFixedThreadPool(Math.max(2, nodes.size() * 4), runnable -> {
+            Thread thread = new Thread(runnable, "cluster-fan-out");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        itemRepository.configureIdAllocation(self + 1, nodes.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    public int getSelfIndex() {
+        return self;
+    }
+
+    @Override
+    public Item createItem(Item item) {
+        HttpServletRequest forwarded = forwardedRequest();
+        if (forwarded != null) {
+            String id = forwarded.getHeader(ClusterClient.ITEM_ID_HEADER);
+            if (id == null) {
+                throw new InvalidRequestException("Forwarded create without " + ClusterClient.ITEM_ID_HEADER);
+            }
+            item.setId(Long.valueOf(id));
+            if (ring.ownerOf(item.getId()) != self) {
+                throw new InvalidRequestException("Item " + id + " is not owned by this node");
+            }
+            return local.insertItem(item);
+        }
+
+        item.setId(itemRepository.allocateId());
+        int owner = ring.ownerOf(item.getId());
+        if (owner == self) {
+            return local.insertItem(item);
+        }
+        return client.createItem(owner, item);
+    }
+
+    /**
+     * Store imported items on the nodes owning their IDs. IDs are allocated from this node's range;
+     * every other node receives its share in batches of {@value #IMPORT_BATCH_SIZE} items.
+     * If a node fails its batch the import fails, but items already stored on other nodes stay.
+     *
+     * @param items validated items without IDs
+     */
+    public void importItems(List<Item> items) {
+        List<List<Item>> shares = new ArrayList<>(ring.getNodes().size());
+        for (int node = 0; node < ring.getNodes().size(); node++) {
+            shares.add(new ArrayList<>());
+        }
+        for (Item item : items) {
+            item.setId(itemRepository.allocateId());
+            shares.get(ring.ownerOf(item.getId())).add(item);
+        }
+        List<CompletableFuture<Long>> sent = new ArrayList<>();
+        for (int node = 0; node < shares.size(); node++) {
+            int target = node;
+            List<Item> share = shares.get(node);
+            for (int from = 0; node != self && from < share.size(); from += IMPORT_BATCH_SIZE) {
+                List<Item> batch = share.subList(from, Math.min(share.size(), from + IMPORT_BATCH_SIZE));
+                sent.add(CompletableFuture.supplyAsync(() -> client.insertImported(target, batch), fanOutExecutor));
+            }
+        }
+        itemRepository.insertAll(shares.get(self));
+        join(sent);
+    }
+
+    /**
+     * Store items imported on another node. Only accepted from other nodes, and only for IDs this
+     * node owns.
+     *
+     * @param items items with their IDs set
+     * @return the number of items stored
+     */
+    public long insertImported(List<Item> items) {
+        if (!isForwarded()) {
+            throw new ForwardingRejectedException("Imported items are only accepted from other cluster nodes");
+        }
+        for (Item item : items) {
+            if (item.getId() == null || ring.ownerOf(item.getId()) != self) {
+                throw new InvalidRequestException("Item " + item.getId() + " is not owned by this node");
+            }
+        }
+        return itemRepository.insertAll(items).size();
+    }
+
+    @Override
+    public Optional<Item> getItemById(Long id) {
+        return route(id, () -> local.getItemById(id), node -> client.getItem(node, id));
+    }
+
+    @Override
+    public List<Item> getAllItems() {
+        return fanOut(node -> client.getAllItems(node), local::getAllItems);
+    }
+
+    @Override
+    public Optional<Item> updateItem(Long id, Item item) {
+        return route(id, () -> local.updateItem(id, item), node -> client.updateItem(node, id, item));
+    }
+
+    @Override
+    public Optional<Item> patchItem(Long id, ItemPatch patch) {
+        return route(id, () -> local.patchItem(id, patch), node -> client.patchItem(node, id, patch));
+    }
+
+    @Override
+    public boolean deleteItem(Long id) {
+        return route(id, () -> local.deleteItem(id), node -> client.deleteItem(node, id));
+    }
+
+    @Override
+    public boolean itemExists(Long id) {
+        return getItemById(id).isPresent();
+    }
+
+    @Override
+    public long getTotalItemCount() {
+        if (isForwarded()) {
+            return local.getTotalItemCount();
+        }
+        List<CompletableFuture<Long>> counts = new ArrayList<>();
+        for (int node = 0; node < ring.getNodes().size(); node++) {
+            int target = node;
+            if (node != self) {
+                counts.add(CompletableFuture.supplyAsync(() -> client.count(target), fanOutExecutor));
+            }
+        }
+        long total = local.getTotalItemCount();
+        for (long count : join(counts)) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public List<Item> getItemsByCategory(String category) {
+        return fanOut(node -> client.getItemsByCategory(node, category), () -> local.getItemsByCategory(category));
+    }
+
+    @Override
+    public boolean isInStock(Long id) {
+        return route(id, () -> local.isInStock(id), node -> client.isInStock(node, id));
+    }
+
+    @Override
+    public Optional<Item> updateStock(Long id, Integer quantity) {
+        return route(id, () -> local.updateStock(id, quantity), node -> client.updateStock(node, id, quantity));
+    }
+
+    @Override
+    public ItemPage getItemsPage(Long version, Long afterId, int limit) {
+        if (isForwarded()) {
+            return local.getItemsPage(version, afterId, limit);
+        }
+        // Snapshot versions are per node, so there is no cluster-wide snapshot to page through.
+        throw new InvalidRequestException("Snapshot pagination is not supported in cluster mode");
+    }
+
+    @Override
+    public Optional<Reservation> reserveStock(Long id, Integer quantity, Long ttlSeconds) {
+        return route(id, () -> local.reserveStock(id, quantity, ttlSeconds), node -> {
+            ReservationRequest request = new ReservationRequest();
+            request.setQuantity(quantity);
+            request.setTtlSeconds(ttlSeconds);
+            return client.reserveStock(node, id, request);
+        });
+    }
+
+    @Override
+    public Reservation confirmReservation(Long id, Long reservationId) {
+        return route(id, () -> local.confirmReservation(id, reservationId),
+                node -> client.confirmReservation(node, id, reservationId));
+    }
+
+    @Override
+    public Reservation cancelReservation(Long id, Long reservationId) {
+        return route(id, () -> local.cancelReservation(id, reservationId),
+                node -> client.cancelReservation(node, id, reservationId));
+    }
+
+    @Override
+    public Optional<StockAvailability> getStockAvailability(Long id) {
+        return route(id, () -> local.getStockAvailability(id), node -> client.getStockAvailability(node, id));
+    }
+
+    @Override
+    public List<Item> getLowStockItems(int threshold, int limit) {
+        List<Item> merged = fanOut(node -> client.getLowStockItems(node, threshold, limit),
+                () -> local.getLowStockItems(threshold, limit));
+        merged.sort(Comparator.comparing(Item::getStock).thenComparing(Item::getId));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    @Override
+    public List<ItemSuggestion> suggestItems(String prefix, int limit) {
+        List<ItemSuggestion> own = local.suggestItems(prefix, limit);
+        if (isForwarded()) {
+            return own;
+        }
+        List<CompletableFuture<List<ItemSuggestion>>> parts = new ArrayList<>();
+        for (int node = 0; node < ring.getNodes().size(); node++) {
+            int target = node;
+            if (node != self) {
+                parts.add(CompletableFuture.supplyAsync(() -> client.suggestItems(target, prefix, limit), fanOutExecutor));
+            }
+        }
+        List<ItemSuggestion> merged = new ArrayList<>(own);
+        for (List<ItemSuggestion> part : join(parts)) {
+            merged.addAll(part);
+        }
+        merged.sort(ItemSuggestion.RANKING);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Every node plans and runs the query on its own partition; the plan returned is this node's.
+     */
+    @Override
+    public QueryResult queryItems(ItemQuery query) {
+        QueryResult own = local.queryItems(query);
+        if (isForwarded()) {
+            return own;
+        }
+        List<CompletableFuture<QueryResult>> parts = new ArrayList<>();
+        for (int node = 0; node < ring.getNodes().size(); node++) {
+            int target = node;
+            if (node != self) {
+                parts.add(CompletableFuture.supplyAsync(() -> client.queryItems(target, query), fanOutExecutor));
+            }
+        }
+        List<Item> merged = new ArrayList<>(own.getItems());
+        for (QueryResult part : join(parts)) {
+            merged.addAll(part.getItems());
+        }
+        merged.sort(query.comparator());
+        if (merged.size() > query.getLimit()) {
+            merged = new ArrayList<>(merged.subList(0, query.getLimit()));
+        }
+        return new QueryResult(merged, own.getPlan());
+    }
+
+    private <T> T route(long id, Supplier<T> localCall, IntFunction<T> remoteCall) {
+        int owner = ring.ownerOf(id);
+        if (owner == self || isForwarded()) {
+            return localCall.get();
+        }
+        return remoteCall.apply(owner);
+    }
+
+    private List<Item> fanOut(IntFunction<List<Item>> remoteCall, Supplier<List<Item>> localCall) {
+        if (isForwarded()) {
+            return localCall.get();
+        }
+        List<CompletableFuture<List<Item>>> parts = new ArrayList<>();
+        for (int node = 0; node < ring.getNodes().size(); node++) {
+            int target = node;
+            if (node != self) {
+                parts.add(CompletableFuture.supplyAsync(() -> remoteCall.apply(target), fanOutExecutor));
+            }
+        }
+        List<Item> merged = new ArrayList<>(localCall.get());
+        for (List<Item> part : join(parts)) {
+            merged.addAll(part);
+        }
+        merged.sort(Comparator.comparing(Item::getId));
+        return merged;
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+        return results;
+    }
+
+    private static boolean isForwarded() {
+        return forwardedRequest() != null;
+    }
+
+    /**
+     * @return the current request if it was authenticated as forwarded by another node, else null
+     */
+    private static HttpServletRequest forwardedRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes
+                && ClusterForwardingInterceptor.isForwarded(servletAttributes.getRequest())) {
+            return servletAttributes.getRequest();
+        }
+        return null;
+    }
+}
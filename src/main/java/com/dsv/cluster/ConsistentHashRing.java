@@ -0,0 +1,77 @@
+package com.dsv.cluster;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring mapping item IDs to cluster nodes.
+ *
+ * Every node is placed on the ring at {@code virtualNodes} positions derived from its URL, so
+ * positions do not depend on the order nodes are listed in. An ID belongs to the first node
+ * position at or after the ID's hash, wrapping around at the end of the ring.
+ */
+public class ConsistentHashRing {
+
+    private final List<String> nodes;
+    private final int virtualNodes;
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A ring needs at least one node and one virtual node per node");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.virtualNodes = virtualNodes;
+        for (int node = 0; node < nodes.size(); node++) {
+            long seed = nodes.get(node).hashCode();
+            for (int v = 0; v < virtualNodes; v++) {
+                ring.putIfAbsent(mix(seed * 31 + v), node);
+            }
+        }
+    }
+
+    /**
+     * @param id an item ID
+     * @return index of the node owning the ID
+     */
+    public int ownerOf(long id) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(mix(id));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return ring positions mapped to node indexes, for clients that route requests themselves
+     */
+    public NavigableMap<Long, Integer> getPositions() {
+        return Collections.unmodifiableNavigableMap(ring);
+    }
+
+    /**
+     * Identifies the node list and virtual node count: nodes with the same fingerprint route every
+     * ID to the same node and interleave their generated IDs with the same stride.
+     *
+     * @return the fingerprint as a hex string
+     */
+    public String fingerprint() {
+        return Long.toHexString(mix(nodes.hashCode() * 31L + virtualNodes));
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3; spreads sequential IDs evenly over the ring.
+     */
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,71 @@
+package com.dsv.config;
+
+import com.dsv.admission.AdaptiveConcurrencyLimiter;
+import com.dsv.admission.AdmissionControlInterceptor;
+import com.dsv.admission.RequestPriority.Priority;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires adaptive admission control in front of the Item API
+ * and exports the limiter state as metrics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dsv.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    @Value("${dsv.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public AdmissionControlConfig(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionControlInterceptor(limiter, retryAfterSeconds))
+                .addPathPatterns("/api/**");
+    }
+
+    @Configuration
+    static class LimiterConfig {
+
+        @Bean
+        AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+                @Value("${dsv.admission.initial-limit:64}") int initialLimit,
+                @Value("${dsv.admission.min-limit:4}") int minLimit,
+                @Value("${dsv.admission.max-limit:512}") int maxLimit,
+                @Value("${dsv.admission.latency-tolerance:2.0}") double latencyTolerance,
+                @Value("${dsv.admission.queue-size:4}") double queueSize,
+                @Value("${dsv.admission.smoothing:0.2}") double smoothing,
+                @Value("${dsv.admission.baseline-window-millis:30000}") long baselineWindowMillis,
+                MeterRegistry meterRegistry) {
+
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    initialLimit, minLimit, maxLimit, latencyTolerance, queueSize, smoothing, baselineWindowMillis);
+
+            Gauge.builder("dsv.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .register(meterRegistry);
+            Gauge.builder("dsv.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                    .description("Requests currently being served")
+                    .register(meterRegistry);
+            for (Priority priority : Priority.values()) {
+                FunctionCounter.builder("dsv.admission.rejected", limiter, l -> l.getRejectedCount(priority))
+                        .description("Requests rejected by admission control")
+                        .tag("priority", priority.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+            return limiter;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.dsv.config;
+
+import com.dsv.cluster.ClusterForwardingInterceptor;
+import com.dsv.cluster.ClusterItemService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Authenticates requests that other cluster nodes forward to the Item API.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dsv.cluster.enabled", havingValue = "true")
+public class ClusterConfig implements WebMvcConfigurer {
+
+    private final ClusterItemService clusterItemService;
+    private final String secret;
+
+    public ClusterConfig(ClusterItemService clusterItemService, @Value("${dsv.cluster.secret}") String secret) {
+        this.clusterItemService = clusterItemService;
+        this.secret = secret;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ClusterForwardingInterceptor(secret, clusterItemService.getRing().fingerprint()))
+                .addPathPatterns("/api/items", "/api/items/**", "/api/cluster/items");
+    }
+}
@@ -0,0 +1,28 @@
+package com.dsv.config;
+
+import com.dsv.replication.FollowerReadInterceptor;
+import com.dsv.replication.ReplicationFollower;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Restricts the Item API of a follower replica to bounded-lag reads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dsv.replication.role", havingValue = "follower")
+public class ReplicationConfig implements WebMvcConfigurer {
+
+    private final ReplicationFollower follower;
+
+    public ReplicationConfig(ReplicationFollower follower) {
+        this.follower = follower;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new FollowerReadInterceptor(follower))
+                .addPathPatterns("/api/items", "/api/items/**");
+    }
+}
@@ -0,0 +1,101 @@
+package com.dsv.controller;
+
+import com.dsv.admission.RequestPriority;
+import com.dsv.admission.RequestPriority.Priority;
+import com.dsv.cluster.ClusterItemService;
+import com.dsv.cluster.ConsistentHashRing;
+import com.dsv.dto.ApiResponse;
+import com.dsv.dto.MessageTemplate;
+import com.dsv.dto.ClusterTopology;
+import com.dsv.entity.Item;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller exposing the cluster routing map, so clients can send
+ * requests straight to the node owning an item, and receiving the rows of
+ * bulk imports run on other nodes.
+ *
+ * Base URL: /api/cluster
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@ConditionalOnProperty(name = "dsv.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private static final MessageTemplate ITEMS_STORED = MessageTemplate.of("{} imported items stored");
+    private static final MessageTemplate OWNER_RETRIEVED = MessageTemplate.of("Owner of item {} retrieved successfully");
+
+    private final ClusterItemService clusterItemService;
+
+    public ClusterController(ClusterItemService clusterItemService) {
+        this.clusterItemService = clusterItemService;
+    }
+
+    /**
+     * Get the routing map
+     *
+     * GET /api/cluster/topology
+     *
+     * @return ResponseEntity with node URLs and ring positions and 200 OK status
+     */
+    @GetMapping("/topology")
+    @RequestPriority(Priority.CRITICAL)
+    public ResponseEntity<ApiResponse<ClusterTopology>> getTopology() {
+        ConsistentHashRing ring = clusterItemService.getRing();
+        ClusterTopology topology = new ClusterTopology(
+                ring.getNodes(), clusterItemService.getSelfIndex(), ring.getPositions());
+
+        ApiResponse<ClusterTopology> response = ApiResponse.success(
+                "Cluster topology retrieved successfully",
+                topology
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the node owning an item ID
+     *
+     * GET /api/cluster/owner/{id}
+     *
+     * @param id the item ID
+     * @return ResponseEntity with the owner's base URL and 200 OK status
+     */
+    @GetMapping("/owner/{id}")
+    @RequestPriority(Priority.CRITICAL)
+    public ResponseEntity<ApiResponse<String>> getOwner(@PathVariable Long id) {
+        ConsistentHashRing ring = clusterItemService.getRing();
+
+        ApiResponse<String> response = ApiResponse.success(
+                OWNER_RETRIEVED,
+                ring.getNodes().get(ring.ownerOf(id)),
+                id
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Store items imported on another node; only accepted from other cluster nodes
+     *
+     * POST /api/cluster/items
+     *
+     * @param items the imported items owned by this node, with their IDs set
+     * @return ResponseEntity with the number of items stored and 200 OK status
+     */
+    @PostMapping("/items")
+    @RequestPriority(Priority.SHEDDABLE)
+    public ResponseEntity<ApiResponse<Long>> insertImported(@RequestBody List<Item> items) {
+        long stored = clusterItemService.insertImported(items);
+
+        ApiResponse<Long> response = ApiResponse.success(ITEMS_STORED, stored, stored);
+        return ResponseEntity.ok(response);
+    }
+}
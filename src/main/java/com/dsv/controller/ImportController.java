@@ -0,0 +1,76 @@
+package com.dsv.controller;
+
+import com.dsv.admission.RequestPriority;
+import com.dsv.admission.RequestPriority.Priority;
+import com.dsv.dto.ApiResponse;
+import com.dsv.dto.MessageTemplate;
+import com.dsv.dto.ImportResult;
+import com.dsv.exception.InvalidRequestException;
+import com.dsv.importer.BulkItemImporter;
+import com.dsv.importer.ImportFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * REST Controller for bulk item imports.
+ * Files are read from the server-side import directory ({@code dsv.import.directory}).
+ *
+ * Base URL: /api/items/import
+ */
+@RestController
+@RequestMapping("/api/items/import")
+public class ImportController {
+
+    private static final MessageTemplate IMPORT_FINISHED = MessageTemplate.of("Import finished. Imported: {}, failed: {}");
+
+    private final BulkItemImporter importer;
+    private final Path importDirectory;
+
+    public ImportController(BulkItemImporter importer,
+                            @Value("${dsv.import.directory:imports}") String importDirectory) {
+        this.importer = importer;
+        this.importDirectory = Paths.get(importDirectory).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Import items from a file in the import directory
+     *
+     * POST /api/items/import?file=catalog.csv&format=csv
+     *
+     * @param file file name relative to the import directory
+     * @param format csv or ndjson; derived from the file extension when omitted
+     * @return ResponseEntity with the import summary and 200 OK status
+     */
+    @PostMapping
+    @RequestPriority(Priority.SHEDDABLE)
+    public ResponseEntity<ApiResponse<ImportResult>> importItems(
+            @RequestParam String file,
+            @RequestParam(required = false) String format) {
+
+        Path path = importDirectory.resolve(file).normalize();
+        if (!path.startsWith(importDirectory)) {
+            throw new InvalidRequestException("Import file must be inside the import directory");
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new InvalidRequestException("Import file not found: " + file);
+        }
+
+        ImportResult result = importer.importFile(path, ImportFormat.resolve(format, path));
+
+        ApiResponse<ImportResult> response = ApiResponse.success(
+                IMPORT_FINISHED,
+                result,
+                result.getImportedRows(),
+                result.getFailedRows()
+        );
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,16 +1,32 @@
 package com.dsv.controller;
 
+import com.dsv.admission.RequestPriority;
+import com.dsv.admission.RequestPriority.Priority;
 import com.dsv.dto.ApiResponse;
+import com.dsv.dto.ItemPage;
+import com.dsv.dto.ItemPatch;
+import com.dsv.dto.ItemQuery;
+import com.dsv.dto.ItemSuggestion;
+import com.dsv.dto.MessageTemplate;
+import com.dsv.dto.QueryResult;
+import com.dsv.dto.ReservationRequest;
+import com.dsv.dto.StockAvailability;
+import com.dsv.exception.InvalidRequestException;
 import com.dsv.exception.ItemNotFoundException;
+import com.dsv.exception.ValidationFailedException;
 import com.dsv.entity.Item;
+import com.dsv.entity.Reservation;
 import com.dsv.service.ItemService;
-import jakarta.validation.Valid;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST Controller for Item management.
@@ -23,15 +39,27 @@ import java.util.Optional;
 @CrossOrigin(origins = "*") 
 public class ItemController {
     
+    private static final MessageTemplate ITEMS_RETRIEVED = MessageTemplate.of("Items retrieved successfully. Total: {}");
+    private static final MessageTemplate LOW_STOCK_RETRIEVED =
+            MessageTemplate.of("Items with stock below {} retrieved successfully. Total: {}");
+    private static final MessageTemplate SUGGESTIONS_RETRIEVED =
+            MessageTemplate.of("Suggestions retrieved successfully. Total: {}");
+    private static final MessageTemplate CATEGORY_RETRIEVED =
+            MessageTemplate.of("Items in category '{}' retrieved successfully. Total: {}");
+    private static final MessageTemplate ITEM_DELETED = MessageTemplate.of("Item deleted successfully with id: {}");
+    
     private final ItemService itemService;
+    private final Validator validator;
     
     /**
      * Constructor injection for ItemService
      * 
      * @param itemService the service to inject
+     * @param validator validates request bodies and the fields of item patches
      */
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, Validator validator) {
         this.itemService = itemService;
+        this.validator = validator;
     }
     
     /**
@@ -43,7 +71,9 @@ public class ItemController {
      * @return ResponseEntity with created item and 201 CREATED status
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<Item>> createItem(@Valid @RequestBody Item item) {
+    @RequestPriority(Priority.STANDARD)
+    public ResponseEntity<ApiResponse<Item>> createItem(@RequestBody Item item) {
+        validate(item);
         Item createdItem = itemService.createItem(item);
         ApiResponse<Item> response = ApiResponse.success(
                 "Item created successfully", 
@@ -57,16 +87,19 @@ public class ItemController {
      * 
      * GET /api/items/{id}
      * 
+     * A miss is answered here rather than through ItemNotFoundException: this is the hottest
+     * lookup, and exception resolution allocates about as much as the rest of the miss.
+     * 
      * @param id the item ID
-     * @return ResponseEntity with item data and 200 OK status
-     * @throws ItemNotFoundException if item not found
+     * @return ResponseEntity with item data and 200 OK status, or 404 NOT FOUND if item not found
      */
     @GetMapping("/{id}")
+    @RequestPriority(Priority.CRITICAL)
     public ResponseEntity<ApiResponse<Item>> getItemById(@PathVariable Long id) {
         Optional<Item> item = itemService.getItemById(id);
         
         if (item.isEmpty()) {
-            throw new ItemNotFoundException(id);
+            return new ResponseEntity<>(ApiResponse.error(ItemNotFoundException.MESSAGE, id), HttpStatus.NOT_FOUND);
         }
         
         ApiResponse<Item> response = ApiResponse.success(
@@ -84,12 +117,141 @@ public class ItemController {
      * @return ResponseEntity with list of all items and 200 OK status
      */
     @GetMapping
+    @RequestPriority(Priority.SHEDDABLE)
     public ResponseEntity<ApiResponse<List<Item>>> getAllItems() {
         List<Item> items = itemService.getAllItems();
         
         ApiResponse<List<Item>> response = ApiResponse.success(
-                "Items retrieved successfully. Total: " + items.size(), 
-                items
+                ITEMS_RETRIEVED,
+                items,
+                items.size()
+        );
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get one page of items from a consistent snapshot
+     * 
+     * GET /api/items/page?version={version}&afterId={afterId}&limit={limit}
+     * 
+     * The first request (without version) opens a snapshot; pass the returned version and
+     * nextAfterId to read the following pages of the same snapshot.
+     * 
+     * @param version snapshot version from a previous page (optional)
+     * @param afterId last ID of the previous page (optional)
+     * @param limit page size, 1 to 1000 (default 100)
+     * @return ResponseEntity with the page and 200 OK status
+     */
+    @GetMapping("/page")
+    @RequestPriority(Priority.SHEDDABLE)
+    public ResponseEntity<ApiResponse<ItemPage>> getItemsPage(
+            @RequestParam(required = false) Long version,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        if (limit < 1 || limit > 1000) {
+            throw new InvalidRequestException("Limit must be between 1 and 1000");
+        }
+        
+        ItemPage page = itemService.getItemsPage(version, afterId, limit);
+        
+        ApiResponse<ItemPage> response = ApiResponse.success(
+                "Items page retrieved successfully", 
+                page
+        );
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get items with stock below a threshold
+     * 
+     * GET /api/items/low-stock?threshold={threshold}&limit={limit}
+     * 
+     * @param threshold items with stock below this value are returned
+     * @param limit maximum number of items, 1 to 1000 (default 100)
+     * @return ResponseEntity with items ordered by stock (lowest first) and 200 OK status
+     */
+    @GetMapping("/low-stock")
+    @RequestPriority(Priority.SHEDDABLE)
+    public ResponseEntity<ApiResponse<List<Item>>> getLowStockItems(
+            @RequestParam int threshold,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        if (threshold < 0) {
+            throw new InvalidRequestException("Threshold cannot be negative");
+        }
+        if (limit < 1 || limit > 1000) {
+            throw new InvalidRequestException("Limit must be between 1 and 1000");
+        }
+        
+        List<Item> items = itemService.getLowStockItems(threshold, limit);
+        
+        ApiResponse<List<Item>> response = ApiResponse.success(
+                LOW_STOCK_RETRIEVED,
+                items,
+                threshold,
+                items.size()
+        );
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Suggest item names for autocomplete
+     * 
+     * GET /api/items/suggest?prefix={prefix}&limit={limit}
+     * 
+     * @param prefix the typed prefix; case, accents and extra whitespace are ignored
+     * @param limit maximum number of suggestions (default 10)
+     * @return ResponseEntity with suggestions, shortest names first, and 200 OK status
+     */
+    @GetMapping("/suggest")
+    @RequestPriority(Priority.CRITICAL)
+    public ResponseEntity<ApiResponse<List<ItemSuggestion>>> suggestItems(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        if (limit < 1) {
+            throw new InvalidRequestException("Limit must be at least 1");
+        }
+        
+        List<ItemSuggestion> suggestions = itemService.suggestItems(prefix, limit);
+        
+        ApiResponse<List<ItemSuggestion>> response = ApiResponse.success(
+                SUGGESTIONS_RETRIEVED,
+                suggestions,
+                suggestions.size()
+        );
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Query items by a combination of filters
+     * 
+     * GET /api/items/query?category={category}&minPrice={min}&maxPrice={max}&minStock={min}&maxStock={max}
+     *     &name={prefix}&sort={field}&limit={limit}&explain={explain}
+     * 
+     * @param query the filters (all optional, bounds inclusive), sort field (id, name, price or stock;
+     *              prefix '-' for descending, default id), limit 1 to 1000 (default 100) and whether
+     *              to include the query plan
+     * @return ResponseEntity with the matching items and 200 OK status
+     */
+    @GetMapping("/query")
+    @RequestPriority(Priority.SHEDDABLE)
+    public ResponseEntity<ApiResponse<QueryResult>> queryItems(ItemQuery query) {
+        
+        if (query.getLimit() < 1 || query.getLimit() > 1000) {
+            throw new InvalidRequestException("Limit must be between 1 and 1000");
+        }
+        if (query.comparator() == null) {
+            throw new InvalidRequestException("Sort must be id, name, price or stock, optionally prefixed with '-'");
+        }
+        
+        QueryResult result = itemService.queryItems(query);
+        
+        ApiResponse<QueryResult> response = ApiResponse.success(
+                ITEMS_RETRIEVED,
+                result,
+                result.getItems().size()
         );
         return ResponseEntity.ok(response);
     }
@@ -105,10 +267,12 @@ public class ItemController {
      * @throws ItemNotFoundException if item not found
      */
     @PutMapping("/{id}")
+    @RequestPriority(Priority.STANDARD)
     public ResponseEntity<ApiResponse<Item>> updateItem(
             @PathVariable Long id,
-            @Valid @RequestBody Item item) {
+            @RequestBody Item item) {
         
+        validate(item);
         Optional<Item> updatedItem = itemService.updateItem(id, item);
         
         if (updatedItem.isEmpty()) {
@@ -122,6 +286,44 @@ public class ItemController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Change only the given fields of an item (JSON Merge Patch)
+     * 
+     * PATCH /api/items/{id} with Content-Type application/merge-patch+json
+     * 
+     * Fields missing from the patch keep their value, fields set to null are cleared. Only the
+     * patched fields are validated.
+     * 
+     * @param id the item ID to patch
+     * @param json the patch, e.g. {"price": 19.99, "description": null}
+     * @return ResponseEntity with patched item and 200 OK status
+     * @throws ItemNotFoundException if item not found
+     */
+    @PatchMapping(value = "/{id}", consumes = ItemPatch.MEDIA_TYPE)
+    @RequestPriority(Priority.STANDARD)
+    public ResponseEntity<ApiResponse<Item>> patchItem(
+            @PathVariable Long id,
+            @RequestBody JsonNode json) {
+        
+        ItemPatch patch = ItemPatch.from(json);
+        Set<ConstraintViolation<Item>> violations = patch.validate(validator);
+        if (!violations.isEmpty()) {
+            throw new ValidationFailedException(violations);
+        }
+        
+        Optional<Item> patchedItem = itemService.patchItem(id, patch);
+        
+        if (patchedItem.isEmpty()) {
+            throw new ItemNotFoundException(id);
+        }
+        
+        ApiResponse<Item> response = ApiResponse.success(
+                "Item patched successfully", 
+                patchedItem.get()
+        );
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Delete an item by ID
      * 
@@ -132,6 +334,7 @@ public class ItemController {
      * @throws ItemNotFoundException if item not found
      */
     @DeleteMapping("/{id}")
+    @RequestPriority(Priority.STANDARD)
     public ResponseEntity<ApiResponse<Object>> deleteItem(@PathVariable Long id) {
         boolean deleted = itemService.deleteItem(id);
         
@@ -140,7 +343,9 @@ public class ItemController {
         }
         
         ApiResponse<Object> response = ApiResponse.success(
-                "Item deleted successfully with id: " + id
+                ITEM_DELETED,
+                null,
+                id
         );
         return ResponseEntity.ok(response);
     }
@@ -154,14 +359,17 @@ public class ItemController {
      * @return ResponseEntity with filtered items and 200 OK status
      */
     @GetMapping("/category/{category}")
+    @RequestPriority(Priority.SHEDDABLE)
     public ResponseEntity<ApiResponse<List<Item>>> getItemsByCategory(
             @PathVariable String category) {
         
         List<Item> items = itemService.getItemsByCategory(category);
         
         ApiResponse<List<Item>> response = ApiResponse.success(
-                "Items in category '" + category + "' retrieved successfully. Total: " + items.size(), 
-                items
+                CATEGORY_RETRIEVED,
+                items,
+                category,
+                items.size()
         );
         return ResponseEntity.ok(response);
     }
@@ -176,6 +384,7 @@ public class ItemController {
      * @throws ItemNotFoundException if item not found
      */
     @GetMapping("/{id}/in-stock")
+    @RequestPriority(Priority.CRITICAL)
     public ResponseEntity<ApiResponse<Boolean>> checkInStock(@PathVariable Long id) {
         if (!itemService.itemExists(id)) {
             throw new ItemNotFoundException(id);
@@ -190,6 +399,110 @@ public class ItemController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Get stock of an item split into held and available quantity
+     * 
+     * GET /api/items/{id}/availability
+     * 
+     * @param id the item ID
+     * @return ResponseEntity with stock availability and 200 OK status
+     * @throws ItemNotFoundException if item not found
+     */
+    @GetMapping("/{id}/availability")
+    @RequestPriority(Priority.CRITICAL)
+    public ResponseEntity<ApiResponse<StockAvailability>> getAvailability(@PathVariable Long id) {
+        Optional<StockAvailability> availability = itemService.getStockAvailability(id);
+        
+        if (availability.isEmpty()) {
+            throw new ItemNotFoundException(id);
+        }
+        
+        ApiResponse<StockAvailability> response = ApiResponse.success(
+                "Stock availability retrieved successfully", 
+                availability.get()
+        );
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Hold stock of an item for a limited time
+     * 
+     * POST /api/items/{id}/reservations
+     * 
+     * @param id the item ID
+     * @param request quantity to hold and TTL in seconds (validated)
+     * @return ResponseEntity with the reservation and 201 CREATED status
+     * @throws ItemNotFoundException if item not found
+     */
+    @PostMapping("/{id}/reservations")
+    @RequestPriority(Priority.STANDARD)
+    public ResponseEntity<ApiResponse<Reservation>> reserveStock(
+            @PathVariable Long id,
+            @RequestBody ReservationRequest request) {
+        
+        validate(request);
+        Optional<Reservation> reservation = itemService.reserveStock(
+                id, request.getQuantity(), request.getTtlSeconds());
+        
+        if (reservation.isEmpty()) {
+            throw new ItemNotFoundException(id);
+        }
+        
+        ApiResponse<Reservation> response = ApiResponse.success(
+                "Stock reserved successfully", 
+                reservation.get()
+        );
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+    
+    /**
+     * Confirm a reservation, subtracting the held quantity from stock
+     * 
+     * POST /api/items/{id}/reservations/{reservationId}/confirm
+     * 
+     * @param id the item ID
+     * @param reservationId the reservation ID
+     * @return ResponseEntity with the confirmed reservation and 200 OK status
+     */
+    @PostMapping("/{id}/reservations/{reservationId}/confirm")
+    @RequestPriority(Priority.STANDARD)
+    public ResponseEntity<ApiResponse<Reservation>> confirmReservation(
+            @PathVariable Long id,
+            @PathVariable Long reservationId) {
+        
+        Reservation reservation = itemService.confirmReservation(id, reservationId);
+        
+        ApiResponse<Reservation> response = ApiResponse.success(
+                "Reservation confirmed successfully", 
+                reservation
+        );
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Cancel a reservation, releasing the held quantity
+     * 
+     * DELETE /api/items/{id}/reservations/{reservationId}
+     * 
+     * @param id the item ID
+     * @param reservationId the reservation ID
+     * @return ResponseEntity with the cancelled reservation and 200 OK status
+     */
+    @DeleteMapping("/{id}/reservations/{reservationId}")
+    @RequestPriority(Priority.STANDARD)
+    public ResponseEntity<ApiResponse<Reservation>> cancelReservation(
+            @PathVariable Long id,
+            @PathVariable Long reservationId) {
+        
+        Reservation reservation = itemService.cancelReservation(id, reservationId);
+        
+        ApiResponse<Reservation> response = ApiResponse.success(
+                "Reservation cancelled successfully", 
+                reservation
+        );
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Update stock quantity for an item
      * 
@@ -201,12 +514,13 @@ public class ItemController {
      * @throws ItemNotFoundException if item not found
      */
     @PatchMapping("/{id}/stock")
+    @RequestPriority(Priority.STANDARD)
     public ResponseEntity<ApiResponse<Item>> updateStock(
             @PathVariable Long id,
             @RequestBody Integer stock) {
         
         if (stock < 0) {
-            throw new IllegalArgumentException("Stock quantity cannot be negative");
+            throw new InvalidRequestException("Stock quantity cannot be negative");
         }
         
         Optional<Item> updatedItem = itemService.updateStock(id, stock);
@@ -230,6 +544,7 @@ public class ItemController {
      * @return ResponseEntity with total count and 200 OK status
      */
     @GetMapping("/count")
+    @RequestPriority(Priority.CRITICAL)
     public ResponseEntity<ApiResponse<Long>> getTotalCount() {
         long count = itemService.getTotalItemCount();
         
@@ -248,6 +563,7 @@ public class ItemController {
      * @return ResponseEntity with health status
      */
     @GetMapping("/health")
+    @RequestPriority(Priority.CRITICAL)
     public ResponseEntity<ApiResponse<String>> healthCheck() {
         ApiResponse<String> response = ApiResponse.success(
                 "Item API is running", 
@@ -255,4 +571,17 @@ public class ItemController {
         );
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Bean-validate a request body. Validating here instead of with @Valid skips Spring's
+     * binding-result machinery and the stack trace of MethodArgumentNotValidException.
+     * 
+     * @throws ValidationFailedException if the body violates a constraint
+     */
+    private <T> void validate(T body) {
+        Set<ConstraintViolation<T>> violations = validator.validate(body);
+        if (!violations.isEmpty()) {
+            throw new ValidationFailedException(violations);
+        }
+    }
+}
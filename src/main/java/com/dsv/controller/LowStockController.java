@@ -0,0 +1,125 @@
+package com.dsv.controller;
+
+import com.dsv.admission.RequestPriority;
+import com.dsv.admission.RequestPriority.Priority;
+import com.dsv.dto.ApiResponse;
+import com.dsv.dto.MessageTemplate;
+import com.dsv.exception.InvalidRequestException;
+import com.dsv.index.LowStockEvent;
+import com.dsv.index.StockIndex;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * REST Controller for low-stock thresholds and alerts.
+ * Thresholds are kept per node and apply to the items that node stores.
+ *
+ * Base URL: /api/items/low-stock
+ */
+@RestController
+@RequestMapping("/api/items/low-stock")
+public class LowStockController {
+
+    private static final MessageTemplate THRESHOLDS_RETRIEVED =
+            MessageTemplate.of("Low-stock thresholds retrieved successfully. Default: {}");
+    private static final MessageTemplate THRESHOLD_UPDATED =
+            MessageTemplate.of("Low-stock threshold for category '{}' updated successfully");
+
+    private final StockIndex stockIndex;
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    public LowStockController(StockIndex stockIndex) {
+        this.stockIndex = stockIndex;
+    }
+
+    /**
+     * Get the low-stock thresholds
+     *
+     * GET /api/items/low-stock/thresholds
+     *
+     * @return ResponseEntity with thresholds by category and 200 OK status
+     */
+    @GetMapping("/thresholds")
+    @RequestPriority(Priority.CRITICAL)
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> getThresholds() {
+        ApiResponse<Map<String, Integer>> response = ApiResponse.success(
+                THRESHOLDS_RETRIEVED,
+                stockIndex.getThresholds(),
+                stockIndex.getDefaultThreshold()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Set the low-stock threshold of a category
+     *
+     * PUT /api/items/low-stock/thresholds/{category}
+     *
+     * @param category the category
+     * @param threshold the new threshold (from request body)
+     * @return ResponseEntity with the threshold and 200 OK status
+     */
+    @PutMapping("/thresholds/{category}")
+    @RequestPriority(Priority.STANDARD)
+    public ResponseEntity<ApiResponse<Integer>> setThreshold(
+            @PathVariable String category,
+            @RequestBody Integer threshold) {
+
+        if (threshold < 0) {
+            throw new InvalidRequestException("Threshold cannot be negative");
+        }
+
+        stockIndex.setThreshold(category, threshold);
+
+        ApiResponse<Integer> response = ApiResponse.success(
+                THRESHOLD_UPDATED,
+                threshold,
+                category
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Stream low-stock alerts as server-sent events
+     *
+     * GET /api/items/low-stock/alerts
+     *
+     * @return an event stream with one "low-stock" event per item that dropped below its threshold
+     */
+    @GetMapping(path = "/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequestPriority(Priority.STANDARD)
+    public SseEmitter streamAlerts() {
+        SseEmitter emitter = new SseEmitter(0L);
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(ex -> subscribers.remove(emitter));
+        return emitter;
+    }
+
+    @EventListener
+    @RegisterReflectionForBinding(LowStockEvent.class)
+    public void onLowStock(LowStockEvent event) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().name("low-stock").data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.remove(emitter);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.dsv.controller;
+
+import com.dsv.admission.RequestPriority;
+import com.dsv.admission.RequestPriority.Priority;
+import com.dsv.dto.ApiResponse;
+import com.dsv.dto.ReplicationStatus;
+import com.dsv.replication.ReplicationNode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller reporting the replication state of this node.
+ *
+ * Base URL: /api/replication
+ */
+@RestController
+@RequestMapping("/api/replication")
+public class ReplicationController {
+
+    private final ObjectProvider<ReplicationNode> replicationNode;
+
+    public ReplicationController(ObjectProvider<ReplicationNode> replicationNode) {
+        this.replicationNode = replicationNode;
+    }
+
+    /**
+     * Get replication status
+     *
+     * GET /api/replication/status
+     *
+     * @return ResponseEntity with role, sequence and lag and 200 OK status
+     */
+    @GetMapping("/status")
+    @RequestPriority(Priority.CRITICAL)
+    public ResponseEntity<ApiResponse<ReplicationStatus>> getStatus() {
+        ReplicationNode node = replicationNode.getIfAvailable();
+        ReplicationStatus status = node != null
+                ? node.status()
+                : new ReplicationStatus("NONE", 0, null, null, null, null);
+
+        ApiResponse<ReplicationStatus> response = ApiResponse.success(
+                "Replication status retrieved successfully",
+                status
+        );
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,15 +1,32 @@
 package com.dsv.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Standard API response wrapper for consistent response structure.
  * Used for both success and error responses.
+ * Written by {@link ApiResponseSerializer}, which reuses the formatted timestamp and
+ * renders templated messages straight into the output.
  */
+@JsonSerialize(using = ApiResponseSerializer.class)
 public class ApiResponse<T> {
     
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    
+    /**
+     * Last timestamp handed out; shared by all responses created within the same millisecond.
+     */
+    private static volatile CachedTimestamp lastTimestamp = CachedTimestamp.of(0L, LocalDateTime.now());
+    
     private boolean success;
     private String message;
+    private MessageTemplate messageTemplate;
+    private Object[] messageArgs;
     private T data;
     private LocalDateTime timestamp;
     
@@ -17,7 +34,7 @@ public class ApiResponse<T> {
      * Default constructor
      */
     public ApiResponse() {
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = currentTimestamp();
     }
     
     /**
@@ -31,7 +48,7 @@ public class ApiResponse<T> {
         this.success = success;
         this.message = message;
         this.data = data;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = currentTimestamp();
     }
     
     /**
@@ -43,7 +60,7 @@ public class ApiResponse<T> {
     public ApiResponse(boolean success, String message) {
         this.success = success;
         this.message = message;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = currentTimestamp();
     }
     
     /**
@@ -53,6 +70,16 @@ public class ApiResponse<T> {
         return new ApiResponse<>(true, message, data);
     }
     
+    /**
+     * Static factory method for success response with data and a templated message
+     */
+    public static <T> ApiResponse<T> success(MessageTemplate message, T data, Object... args) {
+        ApiResponse<T> response = new ApiResponse<>(true, null, data);
+        response.messageTemplate = message;
+        response.messageArgs = args;
+        return response;
+    }
+    
     /**
      * Static factory method for success response without data
      */
@@ -67,6 +94,16 @@ public class ApiResponse<T> {
         return new ApiResponse<>(false, message, null);
     }
     
+    /**
+     * Static factory method for error response with a templated message
+     */
+    public static <T> ApiResponse<T> error(MessageTemplate message, Object... args) {
+        ApiResponse<T> response = new ApiResponse<>(false, null, null);
+        response.messageTemplate = message;
+        response.messageArgs = args;
+        return response;
+    }
+    
     /**
      * Static factory method for error response with data
      */
@@ -74,6 +111,53 @@ public class ApiResponse<T> {
         return new ApiResponse<>(false, message, data);
     }
     
+    /**
+     * Millisecond-granular timestamp; LocalDateTime is immutable, so one instance
+     * is reused for every response created within the same millisecond.
+     */
+    private static LocalDateTime currentTimestamp() {
+        long now = System.currentTimeMillis();
+        CachedTimestamp cached = lastTimestamp;
+        if (cached.epochMillis() == now) {
+            return cached.value();
+        }
+        LocalDateTime value = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZONE);
+        lastTimestamp = CachedTimestamp.of(now, value);
+        return value;
+    }
+    
+    /**
+     * @param timestamp a response timestamp
+     * @return its ISO-8601 text, formatted once per millisecond for timestamps handed out by this class
+     */
+    static String formatTimestamp(LocalDateTime timestamp) {
+        CachedTimestamp cached = lastTimestamp;
+        return cached.value() == timestamp ? cached.text() : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp);
+    }
+    
+    private record CachedTimestamp(long epochMillis, LocalDateTime value, String text) {
+        
+        static CachedTimestamp of(long epochMillis, LocalDateTime value) {
+            return new CachedTimestamp(epochMillis, value, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+    
+    /**
+     * Appends the message to a builder without rendering a templated message to a string first.
+     * 
+     * @return false if the response has no message
+     */
+    boolean appendMessage(StringBuilder target) {
+        if (message != null) {
+            target.append(message);
+        } else if (messageTemplate != null) {
+            messageTemplate.appendTo(target, messageArgs);
+        } else {
+            return false;
+        }
+        return true;
+    }
+    
     // Getters and Setters
     public boolean isSuccess() {
         return success;
@@ -84,11 +168,16 @@ public class ApiResponse<T> {
     }
     
     public String getMessage() {
+        if (message == null && messageTemplate != null) {
+            message = messageTemplate.format(messageArgs);
+        }
         return message;
     }
     
     public void setMessage(String message) {
         this.message = message;
+        this.messageTemplate = null;
+        this.messageArgs = null;
     }
     
     public T getData() {
@@ -0,0 +1,59 @@
+package com.dsv.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link ApiResponse} with the same fields, in the same order, as bean serialization:
+ * success, message, data and timestamp. The timestamp text is shared by all responses created
+ * within a millisecond, and templated messages are rendered into a per-thread buffer instead of a string.
+ * Timestamps are written as arrays when WRITE_DATES_AS_TIMESTAMPS is enabled, as the Java time module would.
+ */
+class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    private static final ThreadLocal<MessageBuffer> BUFFER = ThreadLocal.withInitial(MessageBuffer::new);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ApiResponseSerializer() {
+        super((Class) ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeBooleanField("success", value.isSuccess());
+        gen.writeFieldName("message");
+        MessageBuffer buffer = BUFFER.get();
+        buffer.text.setLength(0);
+        if (value.appendMessage(buffer.text)) {
+            gen.writeString(buffer.chars(), 0, buffer.text.length());
+        } else {
+            gen.writeNull();
+        }
+        provider.defaultSerializeField("data", value.getData(), gen);
+        if (value.getTimestamp() == null || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeField("timestamp", value.getTimestamp(), gen);
+        } else {
+            gen.writeStringField("timestamp", ApiResponse.formatTimestamp(value.getTimestamp()));
+        }
+        gen.writeEndObject();
+    }
+
+    private static final class MessageBuffer {
+
+        final StringBuilder text = new StringBuilder(128);
+        private char[] chars = new char[128];
+
+        char[] chars() {
+            if (chars.length < text.length()) {
+                chars = new char[text.capacity()];
+            }
+            text.getChars(0, text.length(), chars, 0);
+            return chars;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.dsv.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routing map of the cluster: node URLs and the ring positions owned by each node index.
+ * A client routes an ID by hashing it with the ring's hash function and taking
+ * the first position at or after the hash (wrapping around).
+ */
+public class ClusterTopology {
+
+    private final List<String> nodes;
+    private final int selfIndex;
+    private final Map<Long, Integer> positions;
+
+    public ClusterTopology(List<String> nodes, int selfIndex, Map<Long, Integer> positions) {
+        this.nodes = nodes;
+        this.selfIndex = selfIndex;
+        this.positions = positions;
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public int getSelfIndex() {
+        return selfIndex;
+    }
+
+    public Map<Long, Integer> getPositions() {
+        return positions;
+    }
+}
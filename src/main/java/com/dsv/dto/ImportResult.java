@@ -0,0 +1,61 @@
+package com.dsv.dto;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk import run.
+ * Only the first errors are listed; {@code failedRows} holds the full count.
+ */
+public class ImportResult {
+
+    private final String file;
+    private final String format;
+    private final long totalRows;
+    private final long importedRows;
+    private final long failedRows;
+    private final long elapsedMillis;
+    private final List<String> errors;
+
+    public ImportResult(String file, String format, long totalRows, long importedRows,
+                        long failedRows, long elapsedMillis, List<String> errors) {
+        this.file = file;
+        this.format = format;
+        this.totalRows = totalRows;
+        this.importedRows = importedRows;
+        this.failedRows = failedRows;
+        this.elapsedMillis = elapsedMillis;
+        this.errors = errors;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? importedRows * 1000 : importedRows * 1000 / elapsedMillis;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dsv.dto;
+
+import com.dsv.entity.Item;
+
+import java.util.List;
+
+/**
+ * One page of a snapshot-consistent scan over all items.
+ * Pass {@code version} and {@code nextAfterId} back to read the next page of the same snapshot;
+ * {@code nextAfterId} is null on the last page.
+ */
+public class ItemPage {
+
+    private final List<Item> items;
+    private final long version;
+    private final Long nextAfterId;
+
+    public ItemPage(List<Item> items, long version, Long nextAfterId) {
+        this.items = items;
+        this.version = version;
+        this.nextAfterId = nextAfterId;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+}
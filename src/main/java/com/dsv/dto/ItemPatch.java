@@ -0,0 +1,125 @@
+package com.dsv.dto;
+
+import com.dsv.entity.Item;
+import com.dsv.exception.InvalidRequestException;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch (RFC 7396) of an item (PATCH /api/items/{id}).
+ *
+ * Only the fields present in the patch are changed; a field set to null is cleared. Items are flat,
+ * so a patch is a single object of item fields. The ID cannot be patched.
+ */
+public class ItemPatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private static final Set<String> FIELDS = Set.of("name", "description", "price", "stock", "category");
+
+    private final Map<String, Object> changes;
+
+    private ItemPatch(Map<String, Object> changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * @param json the request body
+     * @return the patch
+     * @throws InvalidRequestException if the body is not an object of item fields with values of the
+     *         right type
+     */
+    public static ItemPatch from(JsonNode json) {
+        if (json == null || !json.isObject()) {
+            throw new InvalidRequestException("Patch must be a JSON object");
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = json.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            if (!FIELDS.contains(name)) {
+                throw new InvalidRequestException("id".equals(name)
+                        ? "Field 'id' cannot be changed"
+                        : "Unknown field '" + name + "'");
+            }
+            changes.put(name, value(name, field.getValue()));
+        }
+        return new ItemPatch(changes);
+    }
+
+    private static Object value(String field, JsonNode node) {
+        if (node.isNull()) {
+            return null;
+        }
+        switch (field) {
+            case "price" -> {
+                if (!node.isNumber()) {
+                    throw new InvalidRequestException("Field 'price' must be a number");
+                }
+                return node.doubleValue();
+            }
+            case "stock" -> {
+                if (!node.isIntegralNumber() || !node.canConvertToInt()) {
+                    throw new InvalidRequestException("Field 'stock' must be an integer");
+                }
+                return node.intValue();
+            }
+            default -> {
+                if (!node.isTextual()) {
+                    throw new InvalidRequestException("Field '" + field + "' must be a string");
+                }
+                return node.textValue();
+            }
+        }
+    }
+
+    /**
+     * @return the changed fields and their new values (null to clear), in patch order
+     */
+    @JsonValue
+    public Map<String, Object> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Check the new values against the constraints of their {@link Item} fields only; fields the
+     * patch does not touch are not validated again.
+     *
+     * @return the violations, empty if the patch is valid
+     */
+    public Set<ConstraintViolation<Item>> validate(Validator validator) {
+        Set<ConstraintViolation<Item>> violations = new HashSet<>();
+        changes.forEach((field, value) -> violations.addAll(validator.validateValue(Item.class, field, value)));
+        return violations;
+    }
+
+    /**
+     * Set the patched fields of an item.
+     */
+    public void applyTo(Item item) {
+        changes.forEach((field, value) -> {
+            switch (field) {
+                case "name" -> item.setName((String) value);
+                case "description" -> item.setDescription((String) value);
+                case "price" -> item.setPrice((Double) value);
+                case "stock" -> item.setStock((Integer) value);
+                case "category" -> item.setCategory((String) value);
+                default -> throw new IllegalStateException("Unknown field " + field);
+            }
+        });
+    }
+}
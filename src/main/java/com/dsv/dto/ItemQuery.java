@@ -0,0 +1,128 @@
+package com.dsv.dto;
+
+import com.dsv.entity.Item;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Filters, sort order and limit of a combined item query (GET /api/items/query).
+ * Every filter is optional; an item must match all filters that are set.
+ */
+public class ItemQuery {
+
+    /** Sort fields; a leading '-' sorts descending. Ties are broken by ID in the same direction. */
+    public static final Map<String, Comparator<Item>> SORT_FIELDS = Map.of(
+            "id", Comparator.comparing(Item::getId),
+            "name", Comparator.comparing(Item::getName).thenComparing(Item::getId),
+            "price", Comparator.comparing(Item::getPrice).thenComparing(Item::getId),
+            "stock", Comparator.comparing(Item::getStock).thenComparing(Item::getId));
+
+    private String category;
+    private Double minPrice;
+    private Double maxPrice;
+    private Integer minStock;
+    private Integer maxStock;
+    private String name;
+    private String sort = "id";
+    private int limit = 100;
+    private boolean explain;
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Integer getMinStock() {
+        return minStock;
+    }
+
+    public void setMinStock(Integer minStock) {
+        this.minStock = minStock;
+    }
+
+    public Integer getMaxStock() {
+        return maxStock;
+    }
+
+    public void setMaxStock(Integer maxStock) {
+        this.maxStock = maxStock;
+    }
+
+    /**
+     * @return name prefix; case, accents and extra whitespace are ignored
+     */
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+
+    /**
+     * @return the sort field without direction, lower-cased
+     */
+    public String sortField() {
+        return (isDescending() ? sort.substring(1) : sort).toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isDescending() {
+        return sort.startsWith("-");
+    }
+
+    /**
+     * @return order of the results, or null if the sort field is unknown
+     */
+    public Comparator<Item> comparator() {
+        Comparator<Item> order = SORT_FIELDS.get(sortField());
+        if (order == null) {
+            return null;
+        }
+        return isDescending() ? order.reversed() : order;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dsv.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Comparator;
+
+/**
+ * One autocomplete suggestion: an item name and the ID of the item carrying it.
+ */
+public class ItemSuggestion {
+
+    /** Order of suggestions: shorter names first, then alphabetical, then by ID. */
+    public static final Comparator<ItemSuggestion> RANKING = Comparator
+            .comparingInt((ItemSuggestion suggestion) -> suggestion.name.length())
+            .thenComparing(suggestion -> suggestion.name)
+            .thenComparingLong(suggestion -> suggestion.id);
+
+    private final long id;
+    private final String name;
+
+    @JsonCreator
+    public ItemSuggestion(@JsonProperty("id") long id, @JsonProperty("name") String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,65 @@
+package com.dsv.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response message with {@code {}} placeholders, parsed once into its literal parts.
+ * Responses built from a template keep the arguments and write the message straight into
+ * the JSON output, so no message string is built unless {@link ApiResponse#getMessage()} asks for one.
+ */
+public final class MessageTemplate {
+
+    private static final String PLACEHOLDER = "{}";
+
+    private final String[] parts;
+
+    private MessageTemplate(String[] parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * @param pattern message text with one {@code {}} per argument
+     * @return the parsed template
+     */
+    public static MessageTemplate of(String pattern) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int at = pattern.indexOf(PLACEHOLDER); at >= 0; at = pattern.indexOf(PLACEHOLDER, start)) {
+            parts.add(pattern.substring(start, at));
+            start = at + PLACEHOLDER.length();
+        }
+        parts.add(pattern.substring(start));
+        return new MessageTemplate(parts.toArray(String[]::new));
+    }
+
+    /**
+     * Appends the message to a builder. Integral arguments are appended as numbers,
+     * without an intermediate string; missing arguments are written as {@code null}.
+     *
+     * @param target builder to append to
+     * @param args one argument per placeholder
+     */
+    public void appendTo(StringBuilder target, Object[] args) {
+        target.append(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            Object arg = args != null && i <= args.length ? args[i - 1] : null;
+            if (arg instanceof Long || arg instanceof Integer || arg instanceof Short) {
+                target.append(((Number) arg).longValue());
+            } else {
+                target.append(arg);
+            }
+            target.append(parts[i]);
+        }
+    }
+
+    /**
+     * @param args one argument per placeholder
+     * @return the message as a string
+     */
+    public String format(Object... args) {
+        StringBuilder message = new StringBuilder(64);
+        appendTo(message, args);
+        return message.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.dsv.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * How an item query was executed: the access path the planner chose, the row estimates of every
+ * path it considered and the number of items it actually examined.
+ */
+public class QueryPlan {
+
+    private String accessPath;
+    private boolean indexOrdered;
+    private long estimatedRows;
+    private long rowsExamined;
+    private long totalItems;
+    private Map<String, Long> estimates = new LinkedHashMap<>();
+
+    public QueryPlan() {
+    }
+
+    public QueryPlan(String accessPath, boolean indexOrdered, long estimatedRows, long rowsExamined,
+                     long totalItems, Map<String, Long> estimates) {
+        this.accessPath = accessPath;
+        this.indexOrdered = indexOrdered;
+        this.estimatedRows = estimatedRows;
+        this.rowsExamined = rowsExamined;
+        this.totalItems = totalItems;
+        this.estimates = estimates;
+    }
+
+    /**
+     * @return the index the candidates were read from, or FULL_SCAN
+     */
+    public String getAccessPath() {
+        return accessPath;
+    }
+
+    public void setAccessPath(String accessPath) {
+        this.accessPath = accessPath;
+    }
+
+    /**
+     * @return true if the index was read in sort order and the scan stopped at the limit
+     */
+    public boolean isIndexOrdered() {
+        return indexOrdered;
+    }
+
+    public void setIndexOrdered(boolean indexOrdered) {
+        this.indexOrdered = indexOrdered;
+    }
+
+    public long getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    public void setEstimatedRows(long estimatedRows) {
+        this.estimatedRows = estimatedRows;
+    }
+
+    public long getRowsExamined() {
+        return rowsExamined;
+    }
+
+    public void setRowsExamined(long rowsExamined) {
+        this.rowsExamined = rowsExamined;
+    }
+
+    public long getTotalItems() {
+        return totalItems;
+    }
+
+    public void setTotalItems(long totalItems) {
+        this.totalItems = totalItems;
+    }
+
+    /**
+     * @return estimated rows per access path considered; range counts stop at the best estimate so far
+     */
+    public Map<String, Long> getEstimates() {
+        return estimates;
+    }
+
+    public void setEstimates(Map<String, Long> estimates) {
+        this.estimates = estimates;
+    }
+}
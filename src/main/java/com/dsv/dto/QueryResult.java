@@ -0,0 +1,38 @@
+package com.dsv.dto;
+
+import com.dsv.entity.Item;
+
+import java.util.List;
+
+/**
+ * Items matching an item query, plus the query plan if it was requested with {@code explain}.
+ */
+public class QueryResult {
+
+    private List<Item> items;
+    private QueryPlan plan;
+
+    public QueryResult() {
+    }
+
+    public QueryResult(List<Item> items, QueryPlan plan) {
+        this.items = items;
+        this.plan = plan;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public QueryPlan getPlan() {
+        return plan;
+    }
+
+    public void setPlan(QueryPlan plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,49 @@
+package com.dsv.dto;
+
+/**
+ * Replication state of this node as reported by GET /api/replication/status.
+ * Fields that do not apply to the node's role are null.
+ */
+public class ReplicationStatus {
+
+    private final String role;
+    private final long sequence;
+    private final Integer followers;
+    private final Long leaderSequence;
+    private final Long lagMillis;
+    private final Boolean caughtUp;
+
+    public ReplicationStatus(String role, long sequence, Integer followers,
+                             Long leaderSequence, Long lagMillis, Boolean caughtUp) {
+        this.role = role;
+        this.sequence = sequence;
+        this.followers = followers;
+        this.leaderSequence = leaderSequence;
+        this.lagMillis = lagMillis;
+        this.caughtUp = caughtUp;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Integer getFollowers() {
+        return followers;
+    }
+
+    public Long getLeaderSequence() {
+        return leaderSequence;
+    }
+
+    public Long getLagMillis() {
+        return lagMillis;
+    }
+
+    public Boolean getCaughtUp() {
+        return caughtUp;
+    }
+}
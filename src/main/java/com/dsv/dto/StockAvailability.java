@@ -0,0 +1,55 @@
+package com.dsv.dto;
+
+/**
+ * Stock of an item split into quantity held by open reservations and quantity still available.
+ */
+public class StockAvailability {
+
+    private Long itemId;
+    private int stock;
+    private int held;
+
+    public StockAvailability() {
+    }
+
+    public StockAvailability(Long itemId, int stock, int held) {
+        this.itemId = itemId;
+        this.stock = stock;
+        this.held = held;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+
+    public void setStock(int stock) {
+        this.stock = stock;
+    }
+
+    public int getHeld() {
+        return held;
+    }
+
+    public void setHeld(int held) {
+        this.held = held;
+    }
+
+    public int getAvailable() {
+        return Math.max(0, stock - held);
+    }
+
+    /**
+     * @return true if some stock is not held by reservations and can still be sold
+     */
+    public boolean isInStock() {
+        return getAvailable() > 0;
+    }
+}
@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import java.util.Locale;
+
 /**
  * Represents a product item in the e-commerce system.
  * This class models the core attributes of a product.
@@ -52,6 +54,15 @@ public class Item {
         this.category = category;
     }
     
+    /**
+     * Copy constructor.
+     * 
+     * @param other the item to copy
+     */
+    public Item(Item other) {
+        this(other.id, other.name, other.description, other.price, other.stock, other.category);
+    }
+    
 
     public Long getId() {
         return id;
@@ -101,6 +112,13 @@ public class Item {
         this.category = category;
     }
     
+    /**
+     * Categories match ignoring case: this is the form in which they are compared and indexed.
+     */
+    public static String categoryKey(String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+    
     @Override
     public String toString() {
         return "Item{" +
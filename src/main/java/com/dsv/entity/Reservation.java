@@ -0,0 +1,91 @@
+package com.dsv.entity;
+
+import java.time.Instant;
+
+/**
+ * A time-bounded hold of stock quantity against an item.
+ * A held reservation is released automatically when it expires unless it is confirmed or cancelled first.
+ */
+public class Reservation {
+    
+    public enum Status {
+        HELD,
+        CONFIRMED,
+        CANCELLED,
+        EXPIRED
+    }
+    
+    private Long id;
+    
+    private Long itemId;
+    
+    private Integer quantity;
+    
+    private Instant expiresAt;
+    
+    private Status status;
+    
+ 
+    public Reservation() {
+    }
+    
+    public Reservation(Long id, Long itemId, Integer quantity, Instant expiresAt, Status status) {
+        this.id = id;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+        this.status = status;
+    }
+    
+
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getItemId() {
+        return itemId;
+    }
+    
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    @Override
+    public String toString() {
+        return "Reservation{" +
+                "id=" + id +
+                ", itemId=" + itemId +
+                ", quantity=" + quantity +
+                ", expiresAt=" + expiresAt +
+                ", status=" + status +
+                '}';
+    }
+}
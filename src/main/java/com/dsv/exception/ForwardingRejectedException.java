@@ -0,0 +1,18 @@
+package com.dsv.exception;
+
+/**
+ * Exception thrown when a request claims to be forwarded by another cluster node but does not
+ * carry the cluster secret or comes from a node with a different topology.
+ * Handled as 403 FORBIDDEN; no stack trace is captured.
+ */
+public class ForwardingRejectedException extends RuntimeException {
+    
+    /**
+     * Constructs a new ForwardingRejectedException.
+     * 
+     * @param message the error message returned to the client
+     */
+    public ForwardingRejectedException(String message) {
+        super(message, null, false, false);
+    }
+}
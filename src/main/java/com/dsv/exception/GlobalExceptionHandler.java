@@ -1,15 +1,14 @@
 package com.dsv.exception;
 
 import com.dsv.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.FieldError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -37,34 +36,192 @@ public class GlobalExceptionHandler {
     }
     
     /**
-     * Handle validation errors from @Valid annotation
+     * Handle SnapshotExpiredException
+     * Returns 410 GONE status
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(SnapshotExpiredException.class)
+    public ResponseEntity<ApiResponse<Object>> handleSnapshotExpiredException(
+            SnapshotExpiredException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.GONE);
+    }
+    
+    /**
+     * Handle ReservationNotFoundException
+     * Returns 404 NOT FOUND status
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(ReservationNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleReservationNotFoundException(
+            ReservationNotFoundException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+    
+    /**
+     * Handle InsufficientStockException
+     * Returns 409 CONFLICT status
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInsufficientStockException(
+            InsufficientStockException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    
+    /**
+     * Handle ItemAlreadyExistsException
+     * Returns 409 CONFLICT status
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(ItemAlreadyExistsException.class)
+    public ResponseEntity<ApiResponse<Object>> handleItemAlreadyExistsException(
+            ItemAlreadyExistsException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    
+    /**
+     * Handle ValidationFailedException raised by explicit bean validation of request bodies
      * Returns 400 BAD REQUEST status with field-specific errors
      * 
      * @param ex the validation exception
      * @return ResponseEntity with validation error details
      */
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(
-            MethodArgumentNotValidException ex) {
-        
-        Map<String, String> errors = new HashMap<>();
-        
-
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            errors.put(fieldName, errorMessage);
-        });
+    @ExceptionHandler(ValidationFailedException.class)
+    public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationFailedException(
+            ValidationFailedException ex) {
         
         ApiResponse<Map<String, String>> response = new ApiResponse<>(
                 false, 
                 "Validation failed", 
-                errors
+                ex.getFieldErrors()
         );
         
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
     
+    /**
+     * Handle InvalidRequestException
+     * Returns 400 BAD REQUEST status
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidRequestException(
+            InvalidRequestException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+    
+    /**
+     * Handle requests whose Content-Type the endpoint does not accept
+     * Returns 415 UNSUPPORTED MEDIA TYPE status
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleHttpMediaTypeNotSupportedException(
+            HttpMediaTypeNotSupportedException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+    
+    /**
+     * Handle ServiceOverloadedException raised by admission control
+     * Returns 429 TOO MANY REQUESTS or 503 SERVICE UNAVAILABLE with a Retry-After header
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleServiceOverloadedException(
+            ServiceOverloadedException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+    
+    /**
+     * Handle ReplicaUnavailableException raised on follower replicas
+     * Returns 503 SERVICE UNAVAILABLE status
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(ReplicaUnavailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleReplicaUnavailableException(
+            ReplicaUnavailableException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
+    /**
+     * Handle NodeUnavailableException raised when a cluster node cannot be reached
+     * Returns 503 SERVICE UNAVAILABLE status
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(NodeUnavailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleNodeUnavailableException(
+            NodeUnavailableException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
+    /**
+     * Handle ForwardingRejectedException raised for forwarded requests that fail authentication
+     * Returns 403 FORBIDDEN status
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(ForwardingRejectedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleForwardingRejectedException(
+            ForwardingRejectedException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
+    }
+    
+    /**
+     * Handle RemoteRequestException raised when another cluster node rejects a forwarded request
+     * Returns the status of the remote node
+     * 
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(RemoteRequestException.class)
+    public ResponseEntity<ApiResponse<Object>> handleRemoteRequestException(
+            RemoteRequestException ex) {
+        
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, ex.getStatus());
+    }
+    
     /**
      * Handle IllegalArgumentException
      * Returns 400 BAD REQUEST status
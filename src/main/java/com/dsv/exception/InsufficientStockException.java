@@ -0,0 +1,36 @@
+package com.dsv.exception;
+
+/**
+ * Exception thrown when an item does not have enough available stock for a reservation,
+ * or when its stock would be set below the quantity held by reservations.
+ * Handled as 409 CONFLICT; no stack trace is captured.
+ */
+public class InsufficientStockException extends RuntimeException {
+    
+    /**
+     * Constructs a new InsufficientStockException.
+     * 
+     * @param itemId the item
+     * @param requested the requested quantity
+     * @param available the quantity that was available
+     */
+    public InsufficientStockException(Long itemId, int requested, int available) {
+        super("Insufficient stock for item " + itemId + ": requested " + requested + ", available " + available,
+                null, false, false);
+    }
+
+    private InsufficientStockException(String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * @param itemId the item
+     * @param stock the stock that was to be set
+     * @param held the quantity held by open reservations
+     * @return the exception for a stock change below the held quantity
+     */
+    public static InsufficientStockException belowHeld(Long itemId, int stock, int held) {
+        return new InsufficientStockException("Stock of item " + itemId + " cannot be set to " + stock + ": "
+                + held + " held by reservations");
+    }
+}
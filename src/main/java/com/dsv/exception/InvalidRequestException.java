@@ -0,0 +1,17 @@
+package com.dsv.exception;
+
+/**
+ * Exception thrown when request input fails a check that bean validation does not cover.
+ * Handled as 400 BAD REQUEST; it signals a client error, so no stack trace is captured.
+ */
+public class InvalidRequestException extends RuntimeException {
+    
+    /**
+     * Constructs a new InvalidRequestException.
+     * 
+     * @param message the error message returned to the client
+     */
+    public InvalidRequestException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,17 @@
+package com.dsv.exception;
+
+/**
+ * Exception thrown when an item is to be created under an ID that is already in use.
+ * Handled as 409 CONFLICT; no stack trace is captured.
+ */
+public class ItemAlreadyExistsException extends RuntimeException {
+    
+    /**
+     * Constructs a new ItemAlreadyExistsException.
+     * 
+     * @param id the ID that is in use
+     */
+    public ItemAlreadyExistsException(Long id) {
+        super("Item already exists with id: " + id, null, false, false);
+    }
+}
@@ -1,18 +1,35 @@
 package com.dsv.exception;
 
+import com.dsv.dto.MessageTemplate;
+
 /**
  * Custom exception thrown when an item is not found.
  * This exception is used to signal that a requested item does not exist in the system.
+ * It is thrown on every lookup miss and only ever turned into a 404 response,
+ * so no stack trace is captured.
  */
 public class ItemNotFoundException extends RuntimeException {
     
+    /**
+     * Message of a not-found error; the argument is the item ID.
+     */
+    public static final MessageTemplate MESSAGE = MessageTemplate.of("Item not found with id: {}");
+    
     /**
      * Constructs a new ItemNotFoundException with a default message.
      * 
      * @param id the ID of the item that was not found
      */
     public ItemNotFoundException(Long id) {
-        super("Item not found with id: " + id);
+        super(messageFor(id), null, false, false);
+    }
+    
+    /**
+     * @param id the ID of the item that was not found
+     * @return the message of a not-found error for that ID
+     */
+    public static String messageFor(Long id) {
+        return MESSAGE.format(id);
     }
     
     /**
@@ -21,7 +38,7 @@ public class ItemNotFoundException extends RuntimeException {
      * @param message the custom error message
      */
     public ItemNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     /**
@@ -0,0 +1,18 @@
+package com.dsv.exception;
+
+/**
+ * Exception thrown when another cluster node cannot be reached or fails to answer.
+ * Handled as 503 SERVICE UNAVAILABLE.
+ */
+public class NodeUnavailableException extends RuntimeException {
+    
+    /**
+     * Constructs a new NodeUnavailableException.
+     * 
+     * @param node the URL of the node that failed
+     * @param cause the cause of the failure
+     */
+    public NodeUnavailableException(String node, Throwable cause) {
+        super("Cluster node " + node + " is unavailable", cause);
+    }
+}
@@ -0,0 +1,27 @@
+package com.dsv.exception;
+
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Exception thrown when another cluster node rejects a forwarded request with a client error.
+ * Handled with the status and message returned by that node; no stack trace is captured.
+ */
+public class RemoteRequestException extends RuntimeException {
+    
+    private final HttpStatusCode status;
+    
+    /**
+     * Constructs a new RemoteRequestException.
+     * 
+     * @param status the status returned by the remote node
+     * @param message the error message returned by the remote node
+     */
+    public RemoteRequestException(HttpStatusCode status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+    
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+}
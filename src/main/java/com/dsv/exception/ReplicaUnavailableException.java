@@ -0,0 +1,18 @@
+package com.dsv.exception;
+
+/**
+ * Exception thrown when a follower replica cannot serve a request:
+ * writes must go to the leader, and reads are refused while the replica lags too far behind.
+ * Handled as 503 SERVICE UNAVAILABLE; no stack trace is captured.
+ */
+public class ReplicaUnavailableException extends RuntimeException {
+    
+    /**
+     * Constructs a new ReplicaUnavailableException.
+     * 
+     * @param message the error message returned to the client
+     */
+    public ReplicaUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+}
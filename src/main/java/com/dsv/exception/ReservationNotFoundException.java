@@ -0,0 +1,18 @@
+package com.dsv.exception;
+
+/**
+ * Exception thrown when a reservation does not exist or is no longer held.
+ * Handled as 404 NOT FOUND; no stack trace is captured.
+ */
+public class ReservationNotFoundException extends RuntimeException {
+    
+    /**
+     * Constructs a new ReservationNotFoundException.
+     * 
+     * @param itemId the item the reservation was made for
+     * @param reservationId the reservation ID
+     */
+    public ReservationNotFoundException(Long itemId, Long reservationId) {
+        super("No held reservation " + reservationId + " for item " + itemId, null, false, false);
+    }
+}
@@ -0,0 +1,33 @@
+package com.dsv.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request is rejected by admission control.
+ * It is raised on the overload path, so no stack trace is captured.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final int retryAfterSeconds;
+
+    /**
+     * Constructs a new ServiceOverloadedException.
+     *
+     * @param status the status to respond with (429 or 503)
+     * @param retryAfterSeconds value for the Retry-After header
+     */
+    public ServiceOverloadedException(HttpStatus status, int retryAfterSeconds) {
+        super("Server is overloaded, please retry later", null, false, false);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
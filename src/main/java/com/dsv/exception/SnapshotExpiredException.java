@@ -0,0 +1,18 @@
+package com.dsv.exception;
+
+/**
+ * Exception thrown when a read asks for a snapshot version that is no longer retained.
+ * Handled as 410 GONE: the client has to restart its scan from a fresh snapshot.
+ * No stack trace is captured.
+ */
+public class SnapshotExpiredException extends RuntimeException {
+    
+    /**
+     * Constructs a new SnapshotExpiredException.
+     * 
+     * @param version the requested snapshot version
+     */
+    public SnapshotExpiredException(long version) {
+        super("Snapshot version " + version + " has expired, restart from a new snapshot", null, false, false);
+    }
+}
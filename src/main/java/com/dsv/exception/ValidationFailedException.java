@@ -0,0 +1,37 @@
+package com.dsv.exception;
+
+import jakarta.validation.ConstraintViolation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exception thrown when a request body fails bean validation.
+ * Handled as 400 BAD REQUEST with one message per invalid field; it signals a client error,
+ * so no stack trace is captured.
+ */
+public class ValidationFailedException extends RuntimeException {
+    
+    private final Map<String, String> fieldErrors;
+    
+    /**
+     * Constructs a new ValidationFailedException.
+     * 
+     * @param violations the constraint violations, at least one
+     */
+    public ValidationFailedException(Set<? extends ConstraintViolation<?>> violations) {
+        super("Validation failed", null, false, false);
+        this.fieldErrors = new HashMap<>();
+        for (ConstraintViolation<?> violation : violations) {
+            fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+    }
+    
+    /**
+     * @return error message per invalid field
+     */
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
+    }
+}
@@ -0,0 +1,471 @@
+package com.dsv.importer;
+
+import com.dsv.cluster.ClusterItemService;
+import com.dsv.dto.ImportResult;
+import com.dsv.entity.Item;
+import com.dsv.exception.InvalidRequestException;
+import com.dsv.repository.ItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Imports items in bulk from a local CSV or NDJSON file.
+ *
+ * The file is memory-mapped and split into chunks that end on line boundaries.
+ * Chunks are parsed and validated in parallel. Only once every chunk has been parsed are they
+ * inserted, in file order with one {@link ItemRepository#saveAll(List)} call per chunk, so ids are
+ * allocated per chunk range and an import that fails (for example on a read error) inserts nothing.
+ * In cluster mode each chunk goes to {@link ClusterItemService#importItems(List)} instead, which
+ * stores every row on the node owning its ID.
+ * Rows that fail validation are skipped and reported; they do not fail the import. Rows are first
+ * checked against Item's constraints with {@link ItemConstraintCheck}; only rows it cannot clear go
+ * through the bean validator.
+ *
+ * CSV files need a header row naming the columns (name, description, price, stock, category);
+ * quoted fields are supported but may not span lines.
+ */
+@Component
+public class BulkItemImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkItemImporter.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_HEADER_LENGTH = 64 * 1024;
+
+    private final ItemRepository itemRepository;
+    private final ClusterItemService cluster;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ItemConstraintCheck constraintCheck;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private final ReentrantLock importLock = new ReentrantLock();
+
+    public BulkItemImporter(ItemRepository itemRepository, Validator validator, ObjectMapper objectMapper,
+                            int chunkSize, int parallelism) {
+        this(itemRepository, (ClusterItemService) null, validator, objectMapper, chunkSize, parallelism);
+    }
+
+    @Autowired
+    public BulkItemImporter(ItemRepository itemRepository,
+                            ObjectProvider<ClusterItemService> cluster,
+                            Validator validator,
+                            ObjectMapper objectMapper,
+                            @Value("${dsv.import.chunk-size-bytes:8388608}") int chunkSize,
+                            @Value("${dsv.import.parallelism:0}") int parallelism) {
+        this(itemRepository, cluster.getIfAvailable(), validator, objectMapper, chunkSize, parallelism);
+    }
+
+    private BulkItemImporter(ItemRepository itemRepository,
+                             ClusterItemService cluster,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             int chunkSize,
+                             int parallelism) {
+        this.itemRepository = itemRepository;
+        this.cluster = cluster;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.constraintCheck = ItemConstraintCheck.from(validator);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Import all rows of a file. Imports run one at a time; a second call waits for the first.
+     *
+     * @param file the file to read
+     * @param format the file format
+     * @return summary with counts and the first row errors
+     */
+    public ImportResult importFile(Path file, ImportFormat format) {
+        importLock.lock();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return run(file, format, channel);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read import file " + file, ex);
+        } finally {
+            importLock.unlock();
+        }
+    }
+
+    private ImportResult run(Path file, ImportFormat format, FileChannel channel) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        long size = channel.size();
+
+        long dataStart = 0;
+        int headerLines = 0;
+        CsvColumns columns = null;
+        if (format == ImportFormat.CSV && size > 0) {
+            dataStart = nextLineStart(channel, 0, size);
+            if (dataStart - 1 > MAX_HEADER_LENGTH) {
+                throw new InvalidRequestException("CSV header row is too long");
+            }
+            columns = parseHeader(channel, dataStart);
+            headerLines = 1;
+        }
+
+        List<long[]> chunks = splitIntoChunks(channel, dataStart, size);
+        log.info("Importing {} ({} bytes, {}) in {} chunks on {} threads",
+                file, size, format, chunks.size(), parallelism);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, chunks.size())));
+        try {
+            List<CompletableFuture<ChunkResult>> futures = new ArrayList<>(chunks.size());
+            CsvColumns columnIndex = columns;
+            for (long[] chunk : chunks) {
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> parseChunk(channel, chunk[0], chunk[1], format, columnIndex), executor));
+            }
+
+            List<ChunkResult> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(futures.get(i).join());
+                if ((i + 1) % 16 == 0 || i + 1 == futures.size()) {
+                    log.info("Import progress: {}/{} chunks parsed", i + 1, futures.size());
+                }
+            }
+
+            long parsedAt = System.currentTimeMillis();
+            long linesBefore = headerLines;
+            long totalRows = 0;
+            long imported = 0;
+            long failed = 0;
+            List<String> errors = new ArrayList<>();
+
+            for (ChunkResult result : results) {
+                if (cluster != null) {
+                    cluster.importItems(result.items);
+                } else {
+                    itemRepository.saveAll(result.items);
+                }
+
+                for (RowError error : result.errors) {
+                    if (errors.size() >= MAX_REPORTED_ERRORS) {
+                        break;
+                    }
+                    errors.add("line " + (linesBefore + error.line) + ": " + error.message);
+                }
+                linesBefore += result.lineCount;
+                totalRows += result.items.size() + result.failed;
+                imported += result.items.size();
+                failed += result.failed;
+            }
+
+            long finishedAt = System.currentTimeMillis();
+            log.info("Import of {} parsed in {} ms, inserted in {} ms",
+                    file, parsedAt - startedAt, finishedAt - parsedAt);
+            long elapsed = finishedAt - startedAt;
+            return new ImportResult(file.getFileName().toString(), format.name(),
+                    totalRows, imported, failed, elapsed, errors);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Split [start, size) into regions of roughly {@code chunkSize} bytes, each ending just after a newline.
+     */
+    private List<long[]> splitIntoChunks(FileChannel channel, long start, long size) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        long position = start;
+        while (position < size) {
+            long end = Math.min(size, position + chunkSize);
+            if (end < size) {
+                end = nextLineStart(channel, end - 1, size);
+            }
+            chunks.add(new long[]{position, end});
+            position = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Offset of the first byte after the next '\n' at or after {@code from}, or {@code size} if none.
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static CsvColumns parseHeader(FileChannel channel, long headerEnd) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerEnd);
+        String header = StandardCharsets.UTF_8.decode(mapped).toString().strip();
+        if (!header.isEmpty() && header.charAt(0) == '\uFEFF') {
+            header = header.substring(1);
+        }
+        List<String> names = splitCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "price", "stock")) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidRequestException("CSV header is missing required column: " + required);
+            }
+        }
+        return new CsvColumns(names.size(), columns.get("name"), columns.getOrDefault("description", -1),
+                columns.get("price"), columns.get("stock"), columns.getOrDefault("category", -1));
+    }
+
+    private ChunkResult parseChunk(FileChannel channel, long start, long end,
+                                   ImportFormat format, CsvColumns columns) {
+        String text;
+        try {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            text = StandardCharsets.UTF_8.decode(mapped).toString();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        ChunkResult result = new ChunkResult();
+        String[] fields = columns != null ? new String[columns.count()] : null;
+        StringBuilder quoted = new StringBuilder();
+        int length = text.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && text.charAt(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            result.lineCount++;
+
+            if (contentEnd > lineStart) {
+                Item item;
+                try {
+                    if (format == ImportFormat.CSV) {
+                        splitCsvLine(text, lineStart, contentEnd, fields, quoted);
+                        item = parseCsvRow(fields, columns);
+                    } else {
+                        item = parseJsonRow(text.substring(lineStart, contentEnd));
+                    }
+                } catch (RowFormatException ex) {
+                    result.fail(ex.getMessage());
+                    item = null;
+                }
+                if (item != null) {
+                    validate(item, result);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return result;
+    }
+
+    private void validate(Item item, ChunkResult result) {
+        if (constraintCheck != null && constraintCheck.passes(item)) {
+            result.items.add(item);
+            return;
+        }
+        Set<ConstraintViolation<Item>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            StringBuilder message = new StringBuilder();
+            for (ConstraintViolation<Item> violation : violations) {
+                if (message.length() > 0) {
+                    message.append("; ");
+                }
+                message.append(violation.getPropertyPath()).append(": ").append(violation.getMessage());
+            }
+            result.fail(message.toString());
+            return;
+        }
+        result.items.add(item);
+    }
+
+    private static Item parseCsvRow(String[] fields, CsvColumns columns) {
+        Item item = new Item();
+        item.setName(field(fields, columns.name()));
+        item.setDescription(field(fields, columns.description()));
+        item.setCategory(field(fields, columns.category()));
+
+        String price = field(fields, columns.price());
+        String stock = field(fields, columns.stock());
+        try {
+            item.setPrice(price == null || price.isBlank() ? null : Double.valueOf(price.trim()));
+        } catch (NumberFormatException ex) {
+            throw new RowFormatException("price: not a number '" + price + "'");
+        }
+        try {
+            item.setStock(stock == null || stock.isBlank() ? null : Integer.valueOf(stock.trim()));
+        } catch (NumberFormatException ex) {
+            throw new RowFormatException("stock: not an integer '" + stock + "'");
+        }
+        return item;
+    }
+
+    private Item parseJsonRow(String line) {
+        try {
+            Item item = objectMapper.readValue(line, Item.class);
+            item.setId(null);
+            return item;
+        } catch (JsonProcessingException ex) {
+            throw new RowFormatException("invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private static String field(String[] fields, int index) {
+        if (index < 0) {
+            return null;
+        }
+        String value = fields[index];
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Split one CSV line into fields, honouring double-quoted fields with "" escapes.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        int start = 0;
+        String[] field = new String[1];
+        StringBuilder quoted = new StringBuilder();
+        do {
+            start = nextCsvField(line, start, line.length(), field, 0, quoted);
+            fields.add(field[0]);
+        } while (start <= line.length());
+        return fields;
+    }
+
+    /**
+     * Split the CSV line text[from, to) into {@code fields}, one slot per column; missing columns are
+     * left null and fields beyond the last column are ignored.
+     */
+    static void splitCsvLine(String text, int from, int to, String[] fields, StringBuilder quoted) {
+        int start = from;
+        for (int column = 0; column < fields.length; column++) {
+            if (start > to) {
+                fields[column] = null;
+            } else {
+                start = nextCsvField(text, start, to, fields, column, quoted);
+            }
+        }
+    }
+
+    /**
+     * Read the field starting at {@code start} into {@code fields[column]}.
+     *
+     * @return the start of the next field, or {@code to + 1} if this was the last one
+     */
+    private static int nextCsvField(String text, int start, int to, String[] fields, int column,
+                                    StringBuilder quoted) {
+        int i = start;
+        while (i < to && text.charAt(i) != ',' && text.charAt(i) != '"') {
+            i++;
+        }
+        if (i == to || text.charAt(i) == ',') {
+            fields[column] = text.substring(start, i); // Unquoted: no copy through a builder
+            return i + 1;
+        }
+        if (i == start) {
+            int close = text.indexOf('"', i + 1);
+            if (close >= 0 && close < to && (close + 1 == to || text.charAt(close + 1) == ',')) {
+                fields[column] = text.substring(i + 1, close); // Quoted without escapes
+                return close + 2;
+            }
+        }
+        quoted.setLength(0);
+        quoted.append(text, start, i);
+        boolean inQuotes = false;
+        for (; i < to; i++) {
+            char c = text.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < to && text.charAt(i + 1) == '"') {
+                        quoted.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    quoted.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                break;
+            } else {
+                quoted.append(c);
+            }
+        }
+        fields[column] = quoted.toString();
+        return i + 1;
+    }
+
+    /**
+     * Column positions of a CSV header; -1 for an optional column that is absent.
+     */
+    private record CsvColumns(int count, int name, int description, int price, int stock, int category) {
+    }
+
+    private static final class ChunkResult {
+
+        private final List<Item> items = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private int lineCount;
+        private int failed;
+
+        void fail(String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(lineCount, message));
+            }
+        }
+    }
+
+    private record RowError(int line, String message) {
+    }
+
+    private static final class RowFormatException extends RuntimeException {
+
+        RowFormatException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.dsv.importer;
+
+import com.dsv.exception.InvalidRequestException;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats accepted by the bulk importer.
+ */
+public enum ImportFormat {
+
+    /** Comma-separated values with a header row naming the item fields. */
+    CSV,
+
+    /** One JSON item object per line. */
+    NDJSON;
+
+    /**
+     * Resolve the format from an explicit name or, when absent, from the file extension.
+     *
+     * @param name the requested format name, may be null
+     * @param file the file being imported
+     * @return the format to use
+     */
+    public static ImportFormat resolve(String name, Path file) {
+        if (name != null && !name.isBlank()) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidRequestException("Unsupported import format: " + name);
+            }
+        }
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".csv")) {
+            return CSV;
+        }
+        if (fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new InvalidRequestException("Cannot determine import format of " + fileName + ", pass format=csv|ndjson");
+    }
+}
@@ -0,0 +1,137 @@
+package com.dsv.importer;
+
+import com.dsv.entity.Item;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Allocation-free pre-check of the bean constraints declared on {@link Item}, for bulk imports.
+ *
+ * The checks are built from the validator's own metadata for Item, so they follow changes to the
+ * annotations. A row that passes is certainly valid; a row that does not, or whose value sits exactly
+ * on a bound, still goes through the validator, which also produces the error messages. If Item
+ * declares any constraint this class does not know, {@link #from(Validator)} returns null and every
+ * row is validated in full.
+ */
+final class ItemConstraintCheck {
+
+    private static final Map<String, Function<Item, Object>> PROPERTIES = Map.of(
+            "id", Item::getId,
+            "name", Item::getName,
+            "description", Item::getDescription,
+            "price", Item::getPrice,
+            "stock", Item::getStock,
+            "category", Item::getCategory);
+
+    private final List<Predicate<Item>> checks;
+
+    private ItemConstraintCheck(List<Predicate<Item>> checks) {
+        this.checks = checks;
+    }
+
+    /**
+     * @return the pre-check for Item's constraints, or null if they cannot all be checked here
+     */
+    static ItemConstraintCheck from(Validator validator) {
+        BeanDescriptor bean = validator.getConstraintsForClass(Item.class);
+        if (!bean.getConstraintDescriptors().isEmpty()) {
+            return null; // Class-level constraints
+        }
+        List<Predicate<Item>> checks = new ArrayList<>();
+        for (PropertyDescriptor property : bean.getConstrainedProperties()) {
+            Function<Item, Object> getter = PROPERTIES.get(property.getPropertyName());
+            if (getter == null || property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                return null;
+            }
+            for (ConstraintDescriptor<?> constraint : property.getConstraintDescriptors()) {
+                Predicate<Object> check = check(constraint);
+                if (check == null) {
+                    return null;
+                }
+                checks.add(item -> check.test(getter.apply(item)));
+            }
+        }
+        return new ItemConstraintCheck(List.copyOf(checks));
+    }
+
+    /**
+     * @return true if the item certainly satisfies every constraint; false if it may not
+     */
+    boolean passes(Item item) {
+        for (Predicate<Item> check : checks) {
+            if (!check.test(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Predicate<Object> check(ConstraintDescriptor<?> constraint) {
+        if (!constraint.getComposingConstraints().isEmpty() || !constraint.getGroups().equals(Set.of(Default.class))) {
+            return null;
+        }
+        Annotation annotation = constraint.getAnnotation();
+        if (annotation instanceof NotNull) {
+            return value -> value != null;
+        }
+        if (annotation instanceof NotBlank) {
+            return value -> value instanceof String text && hasVisibleChar(text);
+        }
+        if (annotation instanceof Size size) {
+            int min = size.min();
+            int max = size.max();
+            return value -> value == null
+                    || value instanceof String text && text.length() >= min && text.length() <= max;
+        }
+        if (annotation instanceof DecimalMin decimalMin) {
+            return decimalMin(new BigDecimal(decimalMin.value()), decimalMin.inclusive());
+        }
+        return null;
+    }
+
+    private static Predicate<Object> decimalMin(BigDecimal min, boolean inclusive) {
+        // Integers compare exactly against the smallest integer allowed
+        BigDecimal lowest = inclusive ? min.setScale(0, RoundingMode.CEILING)
+                : min.setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE);
+        long lowestInteger = lowest.toBigInteger().bitLength() < 64 ? lowest.longValueExact()
+                : lowest.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        // A double above the bound's nearest double is above the bound; one equal to it is left to the validator
+        double minDouble = min.doubleValue();
+        return value -> {
+            if (value == null) {
+                return true;
+            }
+            if (value instanceof Integer || value instanceof Long) {
+                return ((Number) value).longValue() >= lowestInteger;
+            }
+            return value instanceof Double number && number > minDouble && !number.isInfinite();
+        };
+    }
+
+    private static boolean hasVisibleChar(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c > ' ' && !Character.isWhitespace(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.dsv.importer;
+
+import com.dsv.dto.ImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Loads a catalog file at startup when {@code dsv.import.file} is set,
+ * e.g. {@code --dsv.import.file=/data/catalog.ndjson}.
+ */
+@Component
+@ConditionalOnProperty(name = "dsv.import.file")
+public class StartupImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupImportRunner.class);
+
+    private final BulkItemImporter importer;
+    private final String file;
+    private final String format;
+
+    public StartupImportRunner(BulkItemImporter importer,
+                               @Value("${dsv.import.file}") String file,
+                               @Value("${dsv.import.format:}") String format) {
+        this.importer = importer;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path path = Paths.get(file);
+        ImportResult result = importer.importFile(path, ImportFormat.resolve(format, path));
+        log.info("Startup import of {} finished: {} imported, {} failed in {} ms ({} rows/s)",
+                path, result.getImportedRows(), result.getFailedRows(),
+                result.getElapsedMillis(), result.getRowsPerSecond());
+        for (String error : result.getErrors()) {
+            log.warn("Import error: {}", error);
+        }
+    }
+}
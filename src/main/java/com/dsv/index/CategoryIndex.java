@@ -0,0 +1,64 @@
+package com.dsv.index;
+
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemChangeListener;
+import com.dsv.repository.ItemRepository;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash index of item IDs by category, kept current by listening to repository changes.
+ * Categories are keyed by {@link Item#categoryKey(String)}, like {@link ItemRepository#findByCategory(String)}
+ * and the query planner's filter compare them.
+ * Category sizes are exact, which makes this index the planner's cheapest estimate.
+ */
+@Component
+@Lazy(false)
+public class CategoryIndex implements ItemChangeListener {
+
+    private final Map<String, Set<Long>> idsByCategory = new ConcurrentHashMap<>();
+
+    public CategoryIndex(ItemRepository itemRepository) {
+        itemRepository.addListenerWithReplay(this);
+    }
+
+    @Override
+    public void onChange(Item previous, Item current) {
+        if (previous != null && current != null && Objects.equals(previous.getCategory(), current.getCategory())) {
+            return; // Category unchanged
+        }
+        if (previous != null && previous.getCategory() != null) {
+            idsByCategory.computeIfPresent(Item.categoryKey(previous.getCategory()), (category, ids) -> {
+                ids.remove(previous.getId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (current != null && current.getCategory() != null) {
+            idsByCategory.computeIfAbsent(Item.categoryKey(current.getCategory()), category -> ConcurrentHashMap.newKeySet())
+                    .add(current.getId());
+        }
+    }
+
+    /**
+     * @return number of items in the category
+     */
+    public long count(String category) {
+        Set<Long> ids = idsByCategory.get(Item.categoryKey(category));
+        return ids != null ? ids.size() : 0;
+    }
+
+    /**
+     * @return IDs of the items in the category, in no particular order
+     */
+    public List<Long> ids(String category) {
+        Set<Long> ids = idsByCategory.get(Item.categoryKey(category));
+        return ids != null ? new ArrayList<>(ids) : List.of();
+    }
+}
@@ -0,0 +1,14 @@
+package com.dsv.index;
+
+/**
+ * Published when an item's stock drops below the low-stock threshold of its category.
+ *
+ * @param itemId the item
+ * @param name the item name
+ * @param category the item category
+ * @param previousStock stock before the change
+ * @param stock stock after the change
+ * @param threshold the threshold that was crossed
+ */
+public record LowStockEvent(Long itemId, String name, String category, int previousStock, int stock, int threshold) {
+}
@@ -0,0 +1,392 @@
+package com.dsv.index;
+
+import com.dsv.dto.ItemSuggestion;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemChangeListener;
+import com.dsv.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix index over normalized item names for autocomplete and name filters, kept current by
+ * listening to every repository change.
+ *
+ * Names are lower-cased, stripped of accents and whitespace-collapsed, then stored in a radix trie
+ * (edges carry whole character runs, single-child chains are merged). Every node whose subtree
+ * holds more than {@code maxResults} names caches its best {@code maxResults} suggestions in
+ * {@link ItemSuggestion#RANKING} order, so a lookup costs O(prefix length) plus copying the result.
+ * Smaller subtrees are not cached - they are collected on demand, which is just as cheap and keeps
+ * most nodes free of a cache array.
+ */
+@Component
+@Lazy(false)
+public class NameIndex implements ItemChangeListener {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final int maxResults;
+    private final Node root = new Node(NO_KEYS);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public NameIndex(ItemRepository itemRepository,
+                     @Value("${dsv.suggest.max-results:10}") int maxResults) {
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("dsv.suggest.max-results must be positive");
+        }
+        this.maxResults = maxResults;
+        itemRepository.addListenerWithReplay(this);
+    }
+
+    @Override
+    public void onChange(Item previous, Item current) {
+        if (previous != null && current != null && Objects.equals(previous.getName(), current.getName())) {
+            return; // Name unchanged
+        }
+        lock.writeLock().lock();
+        try {
+            if (previous != null && previous.getName() != null) {
+                remove(root, normalize(previous.getName()), 0, previous.getId());
+            }
+            if (current != null && current.getName() != null) {
+                insert(normalize(current.getName()), new ItemSuggestion(current.getId(), current.getName()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param prefix the typed prefix; normalized like the names
+     * @param limit maximum number of suggestions, at most {@link #getMaxResults()}
+     * @return names starting with the prefix, in {@link ItemSuggestion#RANKING} order
+     */
+    public List<ItemSuggestion> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = find(normalize(prefix));
+            if (node == null) {
+                return List.of();
+            }
+            List<ItemSuggestion> best = node.top != null ? Arrays.asList(node.top) : collectSorted(node);
+            return new ArrayList<>(best.subList(0, Math.min(limit, best.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of names starting with the prefix, in O(prefix length)
+     */
+    public long count(String prefix) {
+        lock.readLock().lock();
+        try {
+            Node node = find(normalize(prefix));
+            return node != null ? node.size : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return IDs of all items whose name starts with the prefix, in no particular order
+     */
+    public List<Long> ids(String prefix) {
+        lock.readLock().lock();
+        try {
+            Node node = find(normalize(prefix));
+            if (node == null) {
+                return List.of();
+            }
+            List<ItemSuggestion> entries = new ArrayList<>(node.size);
+            collect(node, entries);
+            List<Long> ids = new ArrayList<>(entries.size());
+            for (ItemSuggestion entry : entries) {
+                ids.add(entry.getId());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Lower-case, strip accents and collapse runs of whitespace into one space.
+     */
+    static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * @return the node holding all names that start with the normalized key, or null if there are none
+     */
+    private Node find(String key) {
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            int index = Arrays.binarySearch(node.keys, key.charAt(pos));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, pos);
+            if (pos + common == key.length()) {
+                return child; // The key ends on or inside this edge
+            }
+            if (common < child.label.length) {
+                return null;
+            }
+            node = child;
+            pos += common;
+        }
+        return node;
+    }
+
+    private void insert(String key, ItemSuggestion entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < key.length()) {
+            int index = Arrays.binarySearch(node.keys, key.charAt(pos));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(pos).toCharArray());
+                node.addChild(-index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, pos);
+            if (common < child.label.length) {
+                child = split(node, index, common);
+            }
+            node = child;
+            path.add(node);
+            pos += common;
+        }
+        node.entries = append(node.entries, entry);
+
+        // Bottom-up, so every child's cache is current before its parent's is rebuilt
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node onPath = path.get(i);
+            onPath.size++;
+            if (onPath.size <= maxResults) {
+                continue;
+            }
+            if (onPath.top == null) {
+                onPath.top = computeTop(onPath);
+            } else if (ItemSuggestion.RANKING.compare(entry, onPath.top[maxResults - 1]) < 0) {
+                onPath.top = insertSorted(onPath.top, entry);
+            }
+        }
+    }
+
+    private boolean remove(Node node, String key, int pos, long id) {
+        if (pos == key.length()) {
+            int found = indexOf(node.entries, id);
+            if (found < 0) {
+                return false;
+            }
+            node.entries = removeAt(node.entries, found);
+        } else {
+            int index = Arrays.binarySearch(node.keys, key.charAt(pos));
+            if (index < 0) {
+                return false;
+            }
+            Node child = node.children[index];
+            if (commonPrefix(child.label, key, pos) < child.label.length
+                    || !remove(child, key, pos + child.label.length, id)) {
+                return false;
+            }
+            compact(node, index);
+        }
+
+        node.size--;
+        if (node.size <= maxResults) {
+            node.top = null;
+        } else if (indexOf(node.top, id) >= 0) {
+            node.top = computeTop(node);
+        }
+        return true;
+    }
+
+    /**
+     * Split the edge to a child after {@code length} characters; returns the new middle node.
+     */
+    private static Node split(Node parent, int index, int length) {
+        Node child = parent.children[index];
+        Node middle = new Node(Arrays.copyOf(child.label, length));
+        child.label = Arrays.copyOfRange(child.label, length, child.label.length);
+        middle.keys = new char[]{child.label[0]};
+        middle.children = new Node[]{child};
+        middle.size = child.size;
+        middle.top = child.top;
+        parent.children[index] = middle;
+        return middle;
+    }
+
+    /**
+     * Drop a child without names below it and merge a child that has a single child and no names.
+     */
+    private static void compact(Node parent, int index) {
+        Node child = parent.children[index];
+        if (child.entries == null && child.children.length == 0) {
+            parent.removeChild(index);
+        } else if (child.entries == null && child.children.length == 1) {
+            Node grandchild = child.children[0];
+            char[] label = Arrays.copyOf(child.label, child.label.length + grandchild.label.length);
+            System.arraycopy(grandchild.label, 0, label, child.label.length, grandchild.label.length);
+            grandchild.label = label;
+            parent.children[index] = grandchild;
+        }
+    }
+
+    private ItemSuggestion[] computeTop(Node node) {
+        List<ItemSuggestion> candidates = new ArrayList<>();
+        if (node.entries != null) {
+            candidates.addAll(Arrays.asList(node.entries));
+        }
+        for (Node child : node.children) {
+            if (child.top != null) {
+                candidates.addAll(Arrays.asList(child.top));
+            } else {
+                collect(child, candidates);
+            }
+        }
+        candidates.sort(ItemSuggestion.RANKING);
+        return candidates.subList(0, Math.min(maxResults, candidates.size())).toArray(new ItemSuggestion[0]);
+    }
+
+    private static List<ItemSuggestion> collectSorted(Node node) {
+        List<ItemSuggestion> all = new ArrayList<>(node.size);
+        collect(node, all);
+        all.sort(ItemSuggestion.RANKING);
+        return all;
+    }
+
+    private static void collect(Node node, List<ItemSuggestion> into) {
+        if (node.entries != null) {
+            into.addAll(Arrays.asList(node.entries));
+        }
+        for (Node child : node.children) {
+            collect(child, into);
+        }
+    }
+
+    private static int commonPrefix(char[] label, String key, int pos) {
+        int max = Math.min(label.length, key.length() - pos);
+        int i = 0;
+        while (i < max && label[i] == key.charAt(pos + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static ItemSuggestion[] insertSorted(ItemSuggestion[] top, ItemSuggestion entry) {
+        ItemSuggestion[] result = top.clone();
+        int i = result.length - 1;
+        while (i > 0 && ItemSuggestion.RANKING.compare(entry, result[i - 1]) < 0) {
+            result[i] = result[i - 1];
+            i--;
+        }
+        result[i] = entry;
+        return result;
+    }
+
+    private static ItemSuggestion[] append(ItemSuggestion[] entries, ItemSuggestion entry) {
+        if (entries == null) {
+            return new ItemSuggestion[]{entry};
+        }
+        ItemSuggestion[] result = Arrays.copyOf(entries, entries.length + 1);
+        result[entries.length] = entry;
+        return result;
+    }
+
+    private static ItemSuggestion[] removeAt(ItemSuggestion[] entries, int index) {
+        if (entries.length == 1) {
+            return null;
+        }
+        ItemSuggestion[] result = new ItemSuggestion[entries.length - 1];
+        System.arraycopy(entries, 0, result, 0, index);
+        System.arraycopy(entries, index + 1, result, index, entries.length - index - 1);
+        return result;
+    }
+
+    private static int indexOf(ItemSuggestion[] entries, long id) {
+        if (entries != null) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].getId() == id) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static final class Node {
+
+        private char[] label;
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private ItemSuggestion[] entries;
+        private ItemSuggestion[] top;
+        private int size;
+
+        private Node(char[] label) {
+            this.label = label;
+        }
+
+        private void addChild(int index, Node child) {
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = child.label[0];
+            newChildren[index] = child;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private void removeChild(int index) {
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+}
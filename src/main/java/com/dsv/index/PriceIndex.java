@@ -0,0 +1,19 @@
+package com.dsv.index;
+
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ordered index of item IDs by price, for price-range filters and price-sorted queries.
+ */
+@Component
+@Lazy(false)
+public class PriceIndex extends OrderedIndex<Double> {
+
+    public PriceIndex(ItemRepository itemRepository) {
+        super(Item::getPrice);
+        itemRepository.addListenerWithReplay(this);
+    }
+}
@@ -0,0 +1,278 @@
+package com.dsv.index;
+
+import com.dsv.dto.ItemQuery;
+import com.dsv.dto.QueryPlan;
+import com.dsv.dto.QueryResult;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Cost-based planner and executor for combined item queries.
+ *
+ * Every filter that has an index is an access path; its estimate is the number of items the index
+ * would hand out. Category and name prefix counts are exact and O(1) in the catalog size; range
+ * counts walk the ordered index but stop at the best estimate found so far, so a cheap path is
+ * never beaten by counting an expensive one. When the query sorts by price or stock, reading that
+ * index in sort order and stopping at the limit is costed as limit / selectivity of the other
+ * filters (assuming they are independent). The cheapest path wins, unless even that would touch
+ * more than {@code dsv.query.full-scan-ratio} of the catalog: then one parallel scan of the
+ * repository is cheaper than a lookup per candidate.
+ *
+ * Candidates from an index are resolved and re-checked against every filter as of one repository
+ * version, the latest one the indexes had been told about. Indexes are not versioned, so writes that
+ * overlap the query may already have moved or dropped an item in the index: every item written
+ * since the scan version is added as a candidate as well, and an in-order scan does not count such
+ * items towards its limit, since their index position is not the one they had at the scan version.
+ */
+@Component
+public class QueryPlanner {
+
+    static final String FULL_SCAN = "FULL_SCAN";
+    static final String CATEGORY_INDEX = "CATEGORY_INDEX";
+    static final String NAME_INDEX = "NAME_INDEX";
+    static final String PRICE_INDEX = "PRICE_INDEX";
+    static final String STOCK_INDEX = "STOCK_INDEX";
+
+    private static final String ORDERED = "_ORDERED";
+    private static final int SCAN_BATCH = 256;
+
+    private final ItemRepository itemRepository;
+    private final CategoryIndex categoryIndex;
+    private final PriceIndex priceIndex;
+    private final StockIndex stockIndex;
+    private final NameIndex nameIndex;
+    private final double fullScanRatio;
+
+    public QueryPlanner(ItemRepository itemRepository,
+                        CategoryIndex categoryIndex,
+                        PriceIndex priceIndex,
+                        StockIndex stockIndex,
+                        NameIndex nameIndex,
+                        @Value("${dsv.query.full-scan-ratio:0.25}") double fullScanRatio) {
+        this.itemRepository = itemRepository;
+        this.categoryIndex = categoryIndex;
+        this.priceIndex = priceIndex;
+        this.stockIndex = stockIndex;
+        this.nameIndex = nameIndex;
+        this.fullScanRatio = fullScanRatio;
+    }
+
+    /**
+     * Plan and run a query.
+     *
+     * @param query filters, sort and limit; the sort field must be one of {@link ItemQuery#SORT_FIELDS}
+     * @return up to limit matching items in sort order, with the plan if the query asks for it
+     */
+    public QueryResult execute(ItemQuery query) {
+        long total = itemRepository.count();
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        estimates.put(FULL_SCAN, total);
+
+        String path = FULL_SCAN;
+        long best = total;
+        // Exact counts first, so the range counts below can stop early
+        if (query.getCategory() != null) {
+            long estimate = categoryIndex.count(query.getCategory());
+            estimates.put(CATEGORY_INDEX, estimate);
+            if (estimate < best) {
+                path = CATEGORY_INDEX;
+                best = estimate;
+            }
+        }
+        if (query.getName() != null) {
+            long estimate = nameIndex.count(query.getName());
+            estimates.put(NAME_INDEX, estimate);
+            if (estimate < best) {
+                path = NAME_INDEX;
+                best = estimate;
+            }
+        }
+        if (hasPriceRange(query)) {
+            long estimate = priceIndex.count(query.getMinPrice(), query.getMaxPrice(), best);
+            estimates.put(PRICE_INDEX, estimate);
+            if (estimate < best) {
+                path = PRICE_INDEX;
+                best = estimate;
+            }
+        }
+        if (hasStockRange(query)) {
+            long estimate = stockIndex.count(query.getMinStock(), query.getMaxStock(), best);
+            estimates.put(STOCK_INDEX, estimate);
+            if (estimate < best) {
+                path = STOCK_INDEX;
+                best = estimate;
+            }
+        }
+
+        String sortIndex = switch (query.sortField()) {
+            case "price" -> PRICE_INDEX;
+            case "stock" -> STOCK_INDEX;
+            default -> null;
+        };
+        boolean ordered = false;
+        if (sortIndex != null && total > 0) {
+            long estimate = orderedScanCost(query, sortIndex, estimates, total);
+            estimates.put(sortIndex + ORDERED, estimate);
+            if (estimate < best) {
+                path = sortIndex;
+                best = estimate;
+                ordered = true;
+            }
+        }
+        if (!ordered && best > total * fullScanRatio) {
+            path = FULL_SCAN;
+            best = total;
+        }
+
+        Predicate<Item> filter = filter(query);
+        Comparator<Item> order = query.comparator();
+        List<Item> items;
+        long examined;
+        if (path.equals(FULL_SCAN)) {
+            items = itemRepository.findMatching(filter);
+            examined = total;
+        } else {
+            items = new ArrayList<>();
+            try (ItemRepository.VersionScan scan = itemRepository.openIndexedScan()) {
+                Set<Long> seen = new HashSet<>();
+                if (ordered) {
+                    examined = path.equals(PRICE_INDEX)
+                            ? scanInOrder(priceIndex, query.getMinPrice(), query.getMaxPrice(), query, filter, scan, seen, items)
+                            : scanInOrder(stockIndex, query.getMinStock(), query.getMaxStock(), query, filter, scan, seen, items);
+                } else {
+                    List<Long> ids = switch (path) {
+                        case CATEGORY_INDEX -> categoryIndex.ids(query.getCategory());
+                        case NAME_INDEX -> nameIndex.ids(query.getName());
+                        case PRICE_INDEX -> rangeIds(priceIndex, query.getMinPrice(), query.getMaxPrice());
+                        default -> rangeIds(stockIndex, query.getMinStock(), query.getMaxStock());
+                    };
+                    for (Long id : ids) {
+                        if (seen.add(id)) {
+                            scan.findById(id).filter(filter).ifPresent(items::add);
+                        }
+                    }
+                    examined = ids.size();
+                }
+                // Items written since the scan version may have left the index before it was read
+                for (Long id : scan.changedIds()) {
+                    if (seen.add(id)) {
+                        scan.findById(id).filter(filter).ifPresent(items::add);
+                        examined++;
+                    }
+                }
+            }
+        }
+        items.sort(order);
+        if (items.size() > query.getLimit()) {
+            items = new ArrayList<>(items.subList(0, query.getLimit()));
+        }
+
+        QueryPlan plan = query.isExplain()
+                ? new QueryPlan(path, ordered, best, examined, total, estimates)
+                : null;
+        return new QueryResult(items, plan);
+    }
+
+    /**
+     * Rows an in-order index scan reads before it has found limit matches of the other filters.
+     */
+    private long orderedScanCost(ItemQuery query, String sortIndex, Map<String, Long> estimates, long total) {
+        long inRange = estimates.getOrDefault(sortIndex, total);
+        double selectivity = 1.0;
+        for (Map.Entry<String, Long> estimate : estimates.entrySet()) {
+            if (!estimate.getKey().equals(FULL_SCAN) && !estimate.getKey().equals(sortIndex)) {
+                selectivity *= (double) estimate.getValue() / total;
+            }
+        }
+        if (selectivity == 0) {
+            return inRange;
+        }
+        return (long) Math.min(inRange, Math.ceil(query.getLimit() / selectivity));
+    }
+
+    private static <K extends Comparable<? super K>> List<Long> rangeIds(OrderedIndex<K> index, K from, K to) {
+        List<Long> ids = new ArrayList<>();
+        OrderedIndex.Position<K> after = null;
+        List<OrderedIndex.Position<K>> batch;
+        do {
+            batch = index.scan(from, to, false, after, SCAN_BATCH);
+            for (OrderedIndex.Position<K> position : batch) {
+                ids.add(position.id());
+            }
+            after = batch.isEmpty() ? null : batch.get(batch.size() - 1);
+        } while (batch.size() == SCAN_BATCH);
+        return ids;
+    }
+
+    /**
+     * Read the index in sort order until limit distinct items that have not changed since the scan
+     * version pass the filter. Changed items that pass are added too, but only the unchanged ones are
+     * known to sit at their scan-version position in the index.
+     *
+     * @return the number of index entries read
+     */
+    private static <K extends Comparable<? super K>> long scanInOrder(OrderedIndex<K> index, K from, K to,
+                                                                      ItemQuery query, Predicate<Item> filter,
+                                                                      ItemRepository.VersionScan scan,
+                                                                      Set<Long> seen, List<Item> into) {
+        long examined = 0;
+        int inPlace = 0;
+        OrderedIndex.Position<K> after = null;
+        List<OrderedIndex.Position<K>> batch;
+        do {
+            batch = index.scan(from, to, query.isDescending(), after, SCAN_BATCH);
+            for (OrderedIndex.Position<K> position : batch) {
+                examined++;
+                if (!seen.add(position.id())) {
+                    continue;
+                }
+                Optional<Item> match = scan.findById(position.id()).filter(filter);
+                if (match.isPresent()) {
+                    into.add(match.get());
+                    // Checked after the index was read: an item current now was current then
+                    if (scan.isCurrent(position.id()) && ++inPlace == query.getLimit()) {
+                        return examined;
+                    }
+                }
+            }
+            after = batch.isEmpty() ? null : batch.get(batch.size() - 1);
+        } while (batch.size() == SCAN_BATCH);
+        return examined;
+    }
+
+    private static boolean hasPriceRange(ItemQuery query) {
+        return query.getMinPrice() != null || query.getMaxPrice() != null;
+    }
+
+    private static boolean hasStockRange(ItemQuery query) {
+        return query.getMinStock() != null || query.getMaxStock() != null;
+    }
+
+    private static Predicate<Item> filter(ItemQuery query) {
+        String category = query.getCategory() != null ? Item.categoryKey(query.getCategory()) : null;
+        Double minPrice = query.getMinPrice();
+        Double maxPrice = query.getMaxPrice();
+        Integer minStock = query.getMinStock();
+        Integer maxStock = query.getMaxStock();
+        String prefix = query.getName() != null ? NameIndex.normalize(query.getName()) : null;
+        return item -> (category == null
+                        || item.getCategory() != null && Item.categoryKey(item.getCategory()).equals(category))
+                && (minPrice == null || item.getPrice() >= minPrice)
+                && (maxPrice == null || item.getPrice() <= maxPrice)
+                && (minStock == null || item.getStock() >= minStock)
+                && (maxStock == null || item.getStock() <= maxStock)
+                && (prefix == null || NameIndex.normalize(item.getName()).startsWith(prefix));
+    }
+}
@@ -0,0 +1,113 @@
+package com.dsv.index;
+
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ordered index of item IDs by stock, so the items with the lowest stock are found in O(log n + k).
+ * Only IDs are indexed; callers resolve the items through the repository.
+ *
+ * The index also watches per-category low-stock thresholds and publishes a {@link LowStockEvent}
+ * when an update takes an item's stock from at or above its threshold to below it. Events are
+ * published from a separate thread, so event listeners never run under the repository write lock.
+ */
+@Component
+@Lazy(false)
+public class StockIndex extends OrderedIndex<Integer> {
+
+    private final Map<String, Integer> thresholds = new ConcurrentHashMap<>();
+    private final int defaultThreshold;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService alertExecutor;
+
+    public StockIndex(ItemRepository itemRepository,
+                      ApplicationEventPublisher eventPublisher,
+                      @Value("${dsv.low-stock.default-threshold:5}") int defaultThreshold) {
+        super(Item::getStock);
+        this.eventPublisher = eventPublisher;
+        this.defaultThreshold = defaultThreshold;
+        this.alertExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "low-stock-alerts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        itemRepository.addListenerWithReplay(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        alertExecutor.shutdownNow();
+    }
+
+    @Override
+    public void onChange(Item previous, Item current) {
+        super.onChange(previous, current);
+        if (previous != null && current != null) {
+            checkThreshold(previous, current);
+        }
+    }
+
+    /**
+     * @param threshold exclusive upper bound on stock
+     * @param limit maximum number of IDs
+     * @return IDs of items with stock below threshold, lowest stock first, ties by ID
+     */
+    public List<Long> findBelow(int threshold, int limit) {
+        if (threshold <= 0) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limit, 64));
+        for (Position<Integer> position : scan(null, threshold - 1, false, null, limit)) {
+            ids.add(position.id());
+        }
+        return ids;
+    }
+
+    /**
+     * @return the low-stock threshold of a category, matched ignoring case
+     */
+    public int getThreshold(String category) {
+        return category != null
+                ? thresholds.getOrDefault(Item.categoryKey(category), defaultThreshold)
+                : defaultThreshold;
+    }
+
+    /**
+     * Set the low-stock threshold of a category, matched ignoring case; applies to changes made afterwards.
+     */
+    public void setThreshold(String category, int threshold) {
+        thresholds.put(Item.categoryKey(category), threshold);
+    }
+
+    /**
+     * @return lower-cased categories with an explicit threshold
+     */
+    public Map<String, Integer> getThresholds() {
+        return Map.copyOf(thresholds);
+    }
+
+    public int getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    private void checkThreshold(Item previous, Item current) {
+        int threshold = getThreshold(current.getCategory());
+        if (current.getStock() < threshold && previous.getStock() >= getThreshold(previous.getCategory())) {
+            LowStockEvent event = new LowStockEvent(current.getId(), current.getName(), current.getCategory(),
+                    previous.getStock(), current.getStock(), threshold);
+            alertExecutor.execute(() -> eventPublisher.publishEvent(event));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.dsv.replication;
+
+import com.dsv.exception.ReplicaUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Makes a follower serve the Item API read-only and only while its replication lag is bounded.
+ * Every response carries the current lag in the {@code X-Replication-Lag-Millis} header.
+ */
+public class FollowerReadInterceptor implements HandlerInterceptor {
+
+    static final String LAG_HEADER = "X-Replication-Lag-Millis";
+
+    private final ReplicationFollower follower;
+
+    public FollowerReadInterceptor(ReplicationFollower follower) {
+        this.follower = follower;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            throw new ReplicaUnavailableException("This node is a read-only replica, send writes to the leader");
+        }
+        if (!follower.isReadable()) {
+            throw new ReplicaUnavailableException("Replica is not in sync with the leader, please retry later");
+        }
+        response.setHeader(LAG_HEADER, String.valueOf(follower.lagMillis()));
+        return true;
+    }
+}
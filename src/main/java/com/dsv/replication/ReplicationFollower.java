@@ -0,0 +1,223 @@
+package com.dsv.replication;
+
+import com.dsv.dto.ReplicationStatus;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Follower side of replication: keeps the local repository in sync with the leader.
+ *
+ * On every (re)connect the follower loads a full snapshot and then applies the leader's
+ * change stream in order, skipping changes at or below the snapshot's sequence: the snapshot already
+ * holds them, and replaying one would briefly roll its item back. Lag is measured against the leader's clock: the follower is known to
+ * be in sync up to the commit time of the last change it applied, or up to the send time of a
+ * heartbeat whose sequence it has already applied. A follower working through a backlog therefore
+ * reports the age of the change it is applying, and an idle follower stays below the heartbeat
+ * interval plus network delay. Leader and follower clocks are assumed to be synchronized.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "dsv.replication.role", havingValue = "follower")
+public class ReplicationFollower implements ReplicationNode {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationFollower.class);
+
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final ItemRepository itemRepository;
+    private final String leaderHost;
+    private final int leaderPort;
+    private final long maxLagMillis;
+
+    private volatile boolean running;
+    private volatile Socket socket;
+    private volatile boolean caughtUp;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long syncedAtMillis;
+    private List<Item> pendingSnapshot;
+    private long snapshotTakenAtMillis;
+
+    public ReplicationFollower(ItemRepository itemRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${dsv.replication.leader-host:127.0.0.1}") String leaderHost,
+                               @Value("${dsv.replication.leader-port:7070}") int leaderPort,
+                               @Value("${dsv.replication.max-lag-millis:1000}") long maxLagMillis) {
+        this.itemRepository = itemRepository;
+        this.leaderHost = leaderHost;
+        this.leaderPort = leaderPort;
+        this.maxLagMillis = maxLagMillis;
+
+        Gauge.builder("dsv.replication.lag", this, ReplicationFollower::lagMillis)
+                .description("Age of the leader state the follower is known to be in sync with")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread receiver = new Thread(this::receiveLoop, "replication-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * @return milliseconds between now and the leader time up to which the follower is known to be
+     *         in sync, or {@link Long#MAX_VALUE} before the first snapshot was loaded
+     */
+    public long lagMillis() {
+        long synced = syncedAtMillis;
+        return synced == 0 ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - synced);
+    }
+
+    /**
+     * @return true if reads may be served, i.e. a snapshot has been loaded and lag is within bounds
+     */
+    public boolean isReadable() {
+        return caughtUp && lagMillis() <= maxLagMillis;
+    }
+
+    @Override
+    public ReplicationStatus status() {
+        long lag = lagMillis();
+        return new ReplicationStatus("FOLLOWER", appliedSequence, null, leaderSequence,
+                lag == Long.MAX_VALUE ? null : lag, caughtUp);
+    }
+
+    private void receiveLoop() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(new InetSocketAddress(leaderHost, leaderPort), 5000);
+                connection.setTcpNoDelay(true);
+                log.info("Connected to replication leader {}:{}", leaderHost, leaderPort);
+                consume(new DataInputStream(new BufferedInputStream(connection.getInputStream(), 64 * 1024)));
+            } catch (IOException ex) {
+                if (running) {
+                    log.warn("Replication link to {}:{} lost: {}", leaderHost, leaderPort, ex.getMessage());
+                }
+            }
+            caughtUp = false;
+            if (running) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void consume(DataInputStream in) throws IOException {
+        pendingSnapshot = null;
+        while (running) {
+            applyFrame(in);
+        }
+    }
+
+    /**
+     * Read and apply one frame of the replication stream.
+     *
+     * @throws IOException if the stream fails or the frame is not valid at this point of the stream
+     */
+    void applyFrame(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case ReplicationProtocol.SNAPSHOT_BEGIN -> {
+                caughtUp = false;
+                appliedSequence = in.readLong();
+                snapshotTakenAtMillis = in.readLong();
+                pendingSnapshot = new ArrayList<>();
+            }
+            case ReplicationProtocol.SNAPSHOT_ITEM -> snapshotInProgress(type).add(ReplicationProtocol.readItem(in));
+            case ReplicationProtocol.SNAPSHOT_END -> {
+                List<Item> snapshot = snapshotInProgress(type);
+                itemRepository.replaceAll(snapshot);
+                log.info("Loaded snapshot of {} items at sequence {}", snapshot.size(), appliedSequence);
+                pendingSnapshot = null;
+                if (appliedSequence > leaderSequence) {
+                    leaderSequence = appliedSequence;
+                }
+                syncedAtMillis = snapshotTakenAtMillis;
+                caughtUp = true;
+            }
+            case ReplicationProtocol.PUT -> {
+                long seq = in.readLong();
+                long committedAt = in.readLong();
+                Item item = ReplicationProtocol.readItem(in);
+                if (seq > appliedSequence) {
+                    itemRepository.upsert(item);
+                    applied(seq, committedAt);
+                }
+            }
+            case ReplicationProtocol.DELETE -> {
+                long seq = in.readLong();
+                long committedAt = in.readLong();
+                long id = in.readLong();
+                if (seq > appliedSequence) {
+                    itemRepository.deleteById(id);
+                    applied(seq, committedAt);
+                }
+            }
+            case ReplicationProtocol.HEARTBEAT -> {
+                long seq = in.readLong();
+                long sentAt = in.readLong();
+                if (seq > leaderSequence) {
+                    leaderSequence = seq;
+                }
+                // Everything the leader had committed when it sent the heartbeat has been applied
+                if (caughtUp && appliedSequence >= seq && sentAt > syncedAtMillis) {
+                    syncedAtMillis = sentAt;
+                }
+            }
+            default -> throw new IOException("Unknown replication frame type " + type);
+        }
+    }
+
+    private List<Item> snapshotInProgress(byte type) throws IOException {
+        if (pendingSnapshot == null) {
+            throw new IOException("Replication frame type " + type + " outside a snapshot");
+        }
+        return pendingSnapshot;
+    }
+
+    private void applied(long seq, long committedAt) {
+        appliedSequence = seq;
+        if (seq > leaderSequence) {
+            leaderSequence = seq;
+        }
+        if (committedAt > syncedAtMillis) {
+            syncedAtMillis = committedAt;
+        }
+    }
+}
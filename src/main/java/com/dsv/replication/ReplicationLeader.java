@@ -0,0 +1,223 @@
+package com.dsv.replication;
+
+import com.dsv.dto.ReplicationStatus;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemChangeListener;
+import com.dsv.repository.ItemRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leader side of replication: streams every repository change, in order, to connected followers.
+ *
+ * Each follower first receives a snapshot of the repository and then the tail of changes made
+ * since it registered. The snapshot is read at a repository version that includes every change up to
+ * the sequence it is labelled with, so the follower can drop tail changes it already holds. Changes are encoded once on the writing thread and handed to a bounded
+ * per-follower queue; a follower that falls too far behind is disconnected and resyncs from a
+ * fresh snapshot when it reconnects.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "dsv.replication.role", havingValue = "leader")
+public class ReplicationLeader implements ItemChangeListener, ReplicationNode {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationLeader.class);
+
+    private final ItemRepository itemRepository;
+    private final int port;
+    private final String bindAddress;
+    private final long heartbeatMillis;
+    private final int queueCapacity;
+
+    private final List<FollowerSession> sessions = new CopyOnWriteArrayList<>();
+
+    // Guarded by "this"
+    private long sequence;
+
+    private volatile ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ReplicationLeader(ItemRepository itemRepository,
+                             @Value("${dsv.replication.port:7070}") int port,
+                             @Value("${dsv.replication.bind-address:127.0.0.1}") String bindAddress,
+                             @Value("${dsv.replication.heartbeat-millis:100}") long heartbeatMillis,
+                             @Value("${dsv.replication.queue-capacity:100000}") int queueCapacity) {
+        this.itemRepository = itemRepository;
+        this.port = port;
+        this.bindAddress = bindAddress;
+        this.heartbeatMillis = heartbeatMillis;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getByName(bindAddress));
+        running = true;
+        itemRepository.addListener(this);
+
+        Thread acceptor = new Thread(this::acceptLoop, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Replication leader listening on {}:{}", bindAddress, serverSocket.getLocalPort());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (FollowerSession session : sessions) {
+            session.close();
+        }
+    }
+
+    @Override
+    public void onChange(Item previous, Item current) {
+        synchronized (this) {
+            long seq = ++sequence;
+            long now = System.currentTimeMillis();
+            byte[] frame = current != null
+                    ? ReplicationProtocol.encodePut(seq, now, current)
+                    : ReplicationProtocol.encodeDelete(seq, now, previous.getId());
+            for (FollowerSession session : sessions) {
+                session.enqueue(frame);
+            }
+        }
+    }
+
+    @Override
+    public synchronized ReplicationStatus status() {
+        return new ReplicationStatus("LEADER", sequence, sessions.size(), null, null, null);
+    }
+
+    private synchronized long currentSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the port followers connect to
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                FollowerSession session;
+                synchronized (this) {
+                    // Registered before the snapshot is read: every later change reaches the queue.
+                    session = new FollowerSession(socket);
+                    sessions.add(session);
+                }
+                Thread sender = new Thread(session::run, "replication-sender-" + socket.getRemoteSocketAddress());
+                sender.setDaemon(true);
+                sender.start();
+                log.info("Follower connected from {}", socket.getRemoteSocketAddress());
+            } catch (SocketException ex) {
+                if (running) {
+                    log.warn("Replication acceptor failed", ex);
+                }
+            } catch (IOException ex) {
+                log.warn("Failed to accept follower connection", ex);
+            }
+        }
+    }
+
+    private final class FollowerSession {
+
+        private final Socket socket;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private volatile boolean overflowed;
+
+        FollowerSession(Socket socket) {
+            this.socket = socket;
+        }
+
+        void enqueue(byte[] frame) {
+            if (!queue.offer(frame)) {
+                overflowed = true;
+            }
+        }
+
+        void run() {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream(), 64 * 1024))) {
+                sendSnapshot(out);
+
+                while (running && !overflowed) {
+                    byte[] frame = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    while (frame != null) {
+                        out.write(frame);
+                        frame = queue.poll();
+                    }
+                    ReplicationProtocol.writeHeartbeat(out, currentSequence(), System.currentTimeMillis());
+                    out.flush();
+                }
+                if (overflowed) {
+                    log.warn("Follower {} fell more than {} changes behind, disconnecting",
+                            socket.getRemoteSocketAddress(), queueCapacity);
+                }
+            } catch (IOException ex) {
+                log.info("Follower {} disconnected: {}", socket.getRemoteSocketAddress(), ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                sessions.remove(this);
+                close();
+            }
+        }
+
+        private void sendSnapshot(DataOutputStream out) throws IOException {
+            long snapshotSequence;
+            ItemRepository.VersionScan scan;
+            synchronized (ReplicationLeader.this) {
+                // Changes are sequenced after they commit, so the scan includes every change up to
+                // snapshotSequence; the follower skips those when they arrive again from the queue.
+                snapshotSequence = sequence;
+                scan = itemRepository.openScan();
+            }
+            long takenAt = System.currentTimeMillis();
+            List<Item> snapshot;
+            try (scan) {
+                snapshot = scan.findAll();
+            }
+            ReplicationProtocol.writeSnapshotBegin(out, snapshotSequence, takenAt);
+            for (Item item : snapshot) {
+                ReplicationProtocol.writeSnapshotItem(out, item);
+            }
+            ReplicationProtocol.writeSnapshotEnd(out);
+            out.flush();
+            log.info("Sent snapshot of {} items at sequence {} to {}",
+                    snapshot.size(), snapshotSequence, socket.getRemoteSocketAddress());
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+    }
+}
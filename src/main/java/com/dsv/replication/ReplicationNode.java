@@ -0,0 +1,14 @@
+package com.dsv.replication;
+
+import com.dsv.dto.ReplicationStatus;
+
+/**
+ * A node taking part in leader/follower replication.
+ */
+public interface ReplicationNode {
+
+    /**
+     * @return the current replication state of this node
+     */
+    ReplicationStatus status();
+}
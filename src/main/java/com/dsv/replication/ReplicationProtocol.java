@@ -0,0 +1,136 @@
+package com.dsv.replication;
+
+import com.dsv.entity.Item;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary frames exchanged between leader and followers.
+ *
+ * A follower connection starts with SNAPSHOT_BEGIN, one SNAPSHOT_ITEM per item and SNAPSHOT_END,
+ * followed by the tail: PUT and DELETE frames in leader order and periodic HEARTBEAT frames.
+ * PUT frames carry the full item state, so re-applying a change that is already part of the
+ * snapshot is harmless.
+ *
+ * SNAPSHOT_BEGIN, PUT, DELETE and HEARTBEAT carry a sequence and a leader wall-clock time in epoch
+ * milliseconds: when the snapshot was taken, when the change was committed, or when the leader
+ * read the sequence sent in the heartbeat. Followers measure their lag against these times.
+ */
+final class ReplicationProtocol {
+
+    static final byte SNAPSHOT_BEGIN = 1;
+    static final byte SNAPSHOT_ITEM = 2;
+    static final byte SNAPSHOT_END = 3;
+    static final byte PUT = 4;
+    static final byte DELETE = 5;
+    static final byte HEARTBEAT = 6;
+
+    private ReplicationProtocol() {
+    }
+
+    static byte[] encodePut(long sequence, long committedAtMillis, Item item) {
+        return encode(out -> {
+            out.writeByte(PUT);
+            out.writeLong(sequence);
+            out.writeLong(committedAtMillis);
+            writeItem(out, item);
+        });
+    }
+
+    static byte[] encodeDelete(long sequence, long committedAtMillis, long id) {
+        return encode(out -> {
+            out.writeByte(DELETE);
+            out.writeLong(sequence);
+            out.writeLong(committedAtMillis);
+            out.writeLong(id);
+        });
+    }
+
+    static void writeSnapshotBegin(DataOutput out, long sequence, long takenAtMillis) throws IOException {
+        out.writeByte(SNAPSHOT_BEGIN);
+        out.writeLong(sequence);
+        out.writeLong(takenAtMillis);
+    }
+
+    static void writeSnapshotItem(DataOutput out, Item item) throws IOException {
+        out.writeByte(SNAPSHOT_ITEM);
+        writeItem(out, item);
+    }
+
+    static void writeSnapshotEnd(DataOutput out) throws IOException {
+        out.writeByte(SNAPSHOT_END);
+    }
+
+    static void writeHeartbeat(DataOutput out, long sequence, long sentAtMillis) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(sequence);
+        out.writeLong(sentAtMillis);
+    }
+
+    static void writeItem(DataOutput out, Item item) throws IOException {
+        out.writeLong(item.getId());
+        writeString(out, item.getName());
+        writeString(out, item.getDescription());
+        out.writeBoolean(item.getPrice() != null);
+        if (item.getPrice() != null) {
+            out.writeDouble(item.getPrice());
+        }
+        out.writeBoolean(item.getStock() != null);
+        if (item.getStock() != null) {
+            out.writeInt(item.getStock());
+        }
+        writeString(out, item.getCategory());
+    }
+
+    static Item readItem(DataInput in) throws IOException {
+        Item item = new Item();
+        item.setId(in.readLong());
+        item.setName(readString(in));
+        item.setDescription(readString(in));
+        item.setPrice(in.readBoolean() ? in.readDouble() : null);
+        item.setStock(in.readBoolean() ? in.readInt() : null);
+        item.setCategory(readString(in));
+        return item;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(FrameWriter writer) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        try {
+            writer.write(new DataOutputStream(buffer));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface FrameWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
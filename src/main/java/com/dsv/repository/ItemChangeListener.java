@@ -0,0 +1,33 @@
+package com.dsv.repository;
+
+import com.dsv.entity.Item;
+
+import java.util.List;
+
+/**
+ * Callback for changes made through {@link ItemRepository}.
+ * Listeners run on the writing thread, so they must be fast and must not call back into the repository.
+ */
+public interface ItemChangeListener {
+    
+    /**
+     * Called after an item was created, updated or deleted.
+     * 
+     * @param previous the item before the change, or null if it was created
+     * @param current the item after the change, or null if it was deleted
+     */
+    void onChange(Item previous, Item current);
+    
+    /**
+     * Called once for items created together in one commit, such as a bulk import chunk,
+     * instead of {@link #onChange} for each of them. Listeners that can apply a batch more cheaply
+     * than one change at a time override this.
+     * 
+     * @param created the created items, in ID order
+     */
+    default void onCreated(List<Item> created) {
+        for (Item item : created) {
+            onChange(null, item);
+        }
+    }
+}
@@ -1,32 +1,135 @@
 package com.dsv.repository;
 
 import com.dsv.entity.Item;
+import com.dsv.exception.ItemAlreadyExistsException;
+import com.dsv.exception.SnapshotExpiredException;
+import com.dsv.storage.ColdSegment;
+import com.dsv.storage.FrequencySketch;
+import com.dsv.storage.TieredStorage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * Repository class for managing Item entities in memory.
- * Uses ArrayList as the in-memory data store.
+ *
+ * Storage is multi-versioned (MVCC): every write commits a new repository version, and each
+ * item keeps a chain of versions, newest first, in a ConcurrentSkipListMap ordered by ID.
+ * Readers resolve the newest entry at or below their snapshot version, so they see a stable
+ * point-in-time view without locking; writers are serialized by a single lock.
+ *
+ * Versions no longer visible to any reader are reclaimed in the background. Snapshots can be
+ * pinned for a while ({@link #openSnapshot()}) so paginated scans stay consistent across pages.
+ *
+ * Stored items are immutable snapshots: writes store a copy of the given item, and items
+ * returned by reads are shared and must not be modified - use {@link #update(Long, UnaryOperator)}.
  * Thread-safe ID generation using AtomicLong.
+ *
+ * With {@link TieredStorage} enabled, items that have a single version and are rarely read by ID
+ * are moved out of the heap into a cold segment file whenever in-memory items exceed the heap
+ * budget; their chain entry then holds only the record's location. A lookup by ID that finds a
+ * cold item reads it back and, once the item is read often enough, keeps it in memory again.
  */
 @Repository
 public class ItemRepository {
-    
 
-    private final List<Item> items = new ArrayList<>();
-    
+    private static final Logger log = LoggerFactory.getLogger(ItemRepository.class);
 
-    private final AtomicLong idGenerator = new AtomicLong(1);
-    
+    private static final int MAX_READ_ATTEMPTS = 3;
+    private static final int TIERING_BATCH = 256;
 
-    public ItemRepository() {
-        initializeSampleData();
+    private final ConcurrentSkipListMap<Long, ItemVersion> items = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Latest committed version; written only while holding writeLock
+    private volatile long committedVersion;
+    // Latest version whose changes all listeners have been told about; written only while holding writeLock
+    private volatile long notifiedVersion;
+    private volatile long liveCount;
+
+    // Pinned snapshot version -> expiry time in epoch millis
+    private final Map<Long, Long> pinnedSnapshots = new ConcurrentHashMap<>();
+
+    // Version -> number of scans currently reading it
+    private final Map<Long, Integer> activeScans = new ConcurrentHashMap<>();
+
+    // IDs that gained an older version or a tombstone, in commit order, for the reclaimer
+    private final ConcurrentLinkedQueue<long[]> reclaimQueue = new ConcurrentLinkedQueue<>();
+
+    // Version -> IDs it updated or deleted, for scans that reconcile indexes with their version (see openIndexedScan)
+    private final ConcurrentSkipListMap<Long, long[]> changedIdsByVersion = new ConcurrentSkipListMap<>();
+
+    // Versions below this may have lost their history
+    private volatile long reclaimHorizon;
+
+    private final long snapshotTtlMillis;
+    private final long reclaimIntervalMillis;
+    private ScheduledExecutorService reclaimer;
+
+    // Generated IDs are idOffset + n * idStride, n taken from idGenerator.
+    // A single node uses offset 1 and stride 1; cluster nodes interleave their ID ranges.
+    private final AtomicLong idGenerator = new AtomicLong(0);
+    private volatile long idOffset = 1;
+    private volatile int idStride = 1;
+
+    private final List<ItemChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Changes of the write in progress as {previous, current}, announced on commit; guarded by writeLock
+    private final List<Item[]> pendingChanges = new ArrayList<>();
+
+    private final TieredStorage tiers;
+    private final ReentrantLock rebalanceLock = new ReentrantLock();
+
+    // Where the last eviction pass stopped; guarded by rebalanceLock
+    private Long evictionHand;
+
+
+    public ItemRepository(boolean sampleData, long snapshotTtlMillis, long reclaimIntervalMillis) {
+        this(sampleData, snapshotTtlMillis, reclaimIntervalMillis, TieredStorage.disabled());
     }
-    
+
+    @Autowired
+    public ItemRepository(
+            @Value("${dsv.repository.sample-data:#{!${dsv.cluster.enabled:false}}}") boolean sampleData,
+            @Value("${dsv.repository.snapshot-ttl-millis:60000}") long snapshotTtlMillis,
+            @Value("${dsv.repository.reclaim-interval-millis:1000}") long reclaimIntervalMillis,
+            TieredStorage tiers) {
+        this.snapshotTtlMillis = snapshotTtlMillis;
+        this.reclaimIntervalMillis = reclaimIntervalMillis;
+        this.tiers = tiers;
+        if (sampleData) {
+            initializeSampleData();
+        }
+    }
+
 
     private void initializeSampleData() {
         save(new Item("Laptop", "High-performance laptop with 16GB RAM", 899.99, 15, "Electronics"));
@@ -35,98 +138,981 @@ public class ItemRepository {
         save(new Item("Coffee Maker", "Automatic drip coffee maker with timer", 79.99, 30, "Home Appliances"));
         save(new Item("Running Shoes", "Lightweight running shoes for all terrains", 89.99, 40, "Sports"));
     }
-    
+
+    @PostConstruct
+    public void startReclaimer() {
+        reclaimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "item-version-reclaimer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reclaimer.scheduleWithFixedDelay(this::reclaimVersions,
+                reclaimIntervalMillis, reclaimIntervalMillis, TimeUnit.MILLISECONDS);
+        if (tiers.isEnabled()) {
+            reclaimer.scheduleWithFixedDelay(this::rebalanceTiers,
+                    tiers.getRebalanceIntervalMillis(), tiers.getRebalanceIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stopReclaimer() {
+        if (reclaimer != null) {
+            reclaimer.shutdownNow();
+        }
+    }
+
+    /**
+     * Interleave generated IDs with other nodes: this node generates offset, offset + stride, ...
+     * Must be called before the repository is used.
+     *
+     * @param offset the first ID this node generates
+     * @param stride the distance between consecutive IDs of this node
+     */
+    public void configureIdAllocation(long offset, int stride) {
+        if (offset < 1 || stride < 1) {
+            throw new IllegalArgumentException("ID offset and stride must be positive");
+        }
+        this.idOffset = offset;
+        this.idStride = stride;
+        idGenerator.set(0);
+    }
+
+    /**
+     * Reserve the next ID without storing an item.
+     *
+     * @return a unique ID generated by this node
+     */
+    public long allocateId() {
+        return idOffset + idGenerator.getAndIncrement() * idStride;
+    }
+
+    /**
+     * Make sure IDs generated later are above every ID stored from elsewhere, so they cannot
+     * collide with it even if it was generated with a different offset or stride.
+     */
+    private void observeId(long id) {
+        long delta = id - idOffset;
+        if (delta >= 0) {
+            idGenerator.accumulateAndGet(delta / idStride + 1, Math::max);
+        }
+    }
+
+    /**
+     * Register a listener that is notified after every change.
+     * Listeners are called in commit order, once the change is committed, while the write lock is held.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(ItemChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Register a listener and first replay every live item to it as a creation.
+     * Replay and registration happen under the write lock, so no change is missed or seen twice;
+     * use this for listeners that maintain derived state such as indexes.
+     *
+     * @param listener the listener to add
+     */
+    public void addListenerWithReplay(ItemChangeListener listener) {
+        writeLock.lock();
+        try {
+            for (ItemVersion head : items.values()) {
+                if (head.isLive()) {
+                    listener.onChange(null, load(head));
+                }
+            }
+            listeners.add(listener);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Publish a write: make its version visible, then tell listeners about its changes in order.
+     * Caller holds the write lock. Listeners only ever see committed changes; one that fails is
+     * logged and does not stop the others.
+     */
+    private void commit(long version) {
+        long[] changed = new long[pendingChanges.size()];
+        int count = 0;
+        for (Item[] change : pendingChanges) {
+            if (change[0] != null) {
+                changed[count++] = change[0].getId(); // An update or deletion; creations are not needed
+            }
+        }
+        if (count > 0) {
+            changedIdsByVersion.put(version, count == changed.length ? changed : Arrays.copyOf(changed, count));
+        }
+        committedVersion = version;
+        try {
+            for (Item[] change : pendingChanges) {
+                fireChange(change[0], change[1]);
+            }
+        } finally {
+            pendingChanges.clear();
+            notifiedVersion = version;
+        }
+    }
+
+    /**
+     * Publish a write that only created items, announcing them to each listener as one batch.
+     * Caller holds the write lock.
+     */
+    private void commitCreated(long version, List<Item> created) {
+        committedVersion = version;
+        try {
+            for (ItemChangeListener listener : listeners) {
+                try {
+                    listener.onCreated(Collections.unmodifiableList(created));
+                } catch (RuntimeException ex) {
+                    log.error("Item change listener {} failed for a batch of {} created items", listener,
+                            created.size(), ex);
+                }
+            }
+        } finally {
+            notifiedVersion = version;
+        }
+    }
+
+    private void fireChange(Item previous, Item current) {
+        for (ItemChangeListener listener : listeners) {
+            try {
+                listener.onChange(previous, current);
+            } catch (RuntimeException ex) {
+                log.error("Item change listener {} failed for item {}", listener,
+                        current != null ? current.getId() : previous.getId(), ex);
+            }
+        }
+    }
+
     /**
      * Save a new item to the repository.
      * Automatically generates and assigns a unique ID.
-     * 
+     *
      * @param item the item to save
      * @return the saved item with generated ID
      */
     public Item save(Item item) {
-        // Generate unique ID
-        item.setId(idGenerator.getAndIncrement());
-        items.add(item);
-        return item;
+        item.setId(allocateId());
+        writeLock.lock();
+        try {
+            long version = committedVersion + 1;
+            Item stored = install(item, version);
+            commit(version);
+            return stored;
+        } finally {
+            writeLock.unlock();
+        }
     }
-    
+
+    /**
+     * Save a batch of new items in a single version.
+     * IDs are allocated as one contiguous range for the whole batch.
+     *
+     * @param newItems the items to save
+     * @return the saved items with generated IDs
+     */
+    public List<Item> saveAll(List<Item> newItems) {
+        long next = idGenerator.getAndAdd(newItems.size());
+        for (Item item : newItems) {
+            item.setId(idOffset + next++ * idStride);
+        }
+        List<Item> stored = new ArrayList<>(newItems.size());
+        writeLock.lock();
+        try {
+            long version = committedVersion + 1;
+            for (Item item : newItems) {
+                stored.add(store(item, version, null)); // Freshly allocated IDs have no chain yet
+            }
+            commitCreated(version, stored);
+        } finally {
+            writeLock.unlock();
+        }
+        if (tiers.isOverBudget()) {
+            rebalanceTiers(); // A large import must not wait for the next scheduled pass
+        }
+        return stored;
+    }
+
     /**
      * Find an item by its ID.
-     * 
+     *
      * @param id the ID to search for
      * @return Optional containing the item if found, empty Optional otherwise
      */
     public Optional<Item> findById(Long id) {
-        return items.stream()
-                .filter(item -> item.getId().equals(id))
-                .findFirst();
+        ItemVersion head = items.get(id);
+        if (head == null) {
+            return Optional.empty();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Item item = visible(head, committedVersion);
+                if (item != null && tiers.isEnabled()) {
+                    recordAccess(id, head, item);
+                }
+                return Optional.ofNullable(item);
+            } catch (SnapshotExpiredException ex) {
+                if (attempt == MAX_READ_ATTEMPTS) {
+                    throw ex;
+                }
+                head = items.get(id);
+                if (head == null) {
+                    return Optional.empty();
+                }
+            }
+        }
     }
-    
+
     /**
-     * Find all items in the repository.
-     * 
-     * @return list of all items
+     * Find all items in the repository, as of one consistent snapshot.
+     *
+     * @return list of all items ordered by ID
      */
     public List<Item> findAll() {
-        return new ArrayList<>(items); // Return a copy to prevent external modifications
+        return scanCurrent(item -> true);
+    }
+
+    /**
+     * Find items by category, as of one consistent snapshot.
+     *
+     * @param category the category to search for
+     * @return list of items in that category
+     */
+    public List<Item> findByCategory(String category) {
+        String key = Item.categoryKey(category);
+        return scanCurrent(item -> item.getCategory() != null && Item.categoryKey(item.getCategory()).equals(key));
+    }
+
+    /**
+     * Find items matching a filter, as of one consistent snapshot.
+     * The version chains are scanned in parallel on the common fork-join pool.
+     *
+     * @param filter the condition items must meet
+     * @return list of matching items ordered by ID
+     */
+    public List<Item> findMatching(Predicate<Item> filter) {
+        long version = beginScan();
+        try {
+            return items.values().parallelStream()
+                    .map(head -> visible(head, version))
+                    .filter(item -> item != null && filter.test(item))
+                    .collect(Collectors.toList());
+        } finally {
+            endScan(version);
+        }
+    }
+
+    /**
+     * Get the version of the latest committed write.
+     *
+     * @return the current repository version
+     */
+    public long currentVersion() {
+        return committedVersion;
+    }
+
+    /**
+     * Start reading single items as of the current version, e.g. to resolve candidates found in
+     * an index. The version stays readable until the scan is closed.
+     *
+     * @return the scan; close it when done
+     */
+    public VersionScan openScan() {
+        return new VersionScan(beginScan());
+    }
+
+    /**
+     * Start reading single items as of the latest version whose changes every listener has been
+     * told about. State that listeners derive from changes, such as an index, then matches the scan
+     * version for every item that is still {@link VersionScan#isCurrent(Long) current}; the items
+     * changed since are listed by {@link VersionScan#changedIds()}.
+     *
+     * @return the scan; close it when done
+     */
+    public VersionScan openIndexedScan() {
+        return new VersionScan(beginScan(() -> notifiedVersion));
+    }
+
+    /**
+     * Pin the current version so it stays readable for the snapshot TTL.
+     *
+     * @return the pinned version
+     */
+    public long openSnapshot() {
+        while (true) {
+            long version = committedVersion;
+            pinnedSnapshots.put(version, System.currentTimeMillis() + snapshotTtlMillis);
+            if (version >= reclaimHorizon) {
+                return version;
+            }
+            // The reclaimer moved past this version before the pin became visible; pin a newer one.
+            // (A concurrent pin of the same version is simply re-created on the next attempt.)
+        }
+    }
+
+    /**
+     * Read one page of items as of a pinned snapshot version.
+     * Reading a page extends the snapshot's pin.
+     *
+     * @param version a version returned by {@link #openSnapshot()}
+     * @param afterId return items with IDs greater than this, or null to start at the beginning
+     * @param limit the maximum number of items to return
+     * @return the items of the page ordered by ID
+     * @throws SnapshotExpiredException if the version is unknown or already reclaimed
+     */
+    public List<Item> findPage(long version, Long afterId, int limit) {
+        if (version > committedVersion || pinnedSnapshots.computeIfPresent(version,
+                (v, expiry) -> System.currentTimeMillis() + snapshotTtlMillis) == null) {
+            throw new SnapshotExpiredException(version);
+        }
+        Map<Long, ItemVersion> range = afterId == null ? items : items.tailMap(afterId, false);
+        List<Item> page = new ArrayList<>(Math.min(limit, 1024));
+        for (ItemVersion head : range.values()) {
+            Item item = visible(head, version);
+            if (item != null) {
+                page.add(item);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
     }
-    
+
     /**
      * Update an existing item.
-     * 
+     *
      * @param id the ID of the item to update
      * @param updatedItem the item with updated information
      * @return Optional containing the updated item if found, empty Optional otherwise
      */
     public Optional<Item> update(Long id, Item updatedItem) {
-        for (int i = 0; i < items.size(); i++) {
-            if (items.get(i).getId().equals(id)) {
-                updatedItem.setId(id); // Preserve the original ID
-                items.set(i, updatedItem);
-                return Optional.of(updatedItem);
+        return update(id, current -> updatedItem);
+    }
+
+    /**
+     * Atomically update an existing item from its current state.
+     * The function receives a private copy of the current item and returns the new state;
+     * no other write can happen in between.
+     *
+     * @param id the ID of the item to update
+     * @param change computes the new item from a copy of the current one
+     * @return Optional containing the updated item if found, empty Optional otherwise
+     */
+    public Optional<Item> update(Long id, UnaryOperator<Item> change) {
+        writeLock.lock();
+        try {
+            ItemVersion head = items.get(id);
+            if (head == null || !head.isLive()) {
+                return Optional.empty();
             }
+            Item current = load(head);
+            if (tiers.isEnabled()) {
+                tiers.recordAccess(id, !head.isCold());
+            }
+            Item updated = change.apply(head.isCold() ? current : new Item(current));
+            updated.setId(id); // Preserve the original ID
+            long version = committedVersion + 1;
+            Item stored = install(updated, version);
+            commit(version);
+            return Optional.of(stored);
+        } finally {
+            writeLock.unlock();
         }
-        return Optional.empty();
     }
-    
+
     /**
      * Delete an item by its ID.
-     * 
+     *
      * @param id the ID of the item to delete
      * @return true if item was deleted, false if not found
      */
     public boolean deleteById(Long id) {
-        return items.removeIf(item -> item.getId().equals(id));
+        writeLock.lock();
+        try {
+            ItemVersion head = items.get(id);
+            if (head == null || !head.isLive()) {
+                return false;
+            }
+            long version = committedVersion + 1;
+            remove(head, id, version);
+            commit(version);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Insert or replace an item under its own ID.
+     * Used to apply changes that were made on another node.
+     *
+     * @param item the item to store, with its ID set
+     * @return the stored item
+     */
+    public Item upsert(Item item) {
+        writeLock.lock();
+        try {
+            observeId(item.getId());
+            long version = committedVersion + 1;
+            Item stored = install(item, version);
+            commit(version);
+            return stored;
+        } finally {
+            writeLock.unlock();
+        }
     }
-    
+
+    /**
+     * Store a new item under an ID that was allocated beforehand, e.g. by the cluster node that
+     * received the create request.
+     *
+     * @param item the item to store, with its ID set
+     * @return the stored item
+     * @throws ItemAlreadyExistsException if an item with the ID exists
+     */
+    public Item insert(Item item) {
+        writeLock.lock();
+        try {
+            ItemVersion head = items.get(item.getId());
+            if (head != null && head.isLive()) {
+                throw new ItemAlreadyExistsException(item.getId());
+            }
+            observeId(item.getId());
+            long version = committedVersion + 1;
+            Item stored = install(item, version);
+            commit(version);
+            return stored;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Store a batch of new items under IDs that were allocated beforehand, in a single version.
+     * Nothing is stored if any of the IDs belongs to a live item.
+     *
+     * @param newItems the items to store, with their IDs set
+     * @return the stored items
+     * @throws ItemAlreadyExistsException if an item with one of the IDs exists
+     */
+    public List<Item> insertAll(List<Item> newItems) {
+        List<Item> stored = new ArrayList<>(newItems.size());
+        writeLock.lock();
+        try {
+            for (Item item : newItems) {
+                ItemVersion head = items.get(item.getId());
+                if (head != null && head.isLive()) {
+                    throw new ItemAlreadyExistsException(item.getId());
+                }
+            }
+            long version = committedVersion + 1;
+            for (Item item : newItems) {
+                observeId(item.getId());
+                stored.add(store(item, version, items.get(item.getId())));
+            }
+            commitCreated(version, stored);
+        } finally {
+            writeLock.unlock();
+        }
+        if (tiers.isOverBudget()) {
+            rebalanceTiers();
+        }
+        return stored;
+    }
+
+    /**
+     * Replace the whole content of the repository in a single version,
+     * e.g. with a snapshot from another node.
+     *
+     * @param snapshot the items to keep, with their IDs set
+     */
+    public void replaceAll(Collection<Item> snapshot) {
+        Set<Long> keep = new HashSet<>();
+        for (Item item : snapshot) {
+            keep.add(item.getId());
+        }
+        writeLock.lock();
+        try {
+            long version = committedVersion + 1;
+            for (Map.Entry<Long, ItemVersion> entry : items.entrySet()) {
+                if (entry.getValue().isLive() && !keep.contains(entry.getKey())) {
+                    remove(entry.getValue(), entry.getKey(), version);
+                }
+            }
+            for (Item item : snapshot) {
+                observeId(item.getId());
+                install(item, version);
+            }
+            commit(version);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     /**
      * Check if an item exists by ID.
-     * 
+     *
      * @param id the ID to check
      * @return true if exists, false otherwise
      */
     public boolean existsById(Long id) {
-        return items.stream().anyMatch(item -> item.getId().equals(id));
+        return findById(id).isPresent();
     }
-    
+
     /**
      * Get the total count of items.
-     * 
+     *
      * @return total number of items
      */
     public long count() {
-        return items.size();
+        return liveCount;
     }
-    
+
     /**
-     * Find items by category.
-     * 
-     * @param category the category to search for
-     * @return list of items in that category
+     * Install a copy of the item as the newest version of its chain. Caller holds the write lock.
      */
-    public List<Item> findByCategory(String category) {
-        return items.stream()
-                .filter(item -> item.getCategory().equalsIgnoreCase(category))
-                .toList();
+    private Item install(Item item, long version) {
+        ItemVersion head = items.get(item.getId());
+        Item previous = head != null ? load(head) : null;
+        Item stored = store(item, version, head);
+        pendingChanges.add(new Item[]{previous, stored});
+        return stored;
+    }
+
+    /**
+     * Install a copy of the item on top of the given chain head without announcing it. Caller holds the write lock.
+     */
+    private Item store(Item item, long version, ItemVersion head) {
+        Item stored = new Item(item);
+        items.put(stored.getId(), new ItemVersion(version, stored, head));
+        if (tiers.isEnabled()) {
+            tiers.addHeapBytes(TieredStorage.estimateBytes(stored));
+            if (head != null) {
+                leaveHead(head);
+            }
+        }
+        if (head != null) {
+            reclaimQueue.add(new long[]{stored.getId(), version});
+        }
+        if (head == null || !head.isLive()) {
+            liveCount++;
+        }
+        return stored;
+    }
+
+    /**
+     * Install a tombstone for a live item. Caller holds the write lock.
+     */
+    private void remove(ItemVersion head, Long id, long version) {
+        Item previous = load(head);
+        items.put(id, new ItemVersion(version, null, head));
+        reclaimQueue.add(new long[]{id, version});
+        liveCount--;
+        if (tiers.isEnabled()) {
+            leaveHead(head);
+        }
+        pendingChanges.add(new Item[]{previous, null});
+    }
+
+    private List<Item> scanCurrent(Predicate<Item> filter) {
+        long version = beginScan();
+        try {
+            List<Item> result = new ArrayList<>();
+            for (ItemVersion head : items.values()) {
+                Item item = visible(head, version);
+                if (item != null && filter.test(item)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        } finally {
+            endScan(version);
+        }
+    }
+
+    /**
+     * Register a scan of the current version, so the reclaimer keeps it readable.
+     * Registration is published before the horizon is checked; the reclaimer publishes
+     * its candidate horizon before collecting registrations, so one of the two always
+     * sees the other.
+     */
+    private long beginScan() {
+        return beginScan(() -> committedVersion);
+    }
+
+    private long beginScan(LongSupplier latest) {
+        while (true) {
+            long version = latest.getAsLong();
+            activeScans.merge(version, 1, Integer::sum);
+            if (version >= reclaimHorizon) {
+                return version;
+            }
+            endScan(version);
+        }
+    }
+
+    private void endScan(long version) {
+        activeScans.computeIfPresent(version, (v, scans) -> scans == 1 ? null : scans - 1);
+    }
+
+    /**
+     * Reads of one committed version, see {@link #openScan()}.
+     */
+    public final class VersionScan implements AutoCloseable {
+
+        private final long version;
+
+        private VersionScan(long version) {
+            this.version = version;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * @param id the ID to look up
+         * @return the item as of the scan version
+         */
+        public Optional<Item> findById(Long id) {
+            ItemVersion head = items.get(id);
+            return head != null ? Optional.ofNullable(visible(head, version)) : Optional.empty();
+        }
+
+        /**
+         * @return every item as of the scan version, ordered by ID
+         */
+        public List<Item> findAll() {
+            List<Item> found = new ArrayList<>();
+            for (ItemVersion head : items.values()) {
+                Item item = visible(head, version);
+                if (item != null) {
+                    found.add(item);
+                }
+            }
+            return found;
+        }
+
+        /**
+         * @param id the ID to look up
+         * @return false if the item was created, updated or deleted after the scan version
+         */
+        public boolean isCurrent(Long id) {
+            ItemVersion head = items.get(id);
+            return head == null || head.version <= version;
+        }
+
+        /**
+         * IDs of the items updated or deleted after the scan version, up to now. An index may have
+         * moved or dropped such an item before it was read, so a reader that resolves index
+         * candidates adds these as candidates of its own; call this after the index was read.
+         *
+         * @return the IDs, without duplicates
+         */
+        public Set<Long> changedIds() {
+            Set<Long> changed = new HashSet<>();
+            for (long[] ids : changedIdsByVersion.tailMap(version, false).values()) {
+                for (long id : ids) {
+                    changed.add(id);
+                }
+            }
+            return changed;
+        }
+
+        @Override
+        public void close() {
+            endScan(version);
+        }
+    }
+
+    /**
+     * Resolve the item visible at a version: the newest chain entry at or below it.
+     *
+     * @return the visible item, or null if the item did not exist (or was deleted) at that version
+     * @throws SnapshotExpiredException if the entries needed were already reclaimed
+     */
+    private static Item visible(ItemVersion head, long version) {
+        ItemVersion current = head;
+        while (current.version > version) {
+            ItemVersion previous = current.previous;
+            if (previous == null) {
+                if (current.truncated) {
+                    throw new SnapshotExpiredException(version);
+                }
+                return null;
+            }
+            current = previous;
+        }
+        return load(current);
+    }
+
+    /**
+     * Drop versions that no reader can see any more.
+     *
+     * The horizon is the oldest pinned snapshot or running scan, or the latest version if there
+     * are none. Each chain keeps every entry newer than the horizon plus the entry visible at the
+     * horizon; a chain whose visible entry is a tombstone is removed altogether.
+     */
+    void reclaimVersions() {
+        long now = System.currentTimeMillis();
+        pinnedSnapshots.values().removeIf(expiry -> expiry < now);
+
+        long horizon = committedVersion;
+        reclaimHorizon = Math.max(reclaimHorizon, horizon); // Publish before collecting readers (see beginScan)
+        for (Long pinned : pinnedSnapshots.keySet()) {
+            horizon = Math.min(horizon, pinned);
+        }
+        for (Long scanned : activeScans.keySet()) {
+            horizon = Math.min(horizon, scanned);
+        }
+        reclaimHorizon = horizon;
+        changedIdsByVersion.headMap(horizon, true).clear();
+
+        long[] entry;
+        while ((entry = reclaimQueue.peek()) != null && entry[1] <= horizon) {
+            reclaimQueue.poll();
+            ItemVersion head = items.get(entry[0]);
+            if (head == null) {
+                continue;
+            }
+            ItemVersion keep = head;
+            while (keep.version > horizon && keep.previous != null) {
+                keep = keep.previous;
+            }
+            if (keep.previous != null) {
+                keep.truncated = true; // Must be visible before the link is cut
+                keep.previous = null;
+            }
+            if (keep == head && !head.isLive()) {
+                writeLock.lock();
+                try {
+                    items.remove(entry[0], head);
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the item of a chain entry, read from its cold segment if needed; null for a deletion
+     */
+    private static Item load(ItemVersion entry) {
+        if (entry.item != null || entry.segment == null) {
+            return entry.item;
+        }
+        return entry.segment.read(entry.offset, entry.length);
+    }
+
+    /**
+     * Account for a chain head that was superseded or deleted. Caller holds the write lock.
+     */
+    private void leaveHead(ItemVersion head) {
+        if (head.isCold()) {
+            head.segment.discard(head.length);
+            tiers.addColdItems(-1);
+        } else if (head.item != null) {
+            tiers.addHeapBytes(-TieredStorage.estimateBytes(head.item));
+        }
+    }
+
+    /**
+     * Count a lookup by ID and bring a cold item that has become popular back into memory.
+     * Promotion is skipped if a writer holds the lock; a later lookup will retry it.
+     */
+    private void recordAccess(Long id, ItemVersion head, Item item) {
+        tiers.recordAccess(id, !head.isCold());
+        if (!head.isCold() || head.version > committedVersion || !tiers.shouldPromote(id) || !writeLock.tryLock()) {
+            return;
+        }
+        try {
+            if (items.get(id) == head && head.previous == null) {
+                items.put(id, head.relocated(item, null, 0, 0));
+                head.segment.discard(head.length);
+                tiers.addColdItems(-1);
+                tiers.addHeapBytes(TieredStorage.estimateBytes(item));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Move rarely read items to the cold segment until in-memory items fit the heap budget.
+     *
+     * Passes sweep the items in ID order like a clock hand, continuing where the previous pass
+     * stopped. The first lap evicts items the frequency sketch has not seen recently; every further
+     * lap raises the frequency that still counts as cold by one. Only items with a single version
+     * are evicted, so version chains never mix tiers. The frequency reached becomes the bar a cold
+     * item must beat to be read back into memory.
+     */
+    void rebalanceTiers() {
+        if (!tiers.isEnabled()) {
+            return;
+        }
+        rebalanceLock.lock();
+        try {
+            if (tiers.needsCompaction(snapshotTtlMillis)) {
+                compactColdSegment();
+            }
+            int bar = 0;
+            long scanned = 0;
+            while (tiers.isOverBudget() && bar <= FrequencySketch.MAX_FREQUENCY) {
+                scanned += evictBatch(bar);
+                if (scanned >= liveCount) {
+                    bar++;
+                    scanned = 0;
+                }
+            }
+            tiers.setAdmissionBar(bar);
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * Continue the eviction sweep for one batch of items.
+     *
+     * @return the number of chain heads looked at, at least one
+     */
+    private int evictBatch(int bar) {
+        writeLock.lock();
+        try {
+            Map<Long, ItemVersion> rest = evictionHand == null ? items : items.tailMap(evictionHand, false);
+            int scanned = 0;
+            for (Map.Entry<Long, ItemVersion> entry : rest.entrySet()) {
+                if (scanned == TIERING_BATCH || !tiers.isOverBudget()) {
+                    return scanned;
+                }
+                scanned++;
+                evictionHand = entry.getKey();
+                ItemVersion head = entry.getValue();
+                if (head.item != null && head.previous == null && tiers.frequency(entry.getKey()) <= bar) {
+                    ColdSegment segment = tiers.activeSegment();
+                    byte[] record = ColdSegment.encode(head.item);
+                    long offset = segment.append(record);
+                    items.put(entry.getKey(), head.relocated(null, segment, offset, record.length));
+                    tiers.addHeapBytes(-TieredStorage.estimateBytes(head.item));
+                    tiers.addColdItems(1);
+                }
+            }
+            evictionHand = null; // Lap complete, start over at the lowest ID
+            return Math.max(1, scanned);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Copy the live records of the active cold segment into a new one, one batch per write lock,
+     * so the dead records of changed, deleted and promoted items stop taking disk space.
+     *
+     * Older versions still kept for snapshots are copied as well, so once the pass is done no chain
+     * points into the old segment; only reads that started before their entry was copied still
+     * use it, which the retention before the next compaction covers.
+     */
+    void compactColdSegment() {
+        ColdSegment source;
+        writeLock.lock();
+        try {
+            source = tiers.startCompaction();
+        } finally {
+            writeLock.unlock();
+        }
+        Long hand = null;
+        boolean done = false;
+        while (!done) {
+            writeLock.lock();
+            try {
+                ColdSegment target = tiers.activeSegment();
+                Map<Long, ItemVersion> rest = hand == null ? items : items.tailMap(hand, false);
+                int scanned = 0;
+                done = true;
+                for (Map.Entry<Long, ItemVersion> entry : rest.entrySet()) {
+                    if (scanned++ == TIERING_BATCH) {
+                        done = false;
+                        break;
+                    }
+                    hand = entry.getKey();
+                    ItemVersion head = entry.getValue();
+                    ItemVersion newer = relocate(head, source, target);
+                    if (newer != head) {
+                        items.put(hand, newer);
+                    }
+                    ItemVersion older;
+                    while ((older = newer.previous) != null) {
+                        ItemVersion moved = relocate(older, source, target);
+                        if (moved != older) {
+                            target.discard(moved.length); // Kept for snapshots only, dead to current reads
+                            // A link cut by reclaimVersions meanwhile may come back; the entries
+                            // are still correct and are cut again on the item's next reclaim
+                            newer.previous = moved;
+                        }
+                        newer = moved;
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the entry with its record in target if it is in source, else the entry itself
+     */
+    private static ItemVersion relocate(ItemVersion entry, ColdSegment source, ColdSegment target) {
+        if (entry.segment != source) {
+            return entry;
+        }
+        long offset = target.append(source.readRecord(entry.offset, entry.length));
+        return entry.relocated(null, target, offset, entry.length);
+    }
+
+    /**
+     * One entry of an item's version chain. An entry holds the item, or for a cold item the location
+     * of its record in a cold segment; an entry with neither marks a deletion.
+     */
+    private static final class ItemVersion {
+
+        final long version;
+        final Item item;
+        final ColdSegment segment;
+        final long offset;
+        final int length;
+        volatile ItemVersion previous;
+        volatile boolean truncated;
+
+        ItemVersion(long version, Item item, ItemVersion previous) {
+            this(version, item, previous, null, 0, 0);
+        }
+
+        ItemVersion(long version, Item item, ItemVersion previous, ColdSegment segment, long offset, int length) {
+            this.version = version;
+            this.item = item;
+            this.previous = previous;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /**
+         * @return the same version of the item, held in memory or at another cold segment location
+         */
+        ItemVersion relocated(Item item, ColdSegment segment, long offset, int length) {
+            ItemVersion copy = new ItemVersion(version, item, previous, segment, offset, length);
+            copy.truncated = truncated; // Older versions were reclaimed either way
+            return copy;
+        }
+
+        boolean isCold() {
+            return segment != null;
+        }
+
+        boolean isLive() {
+            return item != null || segment != null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,215 @@
+package com.dsv.reservation;
+
+import com.dsv.dto.StockAvailability;
+import com.dsv.entity.Item;
+import com.dsv.entity.Reservation;
+import com.dsv.entity.Reservation.Status;
+import com.dsv.exception.InsufficientStockException;
+import com.dsv.exception.ItemNotFoundException;
+import com.dsv.exception.ReservationNotFoundException;
+import com.dsv.repository.ItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Time-bounded holds of item stock.
+ *
+ * A hold does not change the item; it only counts against the item's available stock
+ * (stock minus the quantity held by open reservations). Confirming a hold subtracts its quantity
+ * from the stored stock, cancelling or expiring it just releases the quantity. Every hold has one
+ * timeout on a {@link HashedTimingWheel}, so reserving, confirming and cancelling stay O(1) no
+ * matter how many holds are outstanding. Other writes that may change the stock go through
+ * {@link #update(Long, UnaryOperator)}, which refuses a stock below the held quantity.
+ *
+ * Holds live in memory on the node that owns the item and are lost on restart.
+ */
+@Component
+public class ReservationManager {
+
+    private final ItemRepository itemRepository;
+    private final HashedTimingWheel wheel;
+
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> heldByItem = new ConcurrentHashMap<>();
+    private final AtomicLong idGenerator = new AtomicLong(1);
+
+    public ReservationManager(ItemRepository itemRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${dsv.reservation.tick-millis:100}") long tickMillis,
+                              @Value("${dsv.reservation.ticks-per-wheel:512}") int ticksPerWheel) {
+        this.itemRepository = itemRepository;
+        this.wheel = new HashedTimingWheel(tickMillis, TimeUnit.MILLISECONDS, ticksPerWheel, "reservation-expiry");
+
+        Gauge.builder("dsv.reservations.held", holds, Map::size)
+                .description("Reservations currently holding stock")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+    }
+
+    /**
+     * Hold stock of an item for a limited time.
+     *
+     * @param itemId the item ID
+     * @param quantity the quantity to hold
+     * @param ttlSeconds seconds until the hold is released unless confirmed
+     * @return the reservation, or empty if the item does not exist
+     * @throws InsufficientStockException if less than quantity is available
+     */
+    public Optional<Reservation> reserve(Long itemId, int quantity, long ttlSeconds) {
+        if (!itemRepository.existsById(itemId)) {
+            return Optional.empty();
+        }
+        // The stock is read inside compute(): a confirm lowers the stock before it releases its
+        // hold on the same key, so the available quantity seen here is never overstated.
+        heldByItem.compute(itemId, (id, held) -> {
+            int current = held == null ? 0 : held;
+            int stock = itemRepository.findById(id).map(Item::getStock).orElse(0);
+            int available = stock - current;
+            if (available < quantity) {
+                throw new InsufficientStockException(id, quantity, Math.max(0, available));
+            }
+            return current + quantity;
+        });
+
+        Hold hold = new Hold(idGenerator.getAndIncrement(), itemId, quantity,
+                Instant.now().plusSeconds(ttlSeconds));
+        hold.timeout = wheel.schedule(() -> expire(hold), ttlSeconds, TimeUnit.SECONDS);
+        holds.put(hold.id, hold);
+        if (hold.status.get() != Status.HELD) {
+            holds.remove(hold.id); // Expired before it was published
+        }
+        return Optional.of(hold.toReservation());
+    }
+
+    /**
+     * Turn a hold into a sale: subtract its quantity from the item's stock.
+     *
+     * @throws ReservationNotFoundException if the reservation is not held (any more)
+     * @throws InsufficientStockException if the stock was lowered below the held quantity meanwhile;
+     *         the hold is cancelled
+     * @throws ItemNotFoundException if the item was deleted meanwhile
+     */
+    public Reservation confirm(Long itemId, Long reservationId) {
+        Hold hold = claim(itemId, reservationId, Status.CONFIRMED);
+        try {
+            Optional<Item> updated = itemRepository.update(itemId, item -> {
+                if (item.getStock() < hold.quantity) {
+                    throw new InsufficientStockException(itemId, hold.quantity, item.getStock());
+                }
+                item.setStock(item.getStock() - hold.quantity);
+                return item;
+            });
+            if (updated.isEmpty()) {
+                hold.status.set(Status.CANCELLED);
+                throw new ItemNotFoundException(itemId);
+            }
+        } catch (InsufficientStockException ex) {
+            hold.status.set(Status.CANCELLED);
+            throw ex;
+        } finally {
+            release(hold);
+        }
+        return hold.toReservation();
+    }
+
+    /**
+     * Release a hold before it expires.
+     *
+     * @throws ReservationNotFoundException if the reservation is not held (any more)
+     */
+    public Reservation cancel(Long itemId, Long reservationId) {
+        Hold hold = claim(itemId, reservationId, Status.CANCELLED);
+        release(hold);
+        return hold.toReservation();
+    }
+
+    /**
+     * Change an item, refusing a stock below the quantity its open reservations hold.
+     * No hold on the item can be taken while the change runs, so the check cannot be overtaken by a reserve.
+     *
+     * @param itemId the item ID
+     * @param change computes the new item from a copy of the current one
+     * @return the updated item, or empty if the item does not exist
+     * @throws InsufficientStockException if the new stock is below the held quantity
+     */
+    public Optional<Item> update(Long itemId, UnaryOperator<Item> change) {
+        AtomicReference<Optional<Item>> updated = new AtomicReference<>(Optional.empty());
+        heldByItem.compute(itemId, (id, held) -> {
+            int reserved = held == null ? 0 : held;
+            updated.set(itemRepository.update(id, item -> {
+                Item next = change.apply(item);
+                if (next.getStock() != null && next.getStock() < reserved) {
+                    throw InsufficientStockException.belowHeld(id, next.getStock(), reserved);
+                }
+                return next;
+            }));
+            return held;
+        });
+        return updated.get();
+    }
+
+    /**
+     * @return stock, held and available quantity of an item, or empty if the item does not exist
+     */
+    public Optional<StockAvailability> availability(Long itemId) {
+        return itemRepository.findById(itemId)
+                .map(item -> new StockAvailability(itemId, item.getStock(), heldByItem.getOrDefault(itemId, 0)));
+    }
+
+    private Hold claim(Long itemId, Long reservationId, Status target) {
+        Hold hold = holds.get(reservationId);
+        if (hold == null || !hold.itemId.equals(itemId) || !hold.status.compareAndSet(Status.HELD, target)) {
+            throw new ReservationNotFoundException(itemId, reservationId);
+        }
+        hold.timeout.cancel();
+        return hold;
+    }
+
+    private void expire(Hold hold) {
+        if (hold.status.compareAndSet(Status.HELD, Status.EXPIRED)) {
+            release(hold);
+        }
+    }
+
+    private void release(Hold hold) {
+        holds.remove(hold.id);
+        heldByItem.computeIfPresent(hold.itemId, (id, held) -> held > hold.quantity ? held - hold.quantity : null);
+    }
+
+    private static final class Hold {
+
+        private final long id;
+        private final Long itemId;
+        private final int quantity;
+        private final Instant expiresAt;
+        private final AtomicReference<Status> status = new AtomicReference<>(Status.HELD);
+        private volatile HashedTimingWheel.Timeout timeout;
+
+        private Hold(long id, Long itemId, int quantity, Instant expiresAt) {
+            this.id = id;
+            this.itemId = itemId;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+        }
+
+        private Reservation toReservation() {
+            return new Reservation(id, itemId, quantity, expiresAt, status.get());
+        }
+    }
+}
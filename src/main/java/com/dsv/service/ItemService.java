@@ -5,7 +5,14 @@ import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
+import com.dsv.dto.ItemPage;
+import com.dsv.dto.ItemPatch;
+import com.dsv.dto.ItemQuery;
+import com.dsv.dto.ItemSuggestion;
+import com.dsv.dto.QueryResult;
+import com.dsv.dto.StockAvailability;
 import com.dsv.entity.Item;
+import com.dsv.entity.Reservation;
 
 @Service
 public interface ItemService {
@@ -40,9 +47,20 @@ public interface ItemService {
      * @param id the ID of the item to update
      * @param item the updated item data
      * @return Optional containing the updated item if found
+     * @throws com.dsv.exception.InsufficientStockException if the stock is below the quantity held by reservations
      */
     Optional<Item> updateItem(Long id, Item item);
     
+    /**
+     * Change only the fields of an item that a patch sets, atomically.
+     * 
+     * @param id the ID of the item to patch
+     * @param patch the validated patch
+     * @return Optional containing the patched item if found
+     * @throws com.dsv.exception.InsufficientStockException if the stock is below the quantity held by reservations
+     */
+    Optional<Item> patchItem(Long id, ItemPatch patch);
+    
     /**
      * Delete an item by ID.
      * 
@@ -75,7 +93,7 @@ public interface ItemService {
     List<Item> getItemsByCategory(String category);
     
     /**
-     * Check if an item is in stock.
+     * Check if an item has stock that is not held by reservations.
      * 
      * @param id the item ID
      * @return true if in stock, false otherwise
@@ -88,8 +106,81 @@ public interface ItemService {
      * @param id the item ID
      * @param quantity the new stock quantity
      * @return Optional containing the updated item
+     * @throws com.dsv.exception.InsufficientStockException if the quantity is below the quantity held by reservations
      */
     Optional<Item> updateStock(Long id, Integer quantity);
+    
+    /**
+     * Get one page of items from a consistent snapshot.
+     * 
+     * @param version snapshot version from a previous page, or null to open a new snapshot
+     * @param afterId return items with IDs greater than this, or null for the first page
+     * @param limit maximum number of items in the page
+     * @return the page, with the snapshot version to continue from
+     */
+    ItemPage getItemsPage(Long version, Long afterId, int limit);
+    
+    /**
+     * Hold stock of an item for a limited time.
+     * 
+     * @param id the item ID
+     * @param quantity the quantity to hold
+     * @param ttlSeconds seconds until the hold is released unless confirmed
+     * @return Optional containing the reservation, empty if the item was not found
+     */
+    Optional<Reservation> reserveStock(Long id, Integer quantity, Long ttlSeconds);
+    
+    /**
+     * Confirm a reservation, subtracting its quantity from the item's stock.
+     * 
+     * @param id the item ID
+     * @param reservationId the reservation ID
+     * @return the confirmed reservation
+     */
+    Reservation confirmReservation(Long id, Long reservationId);
+    
+    /**
+     * Cancel a reservation, releasing the held quantity.
+     * 
+     * @param id the item ID
+     * @param reservationId the reservation ID
+     * @return the cancelled reservation
+     */
+    Reservation cancelReservation(Long id, Long reservationId);
+    
+    /**
+     * Get stock of an item together with the quantity held by reservations.
+     * 
+     * @param id the item ID
+     * @return Optional containing the availability, empty if the item was not found
+     */
+    Optional<StockAvailability> getStockAvailability(Long id);
+    
+    /**
+     * Get items whose stock is below a threshold.
+     * 
+     * @param threshold exclusive upper bound on stock
+     * @param limit maximum number of items
+     * @return items ordered by stock, lowest first, then by ID
+     */
+    List<Item> getLowStockItems(int threshold, int limit);
+    
+    /**
+     * Suggest item names starting with a prefix.
+     * 
+     * @param prefix the typed prefix (case, accents and extra whitespace are ignored)
+     * @param limit maximum number of suggestions
+     * @return suggestions, shortest names first
+     */
+    List<ItemSuggestion> suggestItems(String prefix, int limit);
+    
+    /**
+     * Find items matching a combination of filters, using the most selective index.
+     * 
+     * @param query filters, sort order and limit
+     * @return matching items in sort order, with the query plan if requested
+     */
+    QueryResult queryItems(ItemQuery query);
 	
 	
 }
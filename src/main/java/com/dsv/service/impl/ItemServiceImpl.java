@@ -1,21 +1,52 @@
 package com.dsv.service.impl;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 
+import com.dsv.audit.AuditTrail;
+import com.dsv.dto.ItemPage;
+import com.dsv.dto.ItemPatch;
+import com.dsv.dto.ItemQuery;
+import com.dsv.dto.ItemSuggestion;
+import com.dsv.dto.QueryResult;
+import com.dsv.dto.StockAvailability;
 import com.dsv.entity.Item;
+import com.dsv.entity.Reservation;
+import com.dsv.exception.InvalidRequestException;
+import com.dsv.index.NameIndex;
+import com.dsv.index.OrderedIndex.Position;
+import com.dsv.index.QueryPlanner;
+import com.dsv.index.StockIndex;
 import com.dsv.repository.ItemRepository;
+import com.dsv.reservation.ReservationManager;
 import com.dsv.service.ItemService;
 
 @Service
 public class ItemServiceImpl implements ItemService {
 	
 	private final ItemRepository itemRepository;
+	private final ReservationManager reservationManager;
+	private final StockIndex stockIndex;
+	private final NameIndex nameIndex;
+	private final QueryPlanner queryPlanner;
+	private final AuditTrail auditTrail;
 	
-	public ItemServiceImpl(ItemRepository itemRepository) {
+	public ItemServiceImpl(ItemRepository itemRepository, ReservationManager reservationManager,
+			StockIndex stockIndex, NameIndex nameIndex, QueryPlanner queryPlanner, AuditTrail auditTrail) {
 		this.itemRepository = itemRepository;
+		this.reservationManager = reservationManager;
+		this.stockIndex = stockIndex;
+		this.nameIndex = nameIndex;
+		this.queryPlanner = queryPlanner;
+		this.auditTrail = auditTrail;
+		// Writes below run inside auditTrail.audited(..): their changes are audited in commit order
+		itemRepository.addListener(auditTrail);
 	}
 	
 	
@@ -24,10 +55,19 @@ public class ItemServiceImpl implements ItemService {
 		
         item.setId(null);
         
-        return itemRepository.save(item);
+        return auditTrail.audited(() -> itemRepository.save(item));
 		
 	}
 
+	/**
+	 * Store a new item under an ID allocated beforehand, e.g. by another cluster node.
+	 *
+	 * @throws com.dsv.exception.ItemAlreadyExistsException if an item with the ID exists
+	 */
+	public Item insertItem(Item item) {
+		return auditTrail.audited(() -> itemRepository.insert(item));
+	}
+
 
 	@Override
 	public Optional<Item> getItemById(Long id) {
@@ -49,7 +89,7 @@ public class ItemServiceImpl implements ItemService {
 		if(!itemRepository.existsById(id)) {
 			return Optional.empty();
 		}
-		return itemRepository.update(id, item);
+		return auditTrail.audited(() -> reservationManager.update(id, current -> item));
 	}
 
 
@@ -59,11 +99,21 @@ public class ItemServiceImpl implements ItemService {
 		if(!itemRepository.existsById(id)) {
 			return false;
 		}
-		boolean deleted = itemRepository.deleteById(id);
-		return deleted;
+		return auditTrail.audited(() -> itemRepository.deleteById(id));
 	}
 
 
+    @Override
+    public Optional<Item> patchItem(Long id, ItemPatch patch) {
+        if (patch.isEmpty()) {
+            return itemRepository.findById(id); // Nothing to change, so no new version either
+        }
+        return auditTrail.audited(() -> reservationManager.update(id, item -> {
+            patch.applyTo(item);
+            return item;
+        }));
+    }
+    
     @Override
     public boolean itemExists(Long id) {
         return itemRepository.existsById(id);
@@ -81,23 +131,100 @@ public class ItemServiceImpl implements ItemService {
     
     @Override
     public boolean isInStock(Long id) {
-        Optional<Item> item = itemRepository.findById(id);
-        return item.isPresent() && item.get().getStock() > 0;
+        return reservationManager.availability(id).map(StockAvailability::isInStock).orElse(false);
     }
     
     @Override
     public Optional<Item> updateStock(Long id, Integer quantity) {
-
-        Optional<Item> itemOpt = itemRepository.findById(id);
-        
-        if (itemOpt.isEmpty()) {
-            return Optional.empty();  
+        return auditTrail.audited(() -> reservationManager.update(id, item -> {
+            item.setStock(quantity);
+            return item;
+        }));
+    }
+    
+    @Override
+    public ItemPage getItemsPage(Long version, Long afterId, int limit) {
+        long snapshot = version != null ? version : itemRepository.openSnapshot();
+        List<Item> items = itemRepository.findPage(snapshot, afterId, limit);
+        Long nextAfterId = items.size() < limit ? null : items.get(items.size() - 1).getId();
+        return new ItemPage(items, snapshot, nextAfterId);
+    }
+    
+    @Override
+    public Optional<Reservation> reserveStock(Long id, Integer quantity, Long ttlSeconds) {
+        return reservationManager.reserve(id, quantity, ttlSeconds);
+    }
+    
+    @Override
+    public Reservation confirmReservation(Long id, Long reservationId) {
+        return auditTrail.audited(() -> reservationManager.confirm(id, reservationId));
+    }
+    
+    @Override
+    public Reservation cancelReservation(Long id, Long reservationId) {
+        return reservationManager.cancel(id, reservationId);
+    }
+    
+    @Override
+    public Optional<StockAvailability> getStockAvailability(Long id) {
+        return reservationManager.availability(id);
+    }
+    
+    @Override
+    public List<Item> getLowStockItems(int threshold, int limit) {
+        List<Item> items = new ArrayList<>(Math.min(limit, 64));
+        if (threshold <= 0 || limit <= 0) {
+            return items;
         }
-        
-        Item item = itemOpt.get();
-        item.setStock(quantity);
-        
-        return itemRepository.update(id, item);
+        // Every candidate is resolved at one version, the latest the index has applied. Entries of items
+        // deleted or restocked at that version are skipped and the index scan continues until limit items
+        // that have not changed since are found; those sit at their scan-version position in the index.
+        // Items changed since may have left the index, so they are checked on their own.
+        int batchSize = Math.max(limit, 64);
+        Set<Long> seen = new HashSet<>();
+        try (ItemRepository.VersionScan scan = itemRepository.openIndexedScan()) {
+            int inPlace = 0;
+            Position<Integer> after = null;
+            List<Position<Integer>> batch;
+            do {
+                batch = stockIndex.scan(null, threshold - 1, false, after, batchSize);
+                for (Position<Integer> position : batch) {
+                    if (inPlace == limit) {
+                        break;
+                    }
+                    if (seen.add(position.id())) {
+                        Optional<Item> low = scan.findById(position.id()).filter(item -> item.getStock() < threshold);
+                        if (low.isPresent()) {
+                            items.add(low.get());
+                            if (scan.isCurrent(position.id())) {
+                                inPlace++;
+                            }
+                        }
+                    }
+                    after = position;
+                }
+            } while (inPlace < limit && batch.size() == batchSize);
+            for (Long id : scan.changedIds()) {
+                if (seen.add(id)) {
+                    scan.findById(id).filter(item -> item.getStock() < threshold).ifPresent(items::add);
+                }
+            }
+        }
+        items.sort(Comparator.comparing(Item::getStock).thenComparing(Item::getId));
+        return items.size() > limit ? new ArrayList<>(items.subList(0, limit)) : items;
+    }
+    
+    @Override
+    public List<ItemSuggestion> suggestItems(String prefix, int limit) {
+        if (limit > nameIndex.getMaxResults()) {
+            throw new InvalidRequestException("Limit must be between 1 and " + nameIndex.getMaxResults());
+        }
+        return nameIndex.suggest(prefix, limit);
+    }
+    
+    @Override
+    public QueryResult queryItems(ItemQuery query) {
+        return queryPlanner.execute(query);
     }
 
 }
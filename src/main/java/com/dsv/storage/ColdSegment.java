@@ -0,0 +1,160 @@
+package com.dsv.storage;
+
+import com.dsv.entity.Item;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only file of evicted items. An item's record is addressed by its offset and length,
+ * which the repository keeps in the item's version chain in place of the item, so the file
+ * needs no index of its own.
+ *
+ * Records are binary: ID, price, stock, then name, description and category as length-prefixed
+ * UTF-8 (length -1 for null). Records are never rewritten in place; records of items that were
+ * changed, deleted or read back into memory are only counted as dead until the segment is compacted.
+ * Reads and appends use positional I/O and may run concurrently.
+ */
+public class ColdSegment implements AutoCloseable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong deadBytes = new AtomicLong();
+
+    public ColdSegment(Path file) {
+        this.file = file;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create cold segment " + file, ex);
+        }
+    }
+
+    /**
+     * @return the item as a segment record
+     */
+    public static byte[] encode(Item item) {
+        byte[] name = utf8(item.getName());
+        byte[] description = utf8(item.getDescription());
+        byte[] category = utf8(item.getCategory());
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 8 + 4 + 12 + length(name) + length(description) + length(category));
+        buffer.putLong(item.getId());
+        buffer.putDouble(item.getPrice() != null ? item.getPrice() : Double.NaN);
+        buffer.putInt(item.getStock() != null ? item.getStock() : Integer.MIN_VALUE);
+        putString(buffer, name);
+        putString(buffer, description);
+        putString(buffer, category);
+        return buffer.array();
+    }
+
+    /**
+     * Append a record.
+     *
+     * @return the offset of the record
+     */
+    public long append(byte[] record) {
+        long offset = size.getAndAdd(record.length);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write cold segment " + file, ex);
+        }
+        return offset;
+    }
+
+    /**
+     * @return the raw record at offset
+     */
+    public byte[] readRecord(long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of segment at " + (offset + buffer.position()));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read cold segment " + file, ex);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @return a new copy of the item stored at offset
+     */
+    public Item read(long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.wrap(readRecord(offset, length));
+        long id = buffer.getLong();
+        double price = buffer.getDouble();
+        int stock = buffer.getInt();
+        return new Item(id, getString(buffer), getString(buffer),
+                Double.isNaN(price) ? null : price,
+                stock == Integer.MIN_VALUE ? null : stock,
+                getString(buffer));
+    }
+
+    /**
+     * Count a record as no longer referenced by a current item.
+     */
+    public void discard(int length) {
+        deadBytes.addAndGet(length);
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    public long deadBytes() {
+        return deadBytes.get();
+    }
+
+    /**
+     * Close and delete the file.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot delete cold segment " + file, ex);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes != null ? bytes.length : -1);
+        if (bytes != null) {
+            buffer.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,109 @@
+package com.dsv.storage;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch of access frequencies with 4-bit counters and periodic aging (TinyLFU).
+ *
+ * Every key maps to one counter in each of four rows; its estimate is the smallest of the four.
+ * Counters saturate at 15. After a sample of ten times the table size increments all counters are
+ * halved, so the sketch follows changes in popularity instead of remembering old hits forever.
+ *
+ * Every counter change is a compare-and-set of its 64-bit word, checked against the value it
+ * replaces, so concurrent increments are neither lost nor carried into a neighbouring counter, and
+ * an increment that read a word before it was halved retries instead of undoing the halving. The
+ * table takes 8 bytes per 16 counters.
+ */
+public class FrequencySketch {
+
+    /** Largest value a counter can reach. */
+    public static final int MAX_FREQUENCY = 15;
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long HALF_MASK = 0x7777777777777777L;
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * @param expectedKeys number of distinct keys to tell apart; sizes the table
+     */
+    public FrequencySketch(long expectedKeys) {
+        int size = (int) Math.min(1 << 28, Math.max(16, Long.highestOneBit(Math.max(1, expectedKeys / 2) - 1) << 1));
+        this.table = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.sampleSize = 10 * size;
+    }
+
+    /**
+     * @return the estimated number of recent accesses of the key, at most {@link #MAX_FREQUENCY}
+     */
+    public int frequency(long key) {
+        int frequency = MAX_FREQUENCY;
+        for (long seed : SEEDS) {
+            long hash = hash(key, seed);
+            int shift = (int) (hash & 15) << 2;
+            frequency = Math.min(frequency, (int) (table.get(index(hash)) >>> shift) & 15);
+        }
+        return frequency;
+    }
+
+    /**
+     * Record one access of the key.
+     */
+    public void increment(long key) {
+        boolean added = false;
+        for (long seed : SEEDS) {
+            long hash = hash(key, seed);
+            added |= incrementAt(index(hash), (int) (hash & 15) << 2);
+        }
+        if (!added) {
+            return;
+        }
+        // Whoever takes the count back by half a sample ages the table; if increments pile up
+        // during a pass, the next one starts while it runs, which only halves words sooner
+        int count = additions.incrementAndGet();
+        if (count >= sampleSize && additions.compareAndSet(count, count - sampleSize / 2)) {
+            age();
+        }
+    }
+
+    /**
+     * @return false if the counter is saturated
+     */
+    private boolean incrementAt(int index, int shift) {
+        while (true) {
+            long word = table.get(index);
+            if (((word >>> shift) & 15) == MAX_FREQUENCY) {
+                return false;
+            }
+            if (table.compareAndSet(index, word, word + (1L << shift))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halve every counter.
+     */
+    private void age() {
+        for (int i = 0; i < table.length(); i++) {
+            table.updateAndGet(i, word -> (word >>> 1) & HALF_MASK);
+        }
+    }
+
+    private int index(long hash) {
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private static long hash(long key, long seed) {
+        long hash = (key + seed) * seed;
+        hash ^= hash >>> 29;
+        hash *= 0xbf58476d1ce4e5b9L;
+        return hash ^ (hash >>> 32);
+    }
+}
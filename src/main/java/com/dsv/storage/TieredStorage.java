@@ -0,0 +1,262 @@
+package com.dsv.storage;
+
+import com.dsv.entity.Item;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bookkeeping for keeping only frequently read items on the heap.
+ *
+ * The repository owns the items and moves them between tiers; this class tracks the estimated
+ * heap taken by in-memory items against the budget, the access frequencies that decide which
+ * items stay, the cold segment files that hold the others and the tier hit counters.
+ *
+ * Cold segments are scratch space: the repository is in-memory, so they are deleted on shutdown
+ * and any left over from a previous run are deleted on startup.
+ */
+@Component
+public class TieredStorage {
+
+    /** Compact a cold segment only once it is this large and mostly dead. */
+    private static final long MIN_COMPACTION_BYTES = 16L << 20;
+
+    private final boolean enabled;
+    private final long heapBudgetBytes;
+    private final long rebalanceIntervalMillis;
+    private final Path directory;
+    private final FrequencySketch sketch;
+
+    private final AtomicLong heapBytes = new AtomicLong();
+    private final AtomicLong coldItems = new AtomicLong();
+    private final LongAdder heapReads = new LongAdder();
+    private final LongAdder diskReads = new LongAdder();
+    private final AtomicLong segmentNumber = new AtomicLong();
+
+    private volatile ColdSegment active;
+    private volatile ColdSegment retired;
+    private volatile long retiredAtMillis;
+    private volatile int admissionBar;
+
+    /**
+     * @param enabled whether items may leave the heap at all
+     * @param heapBudgetBytes estimated heap in-memory items may take
+     * @param rebalanceIntervalMillis how often to evict items while over budget
+     * @param expectedItems catalog size the frequency sketch should tell apart
+     * @param directory where cold segments are written
+     */
+    public TieredStorage(boolean enabled, long heapBudgetBytes, long rebalanceIntervalMillis,
+                         long expectedItems, Path directory) {
+        if (enabled && (heapBudgetBytes < 1 || rebalanceIntervalMillis < 1)) {
+            throw new IllegalArgumentException("Heap budget and rebalance interval must be positive");
+        }
+        this.enabled = enabled;
+        this.heapBudgetBytes = heapBudgetBytes;
+        this.rebalanceIntervalMillis = rebalanceIntervalMillis;
+        this.directory = directory;
+        this.sketch = enabled ? new FrequencySketch(expectedItems) : null;
+        if (enabled) {
+            deleteSegments();
+        }
+    }
+
+    @Autowired
+    public TieredStorage(MeterRegistry meterRegistry,
+                         @Value("${dsv.storage.tiering.enabled:false}") boolean enabled,
+                         @Value("${dsv.storage.heap-budget-mb:256}") long heapBudgetMb,
+                         @Value("${dsv.storage.rebalance-interval-millis:100}") long rebalanceIntervalMillis,
+                         @Value("${dsv.storage.expected-items:1000000}") long expectedItems,
+                         @Value("${dsv.storage.directory:cold-storage}") Path directory) {
+        this(enabled, heapBudgetMb << 20, rebalanceIntervalMillis, expectedItems, directory);
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("dsv.storage.heap.bytes", heapBytes, AtomicLong::get)
+                .description("Estimated heap taken by in-memory items")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("dsv.storage.cold.items", coldItems, AtomicLong::get)
+                .description("Items kept only in the cold segment")
+                .register(meterRegistry);
+        Gauge.builder("dsv.storage.disk.bytes", this, TieredStorage::diskBytes)
+                .description("Size of the cold segment files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("dsv.storage.reads", heapReads, LongAdder::sum)
+                .description("Item lookups by ID, by the tier that served them")
+                .tag("tier", "heap")
+                .register(meterRegistry);
+        FunctionCounter.builder("dsv.storage.reads", diskReads, LongAdder::sum)
+                .description("Item lookups by ID, by the tier that served them")
+                .tag("tier", "disk")
+                .register(meterRegistry);
+        Gauge.builder("dsv.storage.heap.hit.ratio", this, TieredStorage::heapHitRatio)
+                .description("Share of item lookups by ID served from the heap")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tiering turned off: every item stays on the heap.
+     */
+    public static TieredStorage disabled() {
+        return new TieredStorage(false, 0, 0, 0, null);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getRebalanceIntervalMillis() {
+        return rebalanceIntervalMillis;
+    }
+
+    /**
+     * Rough heap footprint of an in-memory item, including its version chain entry.
+     */
+    public static long estimateBytes(Item item) {
+        // Version entry 32, item 40, boxed ID, price and stock 16 each
+        return 136 + stringBytes(item.getName()) + stringBytes(item.getDescription()) + stringBytes(item.getCategory());
+    }
+
+    public void recordAccess(long id, boolean fromHeap) {
+        sketch.increment(id);
+        (fromHeap ? heapReads : diskReads).increment();
+    }
+
+    public int frequency(long id) {
+        return sketch.frequency(id);
+    }
+
+    /**
+     * A cold item is read back into memory once it is more frequent than the items the last
+     * eviction pass had to give up (TinyLFU admission).
+     */
+    public boolean shouldPromote(long id) {
+        return sketch.frequency(id) > admissionBar;
+    }
+
+    public void setAdmissionBar(int admissionBar) {
+        this.admissionBar = admissionBar;
+    }
+
+    public boolean isOverBudget() {
+        return heapBytes.get() > heapBudgetBytes;
+    }
+
+    public void addHeapBytes(long bytes) {
+        heapBytes.addAndGet(bytes);
+    }
+
+    public void addColdItems(long count) {
+        coldItems.addAndGet(count);
+    }
+
+    /**
+     * @return the segment new cold items are appended to
+     */
+    public ColdSegment activeSegment() {
+        if (active == null) {
+            active = newSegment();
+        }
+        return active;
+    }
+
+    /**
+     * @param retainMillis how long a retired segment must stay readable before it may be closed
+     * @return whether more than half of the active segment is dead records and the previously
+     *         retired segment is old enough to be closed
+     */
+    public boolean needsCompaction(long retainMillis) {
+        ColdSegment segment = active;
+        if (retired != null && System.currentTimeMillis() - retiredAtMillis < retainMillis) {
+            return false;
+        }
+        return segment != null && segment.size() >= MIN_COMPACTION_BYTES && segment.deadBytes() * 2 > segment.size();
+    }
+
+    /**
+     * Start a new active segment for the live records of the current one. The repository copies
+     * every record still referenced, including older versions kept for snapshots; the old segment
+     * stays readable until the next compaction, for reads that started before their record was copied.
+     *
+     * @return the segment to copy live records from
+     */
+    public ColdSegment startCompaction() {
+        if (retired != null) {
+            retired.close();
+        }
+        retired = active;
+        retiredAtMillis = System.currentTimeMillis();
+        active = newSegment();
+        return retired;
+    }
+
+    public long heapBytes() {
+        return heapBytes.get();
+    }
+
+    public long coldItems() {
+        return coldItems.get();
+    }
+
+    public long diskBytes() {
+        ColdSegment current = active;
+        ColdSegment old = retired;
+        return (current != null ? current.size() : 0) + (old != null ? old.size() : 0);
+    }
+
+    public double heapHitRatio() {
+        long heap = heapReads.sum();
+        long total = heap + diskReads.sum();
+        return total == 0 ? 1.0 : (double) heap / total;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (active != null) {
+            active.close();
+        }
+        if (retired != null) {
+            retired.close();
+        }
+    }
+
+    private ColdSegment newSegment() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create " + directory, ex);
+        }
+        return new ColdSegment(directory.resolve("cold-" + segmentNumber.incrementAndGet() + ".seg"));
+    }
+
+    private void deleteSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(".seg")).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot clean " + directory, ex);
+        }
+    }
+
+    private static long stringBytes(String value) {
+        // Header and fields 24, array header 16, Latin-1 contents rounded up to 8
+        return value == null ? 0 : 40 + ((value.length() + 7) & ~7);
+    }
+}
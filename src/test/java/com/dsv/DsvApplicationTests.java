@@ -1,11 +1,25 @@
 package com.dsv;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @SpringBootTest
 class DsvApplicationTests {
 
+	@TempDir
+	static Path auditDirectory;
+
+	@DynamicPropertySource
+	static void auditDirectory(DynamicPropertyRegistry registry) {
+		// Audit files of test runs must not end up in the project directory
+		registry.add("dsv.audit.directory", auditDirectory::toString);
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,140 @@
+package com.dsv.admission;
+
+import com.dsv.admission.RequestPriority.Priority;
+import com.dsv.controller.ClusterController;
+import com.dsv.controller.ImportController;
+import com.dsv.controller.ItemController;
+import com.dsv.controller.LowStockController;
+import com.dsv.controller.ReplicationController;
+import com.dsv.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final long MILLI = 1_000_000;
+
+	// Long window, so baselines never rotate during a test
+	private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, 2.0, 4, 0.2, 3_600_000);
+
+	@Test
+	void slowEndpointsAreNotMeasuredAgainstFastOnes() {
+		for (int i = 0; i < 1_000; i++) {
+			sample("health", 1 * MILLI);
+			sample("query", 50 * MILLI);
+		}
+
+		assertEquals(20, limiter.getLimit());
+		assertEquals(1 * MILLI, limiter.getBaselineLatencyNanos("health"));
+		assertEquals(50 * MILLI, limiter.getBaselineLatencyNanos("query"));
+	}
+
+	@Test
+	void congestionLowersTheLimitToTheQueueAllowance() {
+		sample("query", 50 * MILLI);
+
+		for (int i = 0; i < 200; i++) {
+			sample("query", 60_000 * MILLI);
+		}
+		// Gradient 0.5 every time: the limit settles at twice the queue size, above the minimum of 4
+		assertEquals(8, limiter.getLimit());
+
+		for (int i = 0; i < 4; i++) {
+			assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+		}
+		for (int i = 0; i < 20; i++) {
+			sample("query", 50 * MILLI); // Back at the baseline with the limit in use
+		}
+		assertTrue(limiter.getLimit() > 8);
+	}
+
+	@Test
+	void limitGrowsOnlyWhileItIsUsed() {
+		sample("get", MILLI);
+		for (int i = 0; i < 100; i++) {
+			sample("get", MILLI); // One request in flight out of 20
+		}
+		assertEquals(20, limiter.getLimit());
+
+		for (int i = 0; i < 10; i++) {
+			assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+		}
+		for (int i = 0; i < 200; i++) {
+			assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+			limiter.release("get", MILLI); // Eleven in flight out of 20
+		}
+		assertTrue(limiter.getLimit() > 20);
+	}
+
+	@Test
+	void lowerPrioritiesGetASmallerShare() {
+		for (int i = 0; i < 10; i++) {
+			assertTrue(limiter.tryAcquire(Priority.SHEDDABLE));
+		}
+		assertFalse(limiter.tryAcquire(Priority.SHEDDABLE));
+		for (int i = 0; i < 8; i++) {
+			assertTrue(limiter.tryAcquire(Priority.STANDARD));
+		}
+		assertFalse(limiter.tryAcquire(Priority.STANDARD));
+		assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+		assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+		assertFalse(limiter.tryAcquire(Priority.CRITICAL));
+
+		assertEquals(1, limiter.getRejectedCount(Priority.SHEDDABLE));
+		assertEquals(1, limiter.getRejectedCount(Priority.CRITICAL));
+	}
+
+	@Test
+	void interceptorRejectsAndReleasesSlots() {
+		AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+				new AdaptiveConcurrencyLimiter(4, 4, 4, 2.0, 4, 0.2, 3_600_000), 3);
+		MockHttpServletRequest first = new MockHttpServletRequest();
+		MockHttpServletRequest second = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		Object handler = new Object(); // No @RequestPriority: STANDARD, 90% of 4 = 3 slots
+
+		for (int i = 0; i < 3; i++) {
+			assertTrue(interceptor.preHandle(i == 0 ? first : second, response, handler));
+		}
+		ServiceOverloadedException rejected = assertThrows(ServiceOverloadedException.class,
+				() -> interceptor.preHandle(new MockHttpServletRequest(), response, handler));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatus());
+		assertEquals(3, rejected.getRetryAfterSeconds());
+
+		interceptor.afterCompletion(first, response, handler, null);
+		interceptor.afterCompletion(first, response, handler, null); // Released only once
+		assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, handler));
+		assertThrows(ServiceOverloadedException.class,
+				() -> interceptor.preHandle(new MockHttpServletRequest(), response, handler));
+	}
+
+	@Test
+	void everyApiEndpointDeclaresItsPriority() {
+		for (Class<?> controller : List.of(ItemController.class, LowStockController.class, ImportController.class,
+				ClusterController.class, ReplicationController.class)) {
+			for (Method method : controller.getDeclaredMethods()) {
+				if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+					assertTrue(method.isAnnotationPresent(RequestPriority.class)
+							|| controller.isAnnotationPresent(RequestPriority.class), method.toString());
+				}
+			}
+		}
+	}
+
+	private void sample(String endpoint, long latencyNanos) {
+		assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+		limiter.release(endpoint, latencyNanos);
+	}
+}
@@ -0,0 +1,205 @@
+package com.dsv.audit;
+
+import com.dsv.audit.AuditRingBuffer.FullPolicy;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditTrailTests {
+
+	@Test
+	void fullBufferFollowsPolicy() {
+		AuditRingBuffer drop = new AuditRingBuffer(4, FullPolicy.DROP, 1);
+		AuditRingBuffer sample = new AuditRingBuffer(4, FullPolicy.SAMPLE, 3);
+		for (long position = 0; position < 4; position++) {
+			assertEquals(position, drop.claim());
+			assertEquals(position, sample.claim());
+		}
+
+		assertEquals(-1, drop.claim());
+		assertEquals(1, drop.dropped());
+
+		// While full, one event in three is kept and the others are dropped
+		assertEquals(4, sample.claim());
+		assertEquals(-1, sample.claim());
+		assertEquals(-1, sample.claim());
+		assertEquals(5, sample.claim());
+		assertEquals(2, sample.dropped());
+		assertEquals(6, sample.depth());
+
+		sample.close(); // Position 4 would otherwise wait for the consumer
+		assertFalse(sample.publish(4, 0, AuditEventType.DELETE, 4L, null, null));
+		assertEquals(3, sample.dropped());
+	}
+
+	@Test
+	void claimNeverWaitsAndPublishWaitsForItsSlot() throws Exception {
+		AuditRingBuffer ring = new AuditRingBuffer(2, FullPolicy.BLOCK, 1);
+		for (long position = 0; position < 3; position++) {
+			assertEquals(position, ring.claim()); // Past capacity too: the wait is left to publish
+		}
+		assertTrue(ring.publish(0, 0, AuditEventType.DELETE, 1L, null, null));
+		assertTrue(ring.publish(1, 0, AuditEventType.DELETE, 2L, null, null));
+		Thread third = new Thread(() -> ring.publish(2, 0, AuditEventType.DELETE, 3L, null, null));
+		third.start();
+		third.join(100);
+		assertTrue(third.isAlive(), "publish waits for its slot");
+
+		List<Long> ids = new ArrayList<>();
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+			while (ids.size() < 3) {
+				ring.drain(slot -> ids.add(slot.getItemId()), 10);
+				Thread.sleep(1);
+			}
+			third.join();
+		});
+		assertEquals(List.of(1L, 2L, 3L), ids);
+	}
+
+	@Test
+	void writesEveryEventOnceInOrder(@TempDir Path directory) throws Exception {
+		AuditTrail trail = new AuditTrail(new SimpleMeterRegistry(), true, directory, 64, FullPolicy.BLOCK,
+				1, 16, 4_096, 1_000, false);
+		ItemRepository repository = new ItemRepository(false, 60_000, 1_000);
+		repository.addListener(trail);
+		List<Thread> producers = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			Thread producer = new Thread(() -> {
+				for (int i = 0; i < 1_000; i++) {
+					Item item = new Item("Item \"" + i + "\"", "d", 1.5, 3, "C");
+					trail.audited(() -> repository.save(item));
+				}
+			});
+			producer.start();
+			producers.add(producer);
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		trail.shutdown();
+
+		List<String> lines = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory).sorted()) {
+			for (Path file : files.toList()) {
+				lines.addAll(Files.readAllLines(file));
+			}
+		}
+		assertEquals(4_000, lines.size());
+		assertTrue(Files.list(directory).count() > 1, "files rolled over");
+		for (int i = 0; i < lines.size(); i++) {
+			assertTrue(lines.get(i).startsWith("{\"position\":" + i + ","), lines.get(i));
+		}
+		assertTrue(lines.get(0).contains("\"type\":\"CREATE\""));
+	}
+
+	@Test
+	void recordsAuditedChangesInCommitOrder(@TempDir Path directory) throws Exception {
+		AuditTrail trail = new AuditTrail(new SimpleMeterRegistry(), true, directory, 64, FullPolicy.BLOCK,
+				1, 16, 1 << 20, 10, false);
+		ItemRepository repository = new ItemRepository(true, 60_000, 1_000);
+		repository.addListener(trail);
+
+		List<Thread> writers = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			Thread writer = new Thread(() -> {
+				for (int i = 0; i < 250; i++) {
+					trail.audited(() -> repository.update(1L, item -> {
+						item.setStock(item.getStock() + 1);
+						return item;
+					}));
+				}
+			});
+			writer.start();
+			writers.add(writer);
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		repository.deleteById(2L); // Not audited
+		trail.audited(() -> repository.update(3L, item -> {
+			item.setName("Studio Headphones");
+			item.setStock(item.getStock() - 5);
+			return item;
+		}));
+		trail.shutdown();
+
+		List<String> lines = readLines(directory);
+		assertEquals(1_001, lines.size());
+		for (int i = 0; i < 1_000; i++) {
+			// Stock 15 grows by one per event, in position order
+			assertTrue(lines.get(i).contains("\"type\":\"STOCK_CHANGE\""), lines.get(i));
+			assertTrue(lines.get(i).contains("\"stock\":" + (16 + i) + ",\"category\":\"Electronics\",\"stockDelta\":1}"),
+					lines.get(i));
+		}
+		assertTrue(lines.get(1_000).contains("\"type\":\"UPDATE\",\"itemId\":3,\"name\":\"Studio Headphones\""));
+		assertTrue(lines.get(1_000).endsWith("\"stockDelta\":-5}"), lines.get(1_000));
+	}
+
+	@Test
+	void recordsBatchCreatesOfAnAuditedWrite(@TempDir Path directory) throws Exception {
+		AuditTrail trail = new AuditTrail(new SimpleMeterRegistry(), true, directory, 64, FullPolicy.BLOCK,
+				1, 16, 1 << 20, 10, false);
+		ItemRepository repository = new ItemRepository(false, 60_000, 1_000);
+		repository.addListener(trail);
+
+		repository.saveAll(List.of(new Item("Mug", "d", 4.5, 10, "Kitchen"))); // Not audited
+		trail.audited(() -> repository.saveAll(List.of(new Item("Lamp", "d", 1.5, 3, "Home"),
+				new Item("Desk", "d", 99.0, 2, "Home"))));
+		trail.shutdown();
+
+		List<String> lines = readLines(directory);
+		assertEquals(2, lines.size());
+		assertTrue(lines.get(0).startsWith("{\"position\":0,"), lines.get(0));
+		assertTrue(lines.get(0).contains("\"type\":\"CREATE\",\"itemId\":2,\"name\":\"Lamp\""), lines.get(0));
+		assertTrue(lines.get(1).contains("\"type\":\"CREATE\",\"itemId\":3,\"name\":\"Desk\""), lines.get(1));
+	}
+
+	@Test
+	void eventThatCannotBeEncodedDoesNotStopTheWriter(@TempDir Path directory) throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AuditTrail trail = new AuditTrail(registry, true, directory, 8, FullPolicy.BLOCK,
+				1, 4, 1 << 20, 10, false);
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+			trail.record(null, new Item(1L, "Lamp", "d", 1.5, 3, "C"));
+			trail.record(null, new Item(null, "Broken", "d", 1.5, 3, "C"));
+			// More events than the buffer holds: they only fit if the writer keeps draining
+			for (long id = 2; id <= 50; id++) {
+				trail.record(null, new Item(id, "Lamp", "d", 1.5, 3, "C"));
+			}
+			trail.shutdown();
+		});
+
+		List<String> lines = readLines(directory);
+		assertEquals(50, lines.size());
+		assertTrue(lines.get(0).startsWith("{\"position\":0,"));
+		assertTrue(lines.get(1).startsWith("{\"position\":2,"), lines.get(1));
+		assertEquals(1.0, registry.get("dsv.audit.failed").functionCounter().count());
+		assertEquals(50.0, registry.get("dsv.audit.written").functionCounter().count());
+	}
+
+	private static List<String> readLines(Path directory) throws IOException {
+		List<String> lines = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory).sorted()) {
+			for (Path file : files.toList()) {
+				lines.addAll(Files.readAllLines(file));
+			}
+		}
+		return lines;
+	}
+}
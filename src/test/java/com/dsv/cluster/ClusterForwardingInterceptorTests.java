@@ -0,0 +1,53 @@
+package com.dsv.cluster;
+
+import com.dsv.exception.ForwardingRejectedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterForwardingInterceptorTests {
+
+	private final ClusterForwardingInterceptor interceptor = new ClusterForwardingInterceptor("s3cret", "abc");
+
+	@Test
+	void requestWithSecretAndTopologyIsForwarded() {
+		MockHttpServletRequest request = request("s3cret", "abc");
+
+		assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+		assertTrue(ClusterForwardingInterceptor.isForwarded(request));
+	}
+
+	@Test
+	void clientRequestIsNotForwarded() {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/items");
+		request.addHeader(ClusterClient.ITEM_ID_HEADER, "1");
+
+		assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+		assertFalse(ClusterForwardingInterceptor.isForwarded(request));
+	}
+
+	@Test
+	void wrongSecretOrTopologyIsRejected() {
+		MockHttpServletRequest guessed = request("true", "abc");
+		MockHttpServletRequest resized = request("s3cret", "def");
+
+		assertThrows(ForwardingRejectedException.class,
+				() -> interceptor.preHandle(guessed, new MockHttpServletResponse(), null));
+		assertThrows(ForwardingRejectedException.class,
+				() -> interceptor.preHandle(resized, new MockHttpServletResponse(), null));
+		assertFalse(ClusterForwardingInterceptor.isForwarded(guessed));
+		assertFalse(ClusterForwardingInterceptor.isForwarded(resized));
+	}
+
+	private static MockHttpServletRequest request(String secret, String topology) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/items");
+		request.addHeader(ClusterClient.FORWARDED_HEADER, secret);
+		request.addHeader(ClusterClient.TOPOLOGY_HEADER, topology);
+		request.addHeader(ClusterClient.ITEM_ID_HEADER, "1");
+		return request;
+	}
+}
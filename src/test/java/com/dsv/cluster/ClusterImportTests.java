@@ -0,0 +1,100 @@
+package com.dsv.cluster;
+
+import com.dsv.DsvApplication;
+import com.dsv.dto.ImportResult;
+import com.dsv.importer.BulkItemImporter;
+import com.dsv.importer.ImportFormat;
+import com.dsv.repository.ItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterImportTests {
+
+	private static final int ROWS = 60;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+	private final List<Integer> ports = new ArrayList<>();
+
+	@TempDir
+	Path directory;
+
+	@BeforeEach
+	void startTwoNodes() throws IOException {
+		for (int i = 0; i < 2; i++) {
+			try (ServerSocket socket = new ServerSocket(0)) {
+				ports.add(socket.getLocalPort());
+			}
+		}
+		String nodeList = "http://127.0.0.1:" + ports.get(0) + ",http://127.0.0.1:" + ports.get(1);
+		for (int i = 0; i < 2; i++) {
+			nodes.add(new SpringApplicationBuilder(DsvApplication.class)
+					.bannerMode(Banner.Mode.OFF)
+					.run("--server.port=" + ports.get(i),
+							"--spring.devtools.restart.enabled=false",
+							"--dsv.cluster.enabled=true",
+							"--dsv.cluster.nodes=" + nodeList,
+							"--dsv.cluster.self-index=" + i,
+							"--dsv.cluster.secret=test-secret",
+							"--dsv.admission.enabled=false",
+							"--dsv.audit.enabled=false",
+							"--dsv.import.directory=" + directory));
+		}
+	}
+
+	@AfterEach
+	void stopNodes() {
+		nodes.forEach(ConfigurableApplicationContext::close);
+	}
+
+	@Test
+	void rowsImportedOnOneNodeAreServedThroughTheOther() throws IOException {
+		StringBuilder csv = new StringBuilder("name,price,stock,category\n");
+		for (int i = 1; i <= ROWS; i++) {
+			csv.append("Item ").append(i).append(",").append(i).append(".5,").append(i).append(",Tools\n");
+		}
+		Path file = Files.writeString(directory.resolve("items.csv"), csv.toString());
+
+		ImportResult result = nodes.get(0).getBean(BulkItemImporter.class).importFile(file, ImportFormat.CSV);
+
+		assertEquals(ROWS, result.getImportedRows());
+		long first = nodes.get(0).getBean(ItemRepository.class).count();
+		long second = nodes.get(1).getBean(ItemRepository.class).count();
+		assertEquals(ROWS, first + second);
+		assertTrue(first > 0 && second > 0, "rows should be spread over both nodes");
+
+		RestClient other = RestClient.create("http://127.0.0.1:" + ports.get(1));
+		JsonNode all = objectMapper.readTree(other.get().uri("/api/items").retrieve().body(String.class));
+		assertEquals(ROWS, all.get("data").size());
+		for (JsonNode item : all.get("data")) {
+			long id = item.get("id").asLong();
+			for (RestClient node : List.of(other, RestClient.create("http://127.0.0.1:" + ports.get(0)))) {
+				ResponseEntity<String> response = node.get().uri("/api/items/{id}", id).retrieve()
+						.toEntity(String.class);
+				assertEquals(HttpStatus.OK, response.getStatusCode());
+				assertEquals(item.get("name").asText(),
+						objectMapper.readTree(response.getBody()).get("data").get("name").asText());
+			}
+		}
+	}
+}
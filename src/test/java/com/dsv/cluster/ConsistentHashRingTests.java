@@ -0,0 +1,50 @@
+package com.dsv.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTests {
+
+	private static final List<String> NODES =
+			List.of("http://10.0.0.1:8080", "http://10.0.0.2:8080", "http://10.0.0.3:8080");
+
+	@Test
+	void ringsBuiltFromTheSameNodesAgreeOnEveryOwner() {
+		ConsistentHashRing first = new ConsistentHashRing(NODES, 128);
+		ConsistentHashRing second = new ConsistentHashRing(List.copyOf(NODES), 128);
+
+		for (long id = 1; id <= 10_000; id++) {
+			assertEquals(first.ownerOf(id), second.ownerOf(id));
+		}
+		assertEquals(first.getPositions(), second.getPositions());
+		assertEquals(first.fingerprint(), second.fingerprint());
+	}
+
+	@Test
+	void sequentialIdsSpreadEvenlyOverNodes() {
+		ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+		int[] owned = new int[NODES.size()];
+		int ids = 30_000;
+		for (long id = 1; id <= ids; id++) {
+			owned[ring.ownerOf(id)]++;
+		}
+
+		for (int count : owned) {
+			// Each node owns its fair share within 25%
+			assertTrue(Math.abs(count - ids / NODES.size()) < ids / NODES.size() / 4, "owned " + count);
+		}
+	}
+
+	@Test
+	void fingerprintChangesWithTheNodeListAndVirtualNodes() {
+		String fingerprint = new ConsistentHashRing(NODES, 128).fingerprint();
+
+		assertNotEquals(fingerprint, new ConsistentHashRing(NODES.subList(0, 2), 128).fingerprint());
+		assertNotEquals(fingerprint, new ConsistentHashRing(NODES, 64).fingerprint());
+	}
+}
@@ -0,0 +1,82 @@
+package com.dsv.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ApiResponseTests {
+
+	@Test
+	void responsesWithinOneMillisecondShareTheirTimestamp() {
+		for (int attempt = 0; attempt < 1_000; attempt++) {
+			long before = System.currentTimeMillis();
+			ApiResponse<Object> first = ApiResponse.success("first");
+			ApiResponse<Object> second = ApiResponse.error("second");
+			if (System.currentTimeMillis() == before) {
+				assertSame(first.getTimestamp(), second.getTimestamp());
+				return;
+			}
+		}
+		fail("No two responses were created within the same millisecond");
+	}
+
+	@Test
+	void timestampsFollowTheClock() throws InterruptedException {
+		ApiResponse<Object> first = ApiResponse.success("first");
+		Thread.sleep(5);
+		ApiResponse<Object> second = ApiResponse.success("second");
+
+		assertNotSame(first.getTimestamp(), second.getTimestamp());
+		assertTrue(second.getTimestamp().isAfter(first.getTimestamp()));
+		assertTrue(Duration.between(second.getTimestamp(), LocalDateTime.now()).abs().toMillis() < 1_000);
+	}
+
+	@Test
+	void templatedMessagesRenderTheirArguments() {
+		MessageTemplate template = MessageTemplate.of("Items in category '{}' retrieved successfully. Total: {}");
+
+		ApiResponse<List<String>> response = ApiResponse.success(template, List.of("a"), "Kitchen", 1_000);
+
+		assertEquals("Items in category 'Kitchen' retrieved successfully. Total: 1000", response.getMessage());
+		assertEquals("Item 7 of null", MessageTemplate.of("Item {} of {}").format(7L));
+	}
+
+	@Test
+	void serializedLikeABean() throws Exception {
+		ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		ApiResponse<List<Integer>> templated = ApiResponse.success(MessageTemplate.of("Total: {}"), List.of(1, 2), 2);
+		ApiResponse<Object> error = ApiResponse.error("Item not found with id: 9");
+		error.setTimestamp(LocalDateTime.of(2026, 10, 19, 1, 2, 3, 450_000_000));
+
+		JsonNode json = mapper.readTree(mapper.writeValueAsString(templated));
+		assertEquals(List.of("success", "message", "data", "timestamp"), fieldNames(json));
+		assertEquals("Total: 2", json.get("message").asText());
+		assertEquals("[1,2]", json.get("data").toString());
+		assertEquals(templated.getTimestamp(), LocalDateTime.parse(json.get("timestamp").asText()));
+
+		assertEquals("{\"success\":false,\"message\":\"Item not found with id: 9\",\"data\":null,"
+				+ "\"timestamp\":\"2026-10-19T01:02:03.45\"}", mapper.writeValueAsString(error));
+		assertEquals("[2026,10,19,1,2,3,450000000]", mapper.readTree(mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.writeValueAsString(error)).get("timestamp").toString());
+	}
+
+	private static List<String> fieldNames(JsonNode json) {
+		List<String> names = new ArrayList<>();
+		json.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+}
@@ -0,0 +1,55 @@
+package com.dsv.dto;
+
+import com.dsv.entity.Item;
+import com.dsv.exception.InvalidRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemPatchTests {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+	@Test
+	void onlyPatchedFieldsChange() throws Exception {
+		Item item = new Item(1L, "Laptop", "14 inch", 999.99, 15, "Electronics");
+
+		ItemPatch.from(mapper.readTree("{\"price\": 899.5, \"description\": null}")).applyTo(item);
+
+		assertEquals("Laptop", item.getName());
+		assertNull(item.getDescription());
+		assertEquals(899.5, item.getPrice());
+		assertEquals(15, item.getStock());
+		assertEquals("Electronics", item.getCategory());
+	}
+
+	@Test
+	void onlyPatchedFieldsAreValidated() throws Exception {
+		ItemPatch patch = ItemPatch.from(mapper.readTree("{\"stock\": -1, \"category\": null}"));
+
+		Set<ConstraintViolation<Item>> violations = patch.validate(validator);
+
+		assertEquals(1, violations.size());
+		assertEquals("stock", violations.iterator().next().getPropertyPath().toString());
+		assertTrue(ItemPatch.from(mapper.readTree("{\"stock\": 3}")).validate(validator).isEmpty());
+		assertEquals(1, ItemPatch.from(mapper.readTree("{\"name\": null}")).validate(validator).size());
+	}
+
+	@Test
+	void malformedPatchesAreRejected() {
+		for (String json : new String[]{"[]", "{\"id\": 2}", "{\"color\": \"red\"}", "{\"stock\": 1.5}",
+				"{\"price\": \"cheap\"}", "{\"name\": 7}"}) {
+			assertThrows(InvalidRequestException.class, () -> ItemPatch.from(mapper.readTree(json)), json);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.dsv.importer;
+
+import com.dsv.dto.ImportResult;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkItemImporterTests {
+
+	private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+	private final ItemRepository repository = new ItemRepository(false, 60_000, 1_000);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void csvFieldsHonourQuotesAndEscapes() {
+		assertEquals(List.of("Desk", "Oak, solid", "say \"hi\"", "", "12"),
+				BulkItemImporter.splitCsvLine("Desk,\"Oak, solid\",\"say \"\"hi\"\"\",,12"));
+		assertEquals(List.of(""), BulkItemImporter.splitCsvLine(""));
+	}
+
+	@Test
+	void rowsSurviveChunkBoundariesAndErrorsKeepTheirLineNumbers() throws IOException {
+		StringBuilder csv = new StringBuilder("\uFEFFname,price,stock,category\r\n");
+		for (int i = 1; i <= 200; i++) {
+			if (i == 50) {
+				csv.append("Broken,abc,1,Tools\r\n");
+			} else if (i == 120) {
+				csv.append("X,1.0,1,Tools\r\n");
+			} else {
+				csv.append("Item ").append(i).append(",").append(i).append(".5,").append(i).append(",Tools\r\n");
+			}
+		}
+		Path file = write("items.csv", csv.toString());
+
+		// Chunks of 64 bytes: nearly every chunk boundary falls inside a line
+		ImportResult result = importer(64, 4).importFile(file, ImportFormat.CSV);
+
+		assertEquals(200, result.getTotalRows());
+		assertEquals(198, result.getImportedRows());
+		assertEquals(2, result.getFailedRows());
+		assertEquals(List.of("line 51: price: not a number 'abc'",
+				"line 121: name: Name must be between 2 and 100 characters"), result.getErrors());
+
+		List<Item> items = repository.findAll();
+		items.sort(Comparator.comparing(Item::getId));
+		assertEquals(198, items.size());
+		assertEquals("Item 1", items.get(0).getName());
+		assertEquals("Item 200", items.get(197).getName());
+		assertEquals(200, items.get(197).getStock());
+	}
+
+	@Test
+	void rowsOnConstraintBoundariesAreJudgedLikeTheValidator() throws IOException {
+		Path file = write("bounds.csv", """
+				name,price,stock
+				Ok,0.01,0
+				"Quoted, name",0.02,1
+				Cheap,0.0099,1
+				Negative,1.0,-1
+				"   ",1.0,1
+				%s,1.0,1
+				%s,1.0,1
+				""".formatted("x".repeat(100), "x".repeat(101)));
+
+		ImportResult result = importer(1 << 20, 1).importFile(file, ImportFormat.CSV);
+
+		assertNotNull(ItemConstraintCheck.from(validator)); // Item's constraints are all pre-checked
+		assertEquals(List.of("line 4: price: Price must be greater than 0",
+				"line 5: stock: Stock cannot be negative",
+				"line 6: name: Item name is required",
+				"line 8: name: Name must be between 2 and 100 characters"), result.getErrors());
+		assertEquals(3, result.getImportedRows());
+		assertTrue(repository.findAll().stream().anyMatch(item -> item.getName().equals("Quoted, name")));
+	}
+
+	@Test
+	void ndjsonWithoutTrailingNewlineIsImported() throws IOException {
+		Path file = write("items.ndjson", """
+				{"name":"Lamp","price":9.5,"stock":3}
+
+				{"name":"Chair","price":"cheap","stock":1}
+				{"name":"Desk","price":120.0,"stock":2}""");
+
+		ImportResult result = importer(16, 2).importFile(file, ImportFormat.NDJSON);
+
+		assertEquals(2, result.getImportedRows());
+		assertEquals(1, result.getErrors().size());
+		assertTrue(result.getErrors().get(0).startsWith("line 3: invalid JSON"));
+	}
+
+	@Test
+	void failedImportInsertsNothing() throws IOException {
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			ndjson.append("{\"name\":\"Item ").append(i).append("\",\"price\":1.0,\"stock\":1}\n");
+		}
+		ndjson.append("{\"name\":\"boom\",\"price\":1.0,\"stock\":1}\n");
+		Path file = write("items.ndjson", ndjson.toString());
+		ObjectMapper failing = new ObjectMapper() {
+			@Override
+			public <T> T readValue(String content, Class<T> type) throws JsonProcessingException {
+				if (content.contains("boom")) {
+					throw new IllegalStateException("Simulated parser failure");
+				}
+				return super.readValue(content, type);
+			}
+		};
+
+		BulkItemImporter importer = new BulkItemImporter(repository, validator, failing, 256, 2);
+
+		assertThrows(CompletionException.class, () -> importer.importFile(file, ImportFormat.NDJSON));
+		assertEquals(0, repository.count());
+	}
+
+	private BulkItemImporter importer(int chunkSize, int parallelism) {
+		return new BulkItemImporter(repository, validator, new ObjectMapper(), chunkSize, parallelism);
+	}
+
+	private Path write(String name, String content) throws IOException {
+		return Files.writeString(directory.resolve(name), content);
+	}
+}
@@ -0,0 +1,67 @@
+package com.dsv.index;
+
+import com.dsv.dto.ItemSuggestion;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameIndexTests {
+
+	private final ItemRepository repository = new ItemRepository(true, 60_000, 1_000);
+	private final NameIndex index = new NameIndex(repository, 3);
+
+	@Test
+	void matchesNormalizedPrefixes() {
+		repository.save(new Item("Lápiz  Case", "Pencil case", 4.99, 10, "Office"));
+
+		assertEquals(List.of("Laptop", "Lápiz  Case"), names(index.suggest("  LA", 3)));
+		assertEquals(List.of("Lápiz  Case"), names(index.suggest("lapiz c", 3)));
+		assertEquals(List.of(), names(index.suggest("lapx", 3)));
+	}
+
+	@Test
+	void agreesWithScanUnderRandomChanges() {
+		Random random = new Random(42);
+		String[] words = {"lamp", "laptop", "lap", "la", "case", "cable", "cab", "desk", "de"};
+		List<Long> ids = new ArrayList<>(List.of(1L, 2L, 3L, 4L, 5L));
+
+		for (int step = 0; step < 2_000; step++) {
+			String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+			int action = random.nextInt(3);
+			if (action == 0 || ids.isEmpty()) {
+				ids.add(repository.save(new Item(name, "d", 1.0, 1, "C")).getId());
+			} else if (action == 1) {
+				repository.deleteById(ids.remove(random.nextInt(ids.size())));
+			} else {
+				repository.update(ids.get(random.nextInt(ids.size())), item -> {
+					item.setName(name);
+					return item;
+				});
+			}
+
+			String prefix = name.substring(0, random.nextInt(name.length() + 1));
+			assertEquals(scan(prefix), names(index.suggest(prefix, 3)), "prefix '" + prefix + "'");
+		}
+	}
+
+	private List<String> scan(String prefix) {
+		String key = NameIndex.normalize(prefix);
+		return repository.findAll().stream()
+				.filter(item -> NameIndex.normalize(item.getName()).startsWith(key))
+				.map(item -> new ItemSuggestion(item.getId(), item.getName()))
+				.sorted(ItemSuggestion.RANKING)
+				.limit(3)
+				.map(ItemSuggestion::getName)
+				.toList();
+	}
+
+	private static List<String> names(List<ItemSuggestion> suggestions) {
+		return suggestions.stream().map(ItemSuggestion::getName).toList();
+	}
+}
@@ -0,0 +1,173 @@
+package com.dsv.index;
+
+import com.dsv.dto.ItemQuery;
+import com.dsv.dto.QueryResult;
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryPlannerTests {
+
+	private static final String[] CATEGORIES = {"Books", "Garden", "Toys", "Tools", "Rare"};
+	private static final String[] NAMES = {"lamp", "laptop", "cable", "desk", "chair"};
+
+	private final ItemRepository repository = new ItemRepository(true, 60_000, 1_000);
+	private final StockIndex stockIndex = new StockIndex(repository, event -> { }, 5);
+	private final QueryPlanner planner = new QueryPlanner(repository, new CategoryIndex(repository),
+			new PriceIndex(repository), stockIndex, new NameIndex(repository, 10), 0.25);
+	private final Random random = new Random(7);
+
+	@BeforeEach
+	void populate() {
+		for (int i = 0; i < 2_000; i++) {
+			String category = random.nextInt(100) == 0 ? "Rare" : CATEGORIES[random.nextInt(4)];
+			repository.save(new Item(NAMES[random.nextInt(NAMES.length)] + " " + i, "d",
+					1 + random.nextInt(500) / 4.0, random.nextInt(50), category));
+		}
+	}
+
+	@AfterEach
+	void shutdown() {
+		stockIndex.shutdown();
+	}
+
+	@Test
+	void choosesMostSelectivePath() {
+		ItemQuery rare = query();
+		rare.setCategory("rare");
+		rare.setMaxStock(40);
+		assertEquals(QueryPlanner.CATEGORY_INDEX, planner.execute(rare).getPlan().getAccessPath());
+
+		ItemQuery cheapest = query();
+		cheapest.setSort("price");
+		cheapest.setLimit(5);
+		QueryResult result = planner.execute(cheapest);
+		assertEquals(QueryPlanner.PRICE_INDEX, result.getPlan().getAccessPath());
+		assertTrue(result.getPlan().isIndexOrdered());
+		assertEquals(5, result.getPlan().getRowsExamined());
+
+		ItemQuery broad = query();
+		broad.setMinStock(1);
+		assertEquals(QueryPlanner.FULL_SCAN, planner.execute(broad).getPlan().getAccessPath());
+	}
+
+	@Test
+	void agreesWithScanForRandomQueries() {
+		String[] sorts = {"id", "-id", "name", "price", "-price", "stock", "-stock"};
+		for (int round = 0; round < 500; round++) {
+			ItemQuery query = query();
+			if (random.nextBoolean()) {
+				query.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+			}
+			if (random.nextBoolean()) {
+				query.setMinPrice(random.nextInt(130) * 1.0);
+				query.setMaxPrice(query.getMinPrice() + random.nextInt(40));
+			}
+			if (random.nextBoolean()) {
+				query.setMaxStock(random.nextInt(50));
+			}
+			if (random.nextInt(3) == 0) {
+				query.setName(NAMES[random.nextInt(NAMES.length)].substring(0, 2 + random.nextInt(2)));
+			}
+			query.setSort(sorts[random.nextInt(sorts.length)]);
+			query.setLimit(1 + random.nextInt(50));
+
+			QueryResult result = planner.execute(query);
+			assertEquals(scan(query), result.getItems(), "plan " + result.getPlan().getAccessPath());
+		}
+	}
+
+	@Test
+	void indexPathsReadOneVersionWhileWritersMoveItems() throws InterruptedException {
+		List<Item> catalog = repository.findAll();
+		List<Double> cheapestPrices = catalog.stream().map(Item::getPrice).sorted().limit(50).toList();
+		List<Long> rare = catalog.stream().filter(item -> item.getCategory().equals("Rare")).map(Item::getId).toList();
+
+		// Every write shuffles all prices at once, so each version has the same prices on other items
+		AtomicBoolean running = new AtomicBoolean(true);
+		Thread writer = new Thread(() -> {
+			Random shuffle = new Random(11);
+			List<Double> prices = new ArrayList<>(catalog.stream().map(Item::getPrice).toList());
+			while (running.get()) {
+				Collections.shuffle(prices, shuffle);
+				List<Item> next = new ArrayList<>(catalog.size());
+				for (int i = 0; i < catalog.size(); i++) {
+					Item item = new Item(catalog.get(i));
+					item.setPrice(prices.get(i));
+					next.add(item);
+				}
+				repository.replaceAll(next);
+			}
+		});
+		writer.start();
+		try {
+			for (int round = 0; round < 200; round++) {
+				ItemQuery cheapest = query();
+				cheapest.setSort("price");
+				cheapest.setLimit(50);
+				QueryResult result = planner.execute(cheapest);
+				assertEquals(QueryPlanner.PRICE_INDEX, result.getPlan().getAccessPath());
+				List<Item> items = result.getItems();
+				assertEquals(cheapestPrices, items.stream().map(Item::getPrice).toList());
+				assertEquals(50, items.stream().map(Item::getId).distinct().count());
+
+				ItemQuery category = query();
+				category.setCategory("Rare");
+				category.setLimit(1_000);
+				result = planner.execute(category);
+				assertEquals(QueryPlanner.CATEGORY_INDEX, result.getPlan().getAccessPath());
+				assertEquals(rare, result.getItems().stream().map(Item::getId).toList());
+			}
+		} finally {
+			running.set(false);
+			writer.join();
+		}
+	}
+
+	@Test
+	void categoryIndexFilterAndRepositoryMatchTheSameCategories() {
+		// Dotted capital I: equalsIgnoreCase("i") is true, but it lower-cases to "i" plus a combining dot
+		Long dotted = repository.save(new Item("Atlas", "d", 10.0, 1, "Kİtap")).getId();
+		Long plain = repository.save(new Item("Novel", "d", 10.0, 1, "KITAP")).getId();
+
+		for (String category : new String[]{"kitap", "kİtap"}) {
+			ItemQuery query = query();
+			query.setCategory(category);
+			QueryResult result = planner.execute(query);
+			assertEquals(QueryPlanner.CATEGORY_INDEX, result.getPlan().getAccessPath());
+			List<Long> expected = repository.findByCategory(category).stream().map(Item::getId).toList();
+			assertEquals(expected, result.getItems().stream().map(Item::getId).toList());
+			assertEquals(List.of(category.equals("kitap") ? plain : dotted), expected);
+		}
+	}
+
+	private static ItemQuery query() {
+		ItemQuery query = new ItemQuery();
+		query.setExplain(true);
+		return query;
+	}
+
+	private List<Item> scan(ItemQuery query) {
+		return repository.findAll().stream()
+				.filter(item -> query.getCategory() == null
+						|| Item.categoryKey(query.getCategory()).equals(Item.categoryKey(item.getCategory())))
+				.filter(item -> query.getMinPrice() == null || item.getPrice() >= query.getMinPrice())
+				.filter(item -> query.getMaxPrice() == null || item.getPrice() <= query.getMaxPrice())
+				.filter(item -> query.getMaxStock() == null || item.getStock() <= query.getMaxStock())
+				.filter(item -> query.getName() == null || NameIndex.normalize(item.getName()).startsWith(query.getName()))
+				.sorted(query.comparator())
+				.limit(query.getLimit())
+				.toList();
+	}
+}
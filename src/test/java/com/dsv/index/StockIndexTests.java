@@ -0,0 +1,81 @@
+package com.dsv.index;
+
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StockIndexTests {
+
+	private final ItemRepository repository = new ItemRepository(true, 60_000, 1_000);
+	private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+	private final StockIndex index = new StockIndex(repository, events::add, 5);
+
+	@AfterEach
+	void shutdown() {
+		index.shutdown();
+	}
+
+	@Test
+	void followsEveryChange() {
+		assertEquals(List.of(1L, 2L), index.findBelow(30, 10));
+
+		repository.update(3L, item -> {
+			item.setStock(1);
+			return item;
+		});
+		repository.deleteById(1L);
+		Long lamp = repository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, 12, "Home Appliances")).getId();
+
+		assertEquals(List.of(3L, lamp, 2L), index.findBelow(30, 10));
+		assertEquals(List.of(3L), index.findBelow(30, 1));
+	}
+
+	@Test
+	void batchInsertsJoinTheExistingOrder() {
+		List<Item> batch = List.of(new Item("Cable", null, 5.0, 4, "Electronics"),
+				new Item("Plug", null, 3.0, 0, "Electronics"),
+				new Item("Fuse", null, 1.0, 25, "Electronics"));
+
+		List<Item> saved = repository.saveAll(new ArrayList<>(batch));
+
+		assertEquals(List.of(saved.get(1).getId(), saved.get(0).getId(), 1L, 2L, saved.get(2).getId()),
+				index.findBelow(30, 10));
+	}
+
+	@Test
+	void publishesEventWhenStockCrossesCategoryThreshold() throws InterruptedException {
+		index.setThreshold("Electronics", 20);
+
+		repository.update(2L, item -> {
+			item.setStock(19);
+			return item;
+		});
+		repository.update(2L, item -> {
+			item.setStock(10);
+			return item;
+		});
+
+		LowStockEvent event = (LowStockEvent) events.poll(5, TimeUnit.SECONDS);
+		assertEquals(new LowStockEvent(2L, "Smartphone", "Electronics", 25, 19, 20), event);
+		assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void thresholdsIgnoreCategoryCase() {
+		index.setThreshold("ELECTRONICS", 20);
+
+		assertEquals(20, index.getThreshold("electronics"));
+		assertEquals(20, index.getThreshold("Electronics"));
+		assertEquals(5, index.getThreshold("Sports"));
+	}
+}
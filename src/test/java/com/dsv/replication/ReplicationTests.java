@@ -0,0 +1,203 @@
+package com.dsv.replication;
+
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationTests {
+
+	private final ItemRepository followerRepository = new ItemRepository(false, 60_000, 1_000);
+	private final ReplicationFollower follower = new ReplicationFollower(
+			followerRepository, new SimpleMeterRegistry(), "127.0.0.1", 0, 1_000);
+
+	@Test
+	void itemsSurviveTheWireFormat() throws IOException {
+		Item full = new Item(7L, "Kettle", "Ünïcödé kettle", 19.5, 3, "Kitchen");
+		Item sparse = new Item(8L, "Mug", null, null, null, null);
+
+		DataInputStream in = frames(out -> {
+			out.write(ReplicationProtocol.encodePut(1, 1000, full));
+			out.write(ReplicationProtocol.encodeDelete(2, 2000, 9L));
+			ReplicationProtocol.writeSnapshotItem(out, sparse);
+			ReplicationProtocol.writeHeartbeat(out, 2, 3000);
+		});
+
+		assertEquals(ReplicationProtocol.PUT, in.readByte());
+		assertEquals(1, in.readLong());
+		assertEquals(1000, in.readLong());
+		assertEquals(full.toString(), ReplicationProtocol.readItem(in).toString());
+
+		assertEquals(ReplicationProtocol.DELETE, in.readByte());
+		assertEquals(2, in.readLong());
+		assertEquals(2000, in.readLong());
+		assertEquals(9L, in.readLong());
+
+		assertEquals(ReplicationProtocol.SNAPSHOT_ITEM, in.readByte());
+		Item read = ReplicationProtocol.readItem(in);
+		assertEquals(8L, read.getId());
+		assertNull(read.getDescription());
+		assertNull(read.getPrice());
+		assertNull(read.getStock());
+		assertNull(read.getCategory());
+
+		assertEquals(ReplicationProtocol.HEARTBEAT, in.readByte());
+		assertEquals(2, in.readLong());
+		assertEquals(3000, in.readLong());
+		assertEquals(-1, in.read());
+	}
+
+	@Test
+	void snapshotItemBeforeSnapshotBeginIsRejected() throws IOException {
+		DataInputStream in = frames(out -> ReplicationProtocol.writeSnapshotItem(out, new Item(1L, "Mug", null, 1.0, 1, null)));
+
+		assertThrows(IOException.class, () -> follower.applyFrame(in));
+		assertThrows(IOException.class, () -> follower.applyFrame(frames(ReplicationProtocol::writeSnapshotEnd)));
+	}
+
+	@Test
+	void followerWorkingThroughBacklogReportsAgeOfAppliedChange() throws IOException {
+		long now = System.currentTimeMillis();
+		apply(out -> {
+			ReplicationProtocol.writeSnapshotBegin(out, 0, now - 60_000);
+			ReplicationProtocol.writeSnapshotEnd(out);
+			out.write(ReplicationProtocol.encodePut(1, now - 5_000, new Item(1L, "Mug", null, 1.0, 1, null)));
+			// The leader is far ahead: a heartbeat must not make the follower look current
+			ReplicationProtocol.writeHeartbeat(out, 500, now);
+		});
+
+		assertTrue(follower.lagMillis() >= 5_000);
+		assertFalse(follower.isReadable());
+		assertEquals(500L, follower.status().getLeaderSequence());
+	}
+
+	@Test
+	void followerInStepWithBusyLeaderIsCurrent() throws IOException {
+		long now = System.currentTimeMillis();
+		apply(out -> {
+			ReplicationProtocol.writeSnapshotBegin(out, 0, now - 60_000);
+			ReplicationProtocol.writeSnapshotEnd(out);
+			for (int i = 1; i <= 100; i++) {
+				out.write(ReplicationProtocol.encodePut(i, now - 100 + i, new Item((long) i, "Mug", null, 1.0, i, null)));
+			}
+		});
+
+		assertTrue(follower.lagMillis() < 1_000);
+		assertTrue(follower.isReadable());
+		assertEquals(100, followerRepository.count());
+	}
+
+	@Test
+	void heartbeatForAppliedSequenceRefreshesLag() throws IOException {
+		long now = System.currentTimeMillis();
+		apply(out -> {
+			ReplicationProtocol.writeSnapshotBegin(out, 3, now - 60_000);
+			ReplicationProtocol.writeSnapshotEnd(out);
+		});
+		assertFalse(follower.isReadable());
+
+		apply(out -> ReplicationProtocol.writeHeartbeat(out, 3, now));
+		assertTrue(follower.isReadable());
+	}
+
+	@Test
+	void tailChangesTheSnapshotAlreadyHoldsAreSkipped() throws IOException {
+		long now = System.currentTimeMillis();
+		List<Integer> stockSeen = new ArrayList<>();
+		followerRepository.addListener((previous, current) -> stockSeen.add(current != null ? current.getStock() : null));
+
+		apply(out -> {
+			ReplicationProtocol.writeSnapshotBegin(out, 5, now);
+			ReplicationProtocol.writeSnapshotItem(out, new Item(1L, "Mug", null, 1.0, 9, null));
+			ReplicationProtocol.writeSnapshotItem(out, new Item(2L, "Cup", null, 1.0, 4, null));
+			ReplicationProtocol.writeSnapshotEnd(out);
+			// Queued while the snapshot was read, and already part of it
+			out.write(ReplicationProtocol.encodePut(4, now, new Item(1L, "Mug", null, 1.0, 3, null)));
+			out.write(ReplicationProtocol.encodeDelete(5, now, 2L));
+			out.write(ReplicationProtocol.encodePut(6, now, new Item(1L, "Mug", null, 1.0, 8, null)));
+		});
+
+		assertEquals(List.of(9, 4, 8), stockSeen);
+		assertEquals(8, followerRepository.findById(1L).orElseThrow().getStock());
+		assertTrue(followerRepository.findById(2L).isPresent());
+		assertEquals(6, follower.status().getSequence());
+	}
+
+	@Test
+	void followerCatchesUpFromSnapshotAndTail() throws Exception {
+		ItemRepository leaderRepository = new ItemRepository(true, 60_000, 1_000);
+		ReplicationLeader leader = new ReplicationLeader(leaderRepository, 0, "127.0.0.1", 20, 1_000);
+		leader.start();
+		ReplicationFollower remote = new ReplicationFollower(
+				followerRepository, new SimpleMeterRegistry(), "127.0.0.1", leader.getPort(), 1_000);
+		try {
+			remote.start();
+			awaitCondition(remote::isReadable);
+			assertEquals(5, followerRepository.count());
+
+			leaderRepository.deleteById(1L);
+			leaderRepository.update(2L, item -> {
+				item.setStock(0);
+				return item;
+			});
+			Item created = leaderRepository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, 12, "Home Appliances"));
+
+			awaitCondition(() -> remote.status().getSequence() == 3);
+			assertEquals(ids(leaderRepository.findAll()), ids(followerRepository.findAll()));
+			assertTrue(followerRepository.findById(1L).isEmpty());
+			assertEquals(0, followerRepository.findById(2L).orElseThrow().getStock());
+			assertEquals("Desk Lamp", followerRepository.findById(created.getId()).orElseThrow().getName());
+			assertTrue(remote.lagMillis() < 1_000);
+		} finally {
+			remote.stop();
+			leader.stop();
+		}
+	}
+
+	private void apply(FrameSource source) throws IOException {
+		DataInputStream in = frames(source);
+		while (in.available() > 0) {
+			follower.applyFrame(in);
+		}
+	}
+
+	private static DataInputStream frames(FrameSource source) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		source.writeTo(out);
+		out.flush();
+		return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+
+	private static List<Long> ids(List<Item> items) {
+		return items.stream().map(Item::getId).toList();
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "condition not reached within 10s");
+			Thread.sleep(10);
+		}
+	}
+
+	@FunctionalInterface
+	private interface FrameSource {
+		void writeTo(DataOutputStream out) throws IOException;
+	}
+}
@@ -0,0 +1,128 @@
+package com.dsv.repository;
+
+import com.dsv.entity.Item;
+import com.dsv.exception.SnapshotExpiredException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemRepositoryConcurrencyTests {
+
+	private static final int BATCH = 5;
+	private static final long SNAPSHOT_TTL_MILLIS = 1_000;
+
+	private final ItemRepository repository = new ItemRepository(true, SNAPSHOT_TTL_MILLIS, 1_000);
+
+	@Test
+	void snapshotsStayStableWhileWritersAndReclaimerRun() throws Exception {
+		long initial = repository.currentVersion();
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		AtomicInteger snapshotsChecked = new AtomicInteger();
+		AtomicInteger batches = new AtomicInteger();
+		List<Thread> threads = new ArrayList<>();
+
+		for (int w = 0; w < 2; w++) {
+			threads.add(new Thread(guarded(failure, () -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				while (running.get()) {
+					// Batches are saved in one version, so a snapshot sees all of a batch or none of it
+					String category = "batch-" + batches.incrementAndGet();
+					List<Item> batch = new ArrayList<>();
+					for (int i = 0; i < BATCH; i++) {
+						batch.add(new Item("Item " + i, null, 1.0, 0, category));
+					}
+					repository.saveAll(batch);
+					for (int i = 0; i < 20; i++) {
+						repository.update(random.nextLong(1, 6), item -> {
+							item.setStock(item.getStock() + 1);
+							return item;
+						});
+					}
+				}
+			})));
+		}
+		for (int r = 0; r < 2; r++) {
+			threads.add(new Thread(guarded(failure, () -> {
+				while (running.get()) {
+					long version = repository.openSnapshot();
+					List<String> first = readSnapshot(version);
+					Thread.yield();
+					List<String> second = readSnapshot(version);
+					assertEquals(first, second, "snapshot " + version + " changed");
+					assertBatchesComplete(repository.findPage(version, null, Integer.MAX_VALUE));
+					assertBatchesComplete(repository.findAll());
+					snapshotsChecked.incrementAndGet();
+				}
+			})));
+		}
+		threads.add(new Thread(guarded(failure, () -> {
+			while (running.get()) {
+				repository.reclaimVersions();
+				Thread.yield();
+			}
+		})));
+
+		threads.forEach(Thread::start);
+		Thread.sleep(1_500);
+		running.set(false);
+		for (Thread thread : threads) {
+			thread.join(10_000);
+		}
+
+		assertNull(failure.get());
+		assertTrue(snapshotsChecked.get() > 0);
+		assertEquals(5 + (long) batches.get() * BATCH, repository.count());
+
+		// Once the pins have expired, old versions are reclaimed
+		Thread.sleep(SNAPSHOT_TTL_MILLIS + 100);
+		repository.reclaimVersions();
+		assertThrows(SnapshotExpiredException.class, () -> repository.findPage(initial, null, 10));
+		assertEquals(repository.count(), repository.findAll().size());
+	}
+
+	private List<String> readSnapshot(long version) {
+		List<String> seen = new ArrayList<>();
+		Long afterId = null;
+		while (true) {
+			List<Item> page = repository.findPage(version, afterId, 7);
+			if (page.isEmpty()) {
+				return seen;
+			}
+			page.forEach(item -> seen.add(item.getId() + ":" + item.getStock()));
+			afterId = page.get(page.size() - 1).getId();
+		}
+	}
+
+	private static void assertBatchesComplete(List<Item> items) {
+		Map<String, Integer> sizes = new HashMap<>();
+		for (Item item : items) {
+			if (item.getCategory().startsWith("batch-")) {
+				sizes.merge(item.getCategory(), 1, Integer::sum);
+			}
+		}
+		sizes.forEach((category, size) -> assertEquals(BATCH, size, category + " is incomplete"));
+	}
+
+	private static Runnable guarded(AtomicReference<Throwable> failure, Runnable task) {
+		return () -> {
+			try {
+				task.run();
+			} catch (Throwable ex) {
+				failure.compareAndSet(null, ex);
+			}
+		};
+	}
+}
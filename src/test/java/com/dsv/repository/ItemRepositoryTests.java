@@ -0,0 +1,118 @@
+package com.dsv.repository;
+
+import com.dsv.entity.Item;
+import com.dsv.exception.ItemAlreadyExistsException;
+import com.dsv.exception.SnapshotExpiredException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemRepositoryTests {
+
+	private final ItemRepository repository = new ItemRepository(true, 60_000, 1_000);
+
+	@Test
+	void pagesOfOneSnapshotIgnoreLaterWrites() {
+		long version = repository.openSnapshot();
+		List<Item> firstPage = repository.findPage(version, null, 2);
+
+		repository.deleteById(3L);
+		repository.update(4L, item -> {
+			item.setStock(0);
+			return item;
+		});
+		repository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, 12, "Home Appliances"));
+		repository.reclaimVersions();
+
+		List<Item> secondPage = repository.findPage(version, firstPage.get(1).getId(), 10);
+
+		assertEquals(List.of(3L, 4L, 5L), secondPage.stream().map(Item::getId).toList());
+		assertEquals(30, secondPage.get(1).getStock());
+		assertEquals(5, repository.count());
+		assertEquals(0, repository.findById(4L).orElseThrow().getStock());
+		assertTrue(repository.findById(3L).isEmpty());
+	}
+
+	@Test
+	void unpinnedVersionsAreReclaimed() {
+		long before = repository.currentVersion();
+		repository.deleteById(1L);
+		repository.reclaimVersions();
+
+		assertThrows(SnapshotExpiredException.class, () -> repository.findPage(before, null, 10));
+		assertEquals(4, repository.findAll().size());
+	}
+
+	@Test
+	void storedItemsAreCopies() {
+		Item item = new Item("Notebook", "Paper notebook", 3.49, 100, "Office");
+		Item saved = repository.save(item);
+		item.setStock(1);
+
+		assertEquals(100, repository.findById(saved.getId()).orElseThrow().getStock());
+	}
+
+	@Test
+	void interleavedNodesNeverAllocateTheSameId() {
+		Set<Long> allocated = new HashSet<>();
+		for (int node = 0; node < 3; node++) {
+			ItemRepository partition = new ItemRepository(false, 60_000, 1_000);
+			partition.configureIdAllocation(node + 1, 3);
+			for (int i = 0; i < 1_000; i++) {
+				assertTrue(allocated.add(partition.allocateId()));
+			}
+		}
+		assertEquals(3_000, allocated.size());
+	}
+
+	@Test
+	void generatedIdsStayAboveIdsStoredFromElsewhere() {
+		ItemRepository partition = new ItemRepository(false, 60_000, 1_000);
+		partition.configureIdAllocation(1, 2);
+		// Stored under a different stride, e.g. before the cluster was resized
+		partition.insert(new Item(10L, "Mug", null, 4.99, 3, "Kitchen"));
+
+		long next = partition.allocateId();
+		assertTrue(next > 10);
+		assertEquals(1, next % 2);
+	}
+
+	@Test
+	void insertRefusesAnExistingId() {
+		assertThrows(ItemAlreadyExistsException.class,
+				() -> repository.insert(new Item(1L, "Mug", null, 4.99, 3, "Kitchen")));
+		assertEquals("Laptop", repository.findById(1L).orElseThrow().getName());
+
+		repository.deleteById(1L);
+		repository.insert(new Item(1L, "Mug", null, 4.99, 3, "Kitchen"));
+		assertEquals("Mug", repository.findById(1L).orElseThrow().getName());
+	}
+
+	@Test
+	void listenersOnlySeeCommittedChanges() {
+		List<Long> versionsSeen = new ArrayList<>();
+		repository.addListener((previous, current) -> versionsSeen.add(repository.currentVersion()));
+		repository.addListener((previous, current) -> {
+			throw new IllegalStateException("listener failure");
+		});
+
+		long before = repository.currentVersion();
+		Item saved = repository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, 12, "Home Appliances"));
+		long afterSave = repository.openSnapshot();
+		repository.deleteById(saved.getId());
+
+		// The failing listener neither undid nor hid the writes, and every write got its own version
+		assertEquals(List.of(before + 1, before + 2), versionsSeen);
+		assertEquals(before + 1, afterSave);
+		assertEquals(before + 2, repository.currentVersion());
+		assertTrue(repository.findById(saved.getId()).isEmpty());
+		assertEquals(saved.getId(), repository.findPage(afterSave, 5L, 10).get(0).getId());
+	}
+}
@@ -0,0 +1,120 @@
+package com.dsv.repository;
+
+import com.dsv.entity.Item;
+import com.dsv.storage.TieredStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TieredItemRepositoryTests {
+
+	private static final long BUDGET = 16 * 1024;
+
+	@TempDir
+	Path directory;
+
+	private TieredStorage tiers;
+
+	@AfterEach
+	void close() {
+		tiers.close();
+	}
+
+	@Test
+	void itemsOverBudgetMoveToDiskAndStayReadable() {
+		ItemRepository repository = repository();
+		List<Item> saved = repository.saveAll(catalog(200));
+
+		assertTrue(tiers.heapBytes() <= BUDGET);
+		assertTrue(tiers.coldItems() > 150);
+		for (Item item : saved) {
+			Item found = repository.findById(item.getId()).orElseThrow();
+			assertEquals(item.getName(), found.getName());
+			assertEquals(item.getDescription(), found.getDescription());
+			assertEquals(item.getPrice(), found.getPrice());
+			assertEquals(item.getStock(), found.getStock());
+		}
+		assertEquals(200, repository.findAll().size());
+	}
+
+	@Test
+	void frequentlyReadColdItemsComeBackToHeap() {
+		ItemRepository repository = repository();
+		List<Item> saved = repository.saveAll(catalog(200));
+		Long id = saved.get(0).getId();
+		long cold = tiers.coldItems();
+
+		for (int i = 0; i < 20; i++) {
+			repository.findById(id);
+		}
+
+		assertEquals(cold - 1, tiers.coldItems());
+		assertTrue(tiers.heapHitRatio() > 0);
+	}
+
+	@Test
+	void coldItemsCanBeUpdatedAndDeleted() {
+		ItemRepository repository = repository();
+		List<Item> saved = repository.saveAll(catalog(200));
+		Long updatedId = saved.get(1).getId();
+		Long deletedId = saved.get(2).getId();
+		long cold = tiers.coldItems();
+
+		repository.update(updatedId, item -> {
+			item.setStock(0);
+			return item;
+		});
+		repository.deleteById(deletedId);
+
+		assertEquals(0, repository.findById(updatedId).orElseThrow().getStock());
+		assertEquals("Item 1", repository.findById(updatedId).orElseThrow().getName());
+		assertTrue(repository.findById(deletedId).isEmpty());
+		assertEquals(cold - 2, tiers.coldItems());
+		assertEquals(199, repository.count());
+	}
+
+	@Test
+	void snapshotReadsOlderColdVersionsAcrossCompactions() {
+		ItemRepository repository = repository();
+		List<Item> saved = repository.saveAll(catalog(200));
+		long snapshot = repository.openSnapshot();
+		for (Item item : saved) {
+			repository.update(item.getId(), current -> {
+				current.setStock(-1);
+				return current;
+			});
+		}
+
+		// The second compaction closes the segment the first one copied from
+		repository.compactColdSegment();
+		repository.compactColdSegment();
+
+		List<Item> page = repository.findPage(snapshot, null, 200);
+		assertEquals(200, page.size());
+		for (int i = 0; i < page.size(); i++) {
+			assertEquals(i, page.get(i).getStock());
+			assertEquals("Item " + i, page.get(i).getName());
+		}
+		assertEquals(-1, repository.findById(saved.get(0).getId()).orElseThrow().getStock());
+	}
+
+	private ItemRepository repository() {
+		tiers = new TieredStorage(true, BUDGET, 100, 1_000, directory);
+		return new ItemRepository(false, 60_000, 1_000, tiers);
+	}
+
+	private static List<Item> catalog(int size) {
+		List<Item> items = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			items.add(new Item("Item " + i, "Description of item " + i + " ".repeat(200), 1.5 * i, i, "Category " + i % 7));
+		}
+		return items;
+	}
+}
@@ -0,0 +1,49 @@
+package com.dsv.reservation;
+
+import com.dsv.entity.Item;
+import com.dsv.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"dsv.audit.enabled=false", "dsv.admission.enabled=false"})
+@AutoConfigureMockMvc
+class ReservationEndpointTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ItemRepository repository;
+
+	@Test
+	void itemWithAllStockReservedIsOutOfStock() throws Exception {
+		Long id = repository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, 4, "Home Appliances")).getId();
+
+		mockMvc.perform(get("/api/items/{id}/in-stock", id))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data").value(true));
+
+		mockMvc.perform(post("/api/items/{id}/reservations", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"quantity\":4,\"ttlSeconds\":60}"))
+				.andExpect(status().is2xxSuccessful());
+
+		mockMvc.perform(get("/api/items/{id}/in-stock", id))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data").value(false));
+		mockMvc.perform(patch("/api/items/{id}/stock", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("3"))
+				.andExpect(status().isConflict());
+	}
+}
@@ -0,0 +1,77 @@
+package com.dsv.reservation;
+
+import com.dsv.entity.Item;
+import com.dsv.entity.Reservation;
+import com.dsv.exception.InsufficientStockException;
+import com.dsv.exception.ReservationNotFoundException;
+import com.dsv.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationManagerTests {
+
+	private final ItemRepository repository = new ItemRepository(false, 60_000, 1_000);
+	private final ReservationManager reservations = new ReservationManager(repository, new SimpleMeterRegistry(), 10, 64);
+
+	@AfterEach
+	void stop() {
+		reservations.stop();
+	}
+
+	@Test
+	void confirmSubtractsStockAndCancelReleasesHold() {
+		Long id = repository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, 5, "Home Appliances")).getId();
+
+		Reservation first = reservations.reserve(id, 3, 60).orElseThrow();
+		Reservation second = reservations.reserve(id, 2, 60).orElseThrow();
+		assertThrows(InsufficientStockException.class, () -> reservations.reserve(id, 1, 60));
+		assertEquals(0, reservations.availability(id).orElseThrow().getAvailable());
+		assertFalse(reservations.availability(id).orElseThrow().isInStock());
+
+		assertEquals(Reservation.Status.CONFIRMED, reservations.confirm(id, first.getId()).getStatus());
+		assertEquals(Reservation.Status.CANCELLED, reservations.cancel(id, second.getId()).getStatus());
+		assertThrows(ReservationNotFoundException.class, () -> reservations.confirm(id, second.getId()));
+
+		assertEquals(2, repository.findById(id).orElseThrow().getStock());
+		assertEquals(2, reservations.availability(id).orElseThrow().getAvailable());
+		assertTrue(reservations.availability(id).orElseThrow().isInStock());
+	}
+
+	@Test
+	void expiredHoldIsReleased() throws InterruptedException {
+		Long id = repository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, 5, "Home Appliances")).getId();
+		Reservation reservation = reservations.reserve(id, 5, 1).orElseThrow();
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (reservations.availability(id).orElseThrow().getHeld() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+
+		assertEquals(5, reservations.availability(id).orElseThrow().getAvailable());
+		assertThrows(ReservationNotFoundException.class, () -> reservations.confirm(id, reservation.getId()));
+	}
+
+	@Test
+	void stockCannotBeSetBelowTheHeldQuantity() {
+		Long id = repository.save(new Item("Desk Lamp", "LED desk lamp", 24.99, 5, "Home Appliances")).getId();
+		reservations.reserve(id, 3, 60).orElseThrow();
+
+		assertThrows(InsufficientStockException.class, () -> reservations.update(id, item -> {
+			item.setStock(2);
+			return item;
+		}));
+		assertEquals(5, repository.findById(id).orElseThrow().getStock());
+
+		reservations.update(id, item -> {
+			item.setStock(3);
+			return item;
+		});
+		assertEquals(0, reservations.availability(id).orElseThrow().getAvailable());
+	}
+}
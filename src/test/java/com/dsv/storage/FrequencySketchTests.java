@@ -0,0 +1,54 @@
+package com.dsv.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTests {
+
+	@Test
+	void concurrentIncrementsAreCounted() throws InterruptedException {
+		FrequencySketch sketch = new FrequencySketch(1 << 20);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(() -> {
+				for (int round = 0; round < 3; round++) {
+					for (long key = 0; key < 1_000; key++) {
+						sketch.increment(key);
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		for (long key = 0; key < 1_000; key++) {
+			int frequency = sketch.frequency(key);
+			assertTrue(frequency >= 12 && frequency <= FrequencySketch.MAX_FREQUENCY, key + ": " + frequency);
+		}
+	}
+
+	@Test
+	void countersSaturateAndAgeByHalf() {
+		FrequencySketch sketch = new FrequencySketch(32); // 16 words, aged every 160 additions
+
+		for (int i = 0; i < 40; i++) {
+			sketch.increment(1);
+		}
+		assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency(1));
+
+		// 15 additions so far; the 160th halves every counter
+		for (long key = 2; key < 147; key++) {
+			sketch.increment(key);
+		}
+		assertEquals(7, sketch.frequency(1));
+	}
+}